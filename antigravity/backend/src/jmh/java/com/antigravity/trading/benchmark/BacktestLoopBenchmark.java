@@ -0,0 +1,75 @@
+package com.antigravity.trading.benchmark;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.service.BacktestSimulator;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import com.antigravity.trading.strategy.v2.impl.EnsembleStrategy;
+import com.antigravity.trading.strategy.v2.impl.PullbackStrategy;
+import com.antigravity.trading.strategy.v2.impl.VolatilitySqueezeStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단일 종목 백테스트 루프 (BacktestSimulator.simulate) 처리량.
+ * - simulate: 지표가 준비된 상태에서 시뮬레이션만 (파라미터 스윕/워크포워드의 후보 1개 비용)
+ * - indicatorsAndSimulate: 지표 계산 + 시뮬레이션 (캐시 미스 시 백테스트 1회 비용, DB/API 로딩 제외)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BacktestLoopBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int bars;
+
+    @Param({"S1", "S3", "S4"})
+    private String strategyId;
+
+    private final BacktestSimulator simulator = new BacktestSimulator();
+    private CandleSeries series;
+    private IndicatorSet indicators;
+    private TradingStrategy strategy;
+    private StrategyParams params;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticSeries.daily(bars);
+        indicators = IndicatorSet.compute(series);
+
+        DonchianStrategy s1 = new DonchianStrategy();
+        PullbackStrategy s2 = new PullbackStrategy();
+        VolatilitySqueezeStrategy s3 = new VolatilitySqueezeStrategy();
+        strategy = List.of(s1, s2, s3, new EnsembleStrategy(s1, s2, s3)).stream()
+                .filter(s -> s.getId().equals(strategyId)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown Strategy ID: " + strategyId));
+        params = strategy.getDefaultParams();
+    }
+
+    @Benchmark
+    public BacktestSimulator.SimulationResult simulate() {
+        return simulator.simulate(series, indicators, strategy, params, 0, series.size());
+    }
+
+    @Benchmark
+    public BacktestSimulator.SimulationResult indicatorsAndSimulate() {
+        return simulator.simulate(series, IndicatorSet.compute(series), strategy, params, 0, series.size());
+    }
+}
@@ -0,0 +1,139 @@
+package com.antigravity.trading.benchmark;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.util.TechnicalIndicators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TechnicalIndicators 의 모든 메서드 (List 기반 / 배열 기반) 를 시계열 전체에 대해 한 번 계산하는 비용.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndicatorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int bars;
+
+    // List-based inputs (API / live path)
+    private List<CandleDto> candles;
+    private List<BigDecimal> closes;
+    private List<BigDecimal> volumes;
+
+    // Array-based inputs (backtest path)
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private long[] volume;
+
+    @Setup
+    public void setUp() {
+        CandleSeries series = SyntheticSeries.daily(bars);
+        candles = series.toCandleDtos();
+        closes = new ArrayList<>(bars);
+        volumes = new ArrayList<>(bars);
+        for (CandleDto c : candles) {
+            closes.add(c.getClose());
+            volumes.add(c.getVolume());
+        }
+        high = series.highs();
+        low = series.lows();
+        close = series.closes();
+        volume = series.volumes();
+    }
+
+    @Benchmark
+    public List<Double> rsiList() {
+        return TechnicalIndicators.calculateRsi(closes, 14);
+    }
+
+    @Benchmark
+    public List<Double> atrList() {
+        return TechnicalIndicators.calculateAtr(candles, 14);
+    }
+
+    @Benchmark
+    public List<BigDecimal> smaList() {
+        return TechnicalIndicators.calculateSma(closes, 20);
+    }
+
+    @Benchmark
+    public List<BigDecimal> donchianHighList() {
+        return TechnicalIndicators.calculateDonchianHigh(candles, 20);
+    }
+
+    @Benchmark
+    public List<BigDecimal> donchianLowList() {
+        return TechnicalIndicators.calculateDonchianLow(candles, 20);
+    }
+
+    @Benchmark
+    public List<Double> volumeRatioList() {
+        return TechnicalIndicators.calculateVolumeRatio(volumes, 20);
+    }
+
+    @Benchmark
+    public double[] rsiArray() {
+        return TechnicalIndicators.calculateRsi(close, 14);
+    }
+
+    @Benchmark
+    public double[] atrArray() {
+        return TechnicalIndicators.calculateAtr(high, low, close, 14);
+    }
+
+    // Fused single pass, compare with rsiArray + atrArray
+    @Benchmark
+    public double[][] rsiAtrArray() {
+        return TechnicalIndicators.calculateRsiAtr(high, low, close, 14, 14);
+    }
+
+    @Benchmark
+    public double[] smaArray() {
+        return TechnicalIndicators.calculateSma(close, 20);
+    }
+
+    @Benchmark
+    public double[] donchianHighArray() {
+        return TechnicalIndicators.calculateDonchianHigh(high, 20);
+    }
+
+    @Benchmark
+    public double[] donchianLowArray() {
+        return TechnicalIndicators.calculateDonchianLow(low, 20);
+    }
+
+    @Benchmark
+    public double[] volumeRatioArray() {
+        return TechnicalIndicators.calculateVolumeRatio(volume, 20);
+    }
+
+    @Benchmark
+    public double[] rollingMaxArray() {
+        return TechnicalIndicators.rollingMax(high, 20);
+    }
+
+    @Benchmark
+    public double[] rollingMinArray() {
+        return TechnicalIndicators.rollingMin(low, 20);
+    }
+}
@@ -0,0 +1,134 @@
+package com.antigravity.trading.benchmark;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.HistoryWindow;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.engine.model.StrategyContext;
+import com.antigravity.trading.service.BacktestSimulator;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import com.antigravity.trading.strategy.v2.impl.EnsembleStrategy;
+import com.antigravity.trading.strategy.v2.impl.OpeningRangeStrategy;
+import com.antigravity.trading.strategy.v2.impl.PullbackStrategy;
+import com.antigravity.trading.strategy.v2.impl.VolatilitySqueezeStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TradingStrategy.evaluate 한 번(캔들 1개)의 비용.
+ * 전략은 컨텍스트에 상태를 두므로 호출마다 새 컨텍스트로 시계열 전체를 순서대로 평가합니다.
+ * 기본 점수는 시계열 단위 처리량이고, 캔들 단위 처리량은 보조 카운터(evaluate:bars)로 보고합니다.
+ * 포지션은 신호대로 열고 닫아 진입/청산 경로를 모두 측정합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int bars;
+
+    @Param({"S1", "S2", "S3", "S4", "S5"})
+    private String strategyId;
+
+    private CandleSeries series;
+    private TradingStrategy strategy;
+    private StrategyParams params;
+    private MarketEvent[] events;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticSeries.daily(bars);
+        IndicatorSet indicators = IndicatorSet.compute(series);
+
+        DonchianStrategy s1 = new DonchianStrategy();
+        PullbackStrategy s2 = new PullbackStrategy();
+        VolatilitySqueezeStrategy s3 = new VolatilitySqueezeStrategy();
+        List<TradingStrategy> strategies = List.of(s1, s2, s3, new EnsembleStrategy(s1, s2, s3),
+                new OpeningRangeStrategy());
+        strategy = strategies.stream().filter(s -> s.getId().equals(strategyId)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown Strategy ID: " + strategyId));
+        params = strategy.getDefaultParams();
+
+        events = new MarketEvent[bars];
+        for (int i = 0; i < bars; i++) {
+            MarketEvent event = BacktestSimulator.buildEvent(series, indicators, i);
+            if (strategy instanceof OpeningRangeStrategy && i > 0) {
+                // Daily bars have no opening range; use the previous bar's range so that S5 runs its full logic
+                event = event.toBuilder()
+                        .openingRangeHigh(CandleSeries.decimal(series.high(i - 1)))
+                        .openingRangeLow(CandleSeries.decimal(series.low(i - 1)))
+                        .build();
+            }
+            events[i] = event;
+        }
+    }
+
+    @Benchmark
+    public void evaluate(BarCounter counter, Blackhole blackhole) {
+        HistoryWindow history = HistoryWindow.of(series);
+        StrategyContext context = StrategyContext.builder()
+                .symbol(series.getSymbol())
+                .history(history)
+                .hasPosition(false)
+                .entryPrice(BigDecimal.ZERO)
+                .quantity(0L)
+                .availableCash(BacktestSimulator.INITIAL_BALANCE)
+                .extraData(new HashMap<>())
+                .build();
+        for (int i = 0; i < bars; i++) {
+            MarketEvent event = events[i];
+            history.advanceTo(i);
+            context.setHighWaterMark(event.getHigh());
+            Signal signal = strategy.evaluate(event, context, params);
+            if (signal.getType() == Signal.Type.BUY && !context.isHasPosition()) {
+                context.setHasPosition(true);
+                context.setEntryPrice(event.getClose());
+                context.setQuantity(1L);
+            } else if (signal.getType() == Signal.Type.SELL && context.isHasPosition()) {
+                context.setHasPosition(false);
+                context.setEntryPrice(BigDecimal.ZERO);
+                context.setQuantity(0L);
+            }
+            blackhole.consume(signal);
+        }
+        counter.bars += bars;
+    }
+
+    /**
+     * 평가한 캔들 수 (시간당 비율로 보고)
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class BarCounter {
+        public long bars;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bars = 0;
+        }
+    }
+}
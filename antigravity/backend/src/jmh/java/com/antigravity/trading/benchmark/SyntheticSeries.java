@@ -0,0 +1,47 @@
+package com.antigravity.trading.benchmark;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 합성 일봉 시계열.
+ * 변동성이 주기적으로 수축/확장하는 랜덤 워크이며, 거래량에 간헐적인 급증을 섞어 전략의 진입/청산 경로를 모두 거치게 합니다.
+ * 같은 (bars, seed) 는 항상 같은 시계열을 만듭니다.
+ */
+final class SyntheticSeries {
+
+    static final long SEED = 42L;
+    private static final long START_DAY = LocalDate.of(1990, 1, 2).toEpochDay();
+
+    private SyntheticSeries() {
+    }
+
+    static CandleSeries daily(int bars) {
+        return daily(bars, SEED);
+    }
+
+    static CandleSeries daily(int bars, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        CandleSeries.Builder builder = CandleSeries.builder("BENCH", bars);
+        double price = 10_000;
+        for (int i = 0; i < bars; i++) {
+            double volatility = 0.005 + 0.03 * Math.abs(Math.sin(i / 60.0));
+            double open = price;
+            price = Math.max(100, Math.round(price * (1 + gaussian(random) * volatility)));
+            double high = Math.round(Math.max(open, price) * (1 + volatility / 2));
+            double low = Math.round(Math.min(open, price) * (1 - volatility / 2));
+            long volume = 10_000L + random.nextInt(50_000) * (random.nextInt(20) == 0 ? 5L : 1L);
+            builder.add(START_DAY + i, open, high, low, price, volume);
+        }
+        return builder.build();
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+}
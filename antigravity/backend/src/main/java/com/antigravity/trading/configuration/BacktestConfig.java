@@ -0,0 +1,48 @@
+package com.antigravity.trading.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 백테스트 병렬 실행 설정.
+ * 종목/파라미터 단위 시뮬레이션은 CPU 바운드이므로 공용(commonPool)과 분리된 전용 ForkJoinPool 에서 실행합니다.
+ */
+@Slf4j
+@Configuration
+public class BacktestConfig {
+
+    /**
+     * backtest.parallelism 이 0 이하이면 가용 코어 수를 사용합니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool backtestForkJoinPool(@Value("${backtest.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("Backtest ForkJoinPool parallelism: {}", threads);
+        return new ForkJoinPool(threads);
+    }
+
+    /**
+     * 비동기 백테스트 작업 실행기.
+     * 작업 수(backtest.jobs.workers) 와 대기열 크기(backtest.jobs.queue-capacity) 가 모두 제한되며,
+     * 대기열이 가득 차면 RejectedExecutionException 으로 제출을 거절합니다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor backtestJobExecutor(@Value("${backtest.jobs.workers:2}") int workers,
+            @Value("${backtest.jobs.queue-capacity:16}") int queueCapacity) {
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "backtest-job-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
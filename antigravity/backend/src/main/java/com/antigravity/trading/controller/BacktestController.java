@@ -1,12 +1,30 @@
 package com.antigravity.trading.controller;
 
+import com.antigravity.trading.engine.backtest.ParameterGrid;
+import com.antigravity.trading.service.BacktestResultCache;
+import com.antigravity.trading.service.BacktestResultStore;
 import com.antigravity.trading.service.BacktestService;
+import com.antigravity.trading.service.CacheStats;
+import com.antigravity.trading.service.CandleMatrixCache;
+import com.antigravity.trading.service.DecisionLogWriter;
+import com.antigravity.trading.service.IndicatorCache;
+import com.antigravity.trading.service.IntradayBacktestService;
+import com.antigravity.trading.service.MonteCarloService;
+import com.antigravity.trading.service.ParameterSweepService;
+import com.antigravity.trading.service.PortfolioBacktestService;
+import com.antigravity.trading.service.StrategySearchService;
+import com.antigravity.trading.service.UniverseBacktestService;
+import com.antigravity.trading.service.WalkForwardService;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/backtest")
@@ -14,6 +32,18 @@ import java.time.LocalDateTime;
 public class BacktestController {
 
     private final BacktestService backtestService;
+    private final IntradayBacktestService intradayBacktestService;
+    private final PortfolioBacktestService portfolioBacktestService;
+    private final UniverseBacktestService universeBacktestService;
+    private final ParameterSweepService parameterSweepService;
+    private final WalkForwardService walkForwardService;
+    private final StrategySearchService strategySearchService;
+    private final MonteCarloService monteCarloService;
+    private final BacktestResultCache backtestResultCache;
+    private final BacktestResultStore backtestResultStore;
+    private final IndicatorCache indicatorCache;
+    private final CandleMatrixCache candleMatrixCache;
+    private final DecisionLogWriter decisionLogWriter;
 
     @PostMapping
     public ResponseEntity<BacktestService.BacktestResult> runBacktest(
@@ -25,4 +55,292 @@ public class BacktestController {
 
         return ResponseEntity.ok(backtestService.runBacktest(symbol, start, end, strategyId, params));
     }
+
+    /**
+     * 백테스트 실행 후 요약만 반환 (거래/자산 곡선/캔들은 /api/backtest/results/{runId}/... 에서 페이지 단위로 조회)
+     * POST /api/backtest/summary?symbol=...&start=...&end=...
+     */
+    @PostMapping("/summary")
+    public ResponseEntity<BacktestResultStore.Summary> runBacktestSummary(
+            @RequestParam String symbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String strategyId,
+            @RequestParam(required = false) String params) {
+
+        BacktestService.BacktestResult result = backtestService.runBacktest(symbol, start, end, strategyId, params);
+        return ResponseEntity.ok(backtestResultStore.getSummary(result.getRunId()));
+    }
+
+    /**
+     * 1분봉 장중 백테스트 (기본 전략 S5, 거래일 단위 스트리밍)
+     * POST /api/backtest/intraday?symbol=...&start=...&end=...&strategyId=S5&params={...}
+     */
+    @PostMapping("/intraday")
+    public ResponseEntity<IntradayBacktestService.IntradayResult> runIntradayBacktest(
+            @RequestParam String symbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String strategyId,
+            @RequestParam(required = false) String params) {
+
+        return ResponseEntity.ok(intradayBacktestService.run(symbol, start, end, strategyId, params));
+    }
+
+    /**
+     * 백테스트 결과/지표 캐시 통계 (hit/miss/eviction, 사용량)
+     * GET /api/backtest/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, CacheStats>> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("results", backtestResultCache.stats());
+        stats.put("indicators", indicatorCache.stats());
+        stats.put("universe", candleMatrixCache.stats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Map<String, CacheStats>> clearCache() {
+        backtestResultCache.clear();
+        indicatorCache.clear();
+        candleMatrixCache.clear();
+        return getCacheStats();
+    }
+
+    /**
+     * 비동기 DecisionLog 기록기 상태 (기록/대기/유실 건수)
+     * GET /api/backtest/decision-log/stats
+     */
+    @GetMapping("/decision-log/stats")
+    public ResponseEntity<DecisionLogWriter.Stats> getDecisionLogStats() {
+        return ResponseEntity.ok(decisionLogWriter.stats());
+    }
+
+    /**
+     * 단일 종목 백테스트 후 거래 순서 Monte Carlo 리샘플링
+     * POST /api/backtest/monte-carlo?symbol=...&start=...&end=...&iterations=100000&method=SHUFFLE
+     */
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<MonteCarloService.MonteCarloSummary> runMonteCarlo(
+            @RequestParam String symbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String strategyId,
+            @RequestParam(required = false) String params,
+            @RequestParam(defaultValue = "100000") int iterations,
+            @RequestParam(defaultValue = "BOOTSTRAP") MonteCarloService.Method method,
+            @RequestParam(required = false) Long seed) {
+
+        BacktestService.BacktestResult result = backtestService.runBacktest(symbol, start, end, strategyId, params);
+        return ResponseEntity.ok(monteCarloService.run(result.getTrades(), iterations, method,
+                seed != null ? seed : System.nanoTime()));
+    }
+
+    /**
+     * 다종목 포트폴리오 백테스트
+     * POST /api/backtest/portfolio
+     *
+     * Body:
+     * {
+     *   "symbols": ["006620", "314130"],   // 또는 "universe": "SCHEDULED" | "TARGET"
+     *   "start": "2020-01-01T00:00:00",
+     *   "end": "2024-12-31T23:59:59",
+     *   "strategyId": "S1",
+     *   "params": "{...}",
+     *   "positionWeight": 0.2
+     * }
+     */
+    @PostMapping("/portfolio")
+    public ResponseEntity<PortfolioBacktestService.PortfolioResult> runPortfolioBacktest(
+            @RequestBody PortfolioBacktestRequest request) {
+
+        List<String> symbols = request.getSymbols() != null && !request.getSymbols().isEmpty()
+                ? request.getSymbols()
+                : portfolioBacktestService.resolveUniverse(request.getUniverse());
+
+        return ResponseEntity.ok(portfolioBacktestService.runPortfolioBacktest(symbols, request.getStart(),
+                request.getEnd(), request.getStrategyId(), request.getParams(), request.getPositionWeight()));
+    }
+
+    /**
+     * 전 종목 횡단면 백테스트 (거래일마다 유니버스 전체를 평가하고 매수 후보 상위 topK 로 진입)
+     * POST /api/backtest/universe
+     *
+     * Body:
+     * {
+     *   "symbols": null,                 // 생략 시 종목 마스터 전체
+     *   "start": "2020-01-01T00:00:00",
+     *   "end": "2024-12-31T23:59:59",
+     *   "strategyId": "S3",
+     *   "params": "{...}",
+     *   "topK": 10,
+     *   "ranking": "CONFIDENCE"          // CONFIDENCE | VOLUME_RATIO | TURNOVER
+     * }
+     */
+    @PostMapping("/universe")
+    public ResponseEntity<UniverseBacktestService.UniverseResult> runUniverseBacktest(
+            @RequestBody UniverseBacktestRequest request) {
+        return ResponseEntity.ok(universeBacktestService.run(request.getSymbols(), request.getStart(),
+                request.getEnd(), request.getStrategyId(), request.getParams(), request.getTopK(),
+                request.getRanking()));
+    }
+
+    /**
+     * 횡단면 백테스트용 캔들 매트릭스 미리 적재
+     * POST /api/backtest/universe/preload (Body 는 /universe 와 같으며 symbols, start, end 만 사용)
+     */
+    @PostMapping("/universe/preload")
+    public ResponseEntity<UniverseBacktestService.MatrixInfo> preloadUniverse(
+            @RequestBody UniverseBacktestRequest request) {
+        return ResponseEntity.ok(universeBacktestService.preload(request.getSymbols(), request.getStart(),
+                request.getEnd()));
+    }
+
+    /**
+     * 파라미터 스윕 (그리드 서치)
+     * POST /api/backtest/sweep
+     *
+     * Body:
+     * {
+     *   "symbols": ["006620"],
+     *   "start": "2020-01-01T00:00:00",
+     *   "end": "2024-12-31T23:59:59",
+     *   "strategyId": "S3",
+     *   "params": "{...}",                      // 스윕하지 않는 필드의 기준값 (선택)
+     *   "ranges": {
+     *     "atrTrailMult": { "from": 1.5, "to": 3.5, "step": 0.5 },
+     *     "volumeMultiplier": { "values": [1.5, 2.0, 2.5] }
+     *   },
+     *   "top": 20
+     * }
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<ParameterSweepService.SweepResult> runSweep(@RequestBody SweepRequest request) {
+        return ResponseEntity.ok(parameterSweepService.sweep(request.getSymbols(), request.getStart(),
+                request.getEnd(), request.getStrategyId(), request.getParams(), request.getRanges(),
+                request.getTop()));
+    }
+
+    /**
+     * 워크포워드 최적화
+     * POST /api/backtest/walk-forward
+     *
+     * Body:
+     * {
+     *   "symbol": "006620",
+     *   "start": "2018-01-01T00:00:00",
+     *   "end": "2024-12-31T23:59:59",
+     *   "strategyId": "S3",
+     *   "params": "{...}",
+     *   "ranges": { "atrTrailMult": { "from": 1.5, "to": 3.5, "step": 0.5 } },
+     *   "inSampleMonths": 24,
+     *   "outOfSampleMonths": 6
+     * }
+     */
+    @PostMapping("/walk-forward")
+    public ResponseEntity<WalkForwardService.WalkForwardResult> runWalkForward(
+            @RequestBody WalkForwardRequest request) {
+        return ResponseEntity.ok(walkForwardService.run(request.getSymbol(), request.getStart(), request.getEnd(),
+                request.getStrategyId(), request.getParams(), request.getRanges(), request.getInSampleMonths(),
+                request.getOutOfSampleMonths()));
+    }
+
+    /**
+     * 대규모 전략 탐색 (Successive Halving)
+     * POST /api/backtest/search
+     *
+     * Body:
+     * {
+     *   "symbols": ["006620", "314130"],
+     *   "start": "2018-01-01T00:00:00",
+     *   "end": "2024-12-31T23:59:59",
+     *   "spaces": [
+     *     { "strategyId": "S4", "ranges": {
+     *         "w1": { "from": 0.0, "to": 1.0, "step": 0.1 },
+     *         "w2": { "from": 0.0, "to": 1.0, "step": 0.1 },
+     *         "buyThreshold": { "values": [0.4, 0.5, 0.6, 0.7] } } }
+     *   ],
+     *   "initialMonths": 12,
+     *   "eta": 3,
+     *   "top": 20
+     * }
+     */
+    @PostMapping("/search")
+    public ResponseEntity<StrategySearchService.SearchResult> runSearch(@RequestBody SearchRequest request) {
+        return ResponseEntity.ok(strategySearchService.search(request.getSymbols(), request.getStart(),
+                request.getEnd(), request.getSpaces(), request.getInitialMonths(), request.getEta(),
+                request.getTop()));
+    }
+
+    /**
+     * 포트폴리오 백테스트 요청 DTO
+     */
+    @Data
+    public static class PortfolioBacktestRequest {
+        private List<String> symbols;
+        private String universe = PortfolioBacktestService.UNIVERSE_SCHEDULED;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private String strategyId = "S1";
+        private String params;
+        private Double positionWeight;
+    }
+
+    /**
+     * 횡단면 백테스트 요청 DTO
+     */
+    @Data
+    public static class UniverseBacktestRequest {
+        private List<String> symbols;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private String strategyId = "S1";
+        private String params;
+        private int topK = 10;
+        private UniverseBacktestService.Ranking ranking = UniverseBacktestService.Ranking.CONFIDENCE;
+    }
+
+    /**
+     * 파라미터 스윕 요청 DTO
+     */
+    @Data
+    public static class SweepRequest {
+        private List<String> symbols;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private String strategyId = "S1";
+        private String params;
+        private Map<String, ParameterGrid.ParamRange> ranges = new LinkedHashMap<>();
+        private int top = 50;
+    }
+
+    /**
+     * 워크포워드 요청 DTO
+     */
+    @Data
+    public static class WalkForwardRequest {
+        private String symbol;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private String strategyId = "S1";
+        private String params;
+        private Map<String, ParameterGrid.ParamRange> ranges = new LinkedHashMap<>();
+        private int inSampleMonths = 24;
+        private int outOfSampleMonths = 6;
+    }
+
+    /**
+     * 전략 탐색 요청 DTO
+     */
+    @Data
+    public static class SearchRequest {
+        private List<String> symbols;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private List<StrategySearchService.SearchSpace> spaces;
+        private int initialMonths = 12;
+        private int eta = 3;
+        private int top = 50;
+    }
 }
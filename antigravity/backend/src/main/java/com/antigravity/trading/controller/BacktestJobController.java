@@ -0,0 +1,108 @@
+package com.antigravity.trading.controller;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.service.BacktestJobService;
+import com.antigravity.trading.service.BacktestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비동기 백테스트 작업 API
+ *
+ * POST /api/backtest/jobs                 작업 제출 (202, 대기열 초과 시 429)
+ * GET  /api/backtest/jobs/{id}            상태
+ * GET  /api/backtest/jobs/{id}/events     SSE (progress / completed / failed)
+ * GET  /api/backtest/jobs/{id}/trades     거래 내역 페이지
+ * GET  /api/backtest/jobs/{id}/equity     자산 곡선 페이지
+ * GET  /api/backtest/jobs/{id}/candles    캔들 페이지
+ */
+@RestController
+@RequestMapping("/api/backtest/jobs")
+@RequiredArgsConstructor
+public class BacktestJobController {
+
+    private final BacktestJobService backtestJobService;
+
+    @PostMapping
+    public ResponseEntity<BacktestJobService.JobStatus> submit(
+            @RequestParam String symbol,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String strategyId,
+            @RequestParam(required = false) String params) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(backtestJobService.submit(symbol, start, end, strategyId, params));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BacktestJobService.JobStatus> getStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(backtestJobService.getStatus(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id) {
+        return backtestJobService.subscribe(id);
+    }
+
+    @GetMapping("/{id}/trades")
+    public ResponseEntity<Page<BacktestService.TradeRecord>> getTrades(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(backtestJobService.getTrades(id, page, size));
+    }
+
+    @GetMapping("/{id}/equity")
+    public ResponseEntity<Page<EquityPoint>> getEquity(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(backtestJobService.getEquity(id, page, size));
+    }
+
+    @GetMapping("/{id}/candles")
+    public ResponseEntity<Page<CandleDto>> getCandles(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(backtestJobService.getCandles(id, page, size));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejected(RejectedExecutionException e) {
+        return error(HttpStatus.TOO_MANY_REQUESTS, "Backtest queue is full, try again later");
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(NoSuchElementException e) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(IllegalArgumentException e) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, Object>> handleNotReady(IllegalStateException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
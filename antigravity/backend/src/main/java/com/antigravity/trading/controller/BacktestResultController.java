@@ -0,0 +1,89 @@
+package com.antigravity.trading.controller;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.service.BacktestResultStore;
+import com.antigravity.trading.service.BacktestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 백테스트 결과 섹션 조회 API (동기 실행 / 비동기 작업 공통, runId = BacktestRun.id)
+ *
+ * GET /api/backtest/results/{runId}                  요약
+ * GET /api/backtest/results/{runId}/trades           거래 내역 페이지
+ * GET /api/backtest/results/{runId}/equity           자산 곡선 페이지
+ * GET /api/backtest/results/{runId}/equity/chart     차트용 자산 곡선 (LTTB)
+ * GET /api/backtest/results/{runId}/candles          캔들 페이지
+ * GET /api/backtest/results/{runId}/candles/chart    차트용 캔들 (구간 OHLC 병합)
+ */
+@RestController
+@RequestMapping("/api/backtest/results")
+@RequiredArgsConstructor
+public class BacktestResultController {
+
+    private final BacktestResultStore backtestResultStore;
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<BacktestResultStore.Summary> getSummary(@PathVariable Long runId) {
+        return ResponseEntity.ok(backtestResultStore.getSummary(runId));
+    }
+
+    @GetMapping("/{runId}/trades")
+    public ResponseEntity<Page<BacktestService.TradeRecord>> getTrades(@PathVariable Long runId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(backtestResultStore.getTrades(runId, page, size));
+    }
+
+    @GetMapping("/{runId}/equity")
+    public ResponseEntity<Page<EquityPoint>> getEquity(@PathVariable Long runId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(backtestResultStore.getEquity(runId, page, size));
+    }
+
+    @GetMapping("/{runId}/equity/chart")
+    public ResponseEntity<List<EquityPoint>> getEquityChart(@PathVariable Long runId,
+            @RequestParam(defaultValue = "1000") int maxPoints) {
+        return ResponseEntity.ok(backtestResultStore.getEquityChart(runId, maxPoints));
+    }
+
+    @GetMapping("/{runId}/candles")
+    public ResponseEntity<Page<CandleDto>> getCandles(@PathVariable Long runId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(backtestResultStore.getCandles(runId, page, size));
+    }
+
+    @GetMapping("/{runId}/candles/chart")
+    public ResponseEntity<List<CandleDto>> getCandleChart(@PathVariable Long runId,
+            @RequestParam(defaultValue = "500") int maxBars) {
+        return ResponseEntity.ok(backtestResultStore.getCandleChart(runId, maxBars));
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(NoSuchElementException e) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(IllegalArgumentException e) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -2,6 +2,7 @@ package com.antigravity.trading.controller;
 
 import com.antigravity.trading.domain.dto.CandleDto;
 import com.antigravity.trading.repository.CandleHistoryRepository;
+import com.antigravity.trading.service.CandleDataVersions;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ public class CandleController {
 
     private final com.antigravity.trading.infrastructure.api.KisApiClient kisApiClient;
     private final CandleHistoryRepository candleHistoryRepository;
+    private final CandleDataVersions candleDataVersions;
 
     @GetMapping
     public ResponseEntity<List<CandleDto>> getCandles(
@@ -153,6 +155,7 @@ public class CandleController {
 
             // 삭제
             candleHistoryRepository.deleteBySymbolAndTimeBetween(symbol, startOfDay, endOfDay);
+            candleDataVersions.bump(symbol);
 
             response.put("success", true);
             response.put("message", "Deleted " + candles.size() + " candle(s) for " + symbol + " on " + date);
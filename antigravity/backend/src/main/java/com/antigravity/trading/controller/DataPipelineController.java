@@ -193,6 +193,40 @@ public class DataPipelineController {
         }
     }
 
+    /**
+     * 특정 종목의 당일 1분봉 수집 (장중 백테스트용)
+     * POST /api/data-pipeline/collect-minute/{symbol}
+     */
+    @PostMapping("/collect-minute/{symbol}")
+    public ResponseEntity<Map<String, Object>> collectMinuteCandles(@PathVariable String symbol) {
+        log.info("Minute candle collection triggered for {}", symbol);
+
+        try {
+            DataPipelineService.SingleStockResult result = dataPipelineService.collectTodayMinuteCandles(symbol);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", result.isSuccess());
+            response.put("message", result.getMessage());
+            response.put("symbol", symbol);
+            response.put("newRecords", result.getNewRecords());
+            response.put("skippedRecords", result.getSkippedRecords());
+            response.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Minute candle collection failed for {}: {}", symbol, e.getMessage(), e);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Minute candle collection failed: " + e.getMessage());
+            response.put("symbol", symbol);
+            response.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     /**
      * 특정 종목의 특정 기간 데이터 수집 (백필용)
      * POST /api/data-pipeline/backfill/{symbol}?start=2023-01-01&end=2023-12-31
@@ -3,6 +3,7 @@ package com.antigravity.trading.controller;
 import com.antigravity.trading.domain.entity.ScheduledStock;
 import com.antigravity.trading.repository.CandleHistoryRepository;
 import com.antigravity.trading.repository.ScheduledStockRepository;
+import com.antigravity.trading.service.CandleDataVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,7 @@ public class ScheduledStockController {
 
     private final ScheduledStockRepository scheduledStockRepository;
     private final CandleHistoryRepository candleHistoryRepository;
+    private final CandleDataVersions candleDataVersions;
 
     /**
      * 모든 스케줄링 종목 조회
@@ -171,6 +173,7 @@ public class ScheduledStockController {
                         deletedCandleCount = candleHistoryRepository.countBySymbol(symbol);
                         if (deletedCandleCount > 0) {
                             candleHistoryRepository.deleteBySymbol(symbol);
+                            candleDataVersions.bump(symbol);
                             log.info("Deleted {} candles for symbol: {}", deletedCandleCount, symbol);
                         }
                     }
@@ -59,4 +59,34 @@ public class CandleHistory {
      */
     @Column(name = "ma_60", precision = 19, scale = 4)
     private BigDecimal ma60;
+
+    /**
+     * 14일 Wilder RSI (Pre-calculated)
+     */
+    @Column(name = "rsi_14", precision = 19, scale = 4)
+    private BigDecimal rsi14;
+
+    /**
+     * 14일 Wilder ATR (Pre-calculated)
+     */
+    @Column(name = "atr_14", precision = 19, scale = 4)
+    private BigDecimal atr14;
+
+    /**
+     * 20일 Donchian 채널 상단 (당일 포함 최근 20일 고가의 최댓값)
+     */
+    @Column(name = "donchian_high_20", precision = 19, scale = 4)
+    private BigDecimal donchianHigh20;
+
+    /**
+     * 20일 Donchian 채널 하단 (당일 포함 최근 20일 저가의 최솟값)
+     */
+    @Column(name = "donchian_low_20", precision = 19, scale = 4)
+    private BigDecimal donchianLow20;
+
+    /**
+     * 거래량 비율 (당일 거래량 / 직전 20일 평균 거래량)
+     */
+    @Column(name = "volume_ratio_20", precision = 19, scale = 4)
+    private BigDecimal volumeRatio20;
 }
@@ -0,0 +1,48 @@
+package com.antigravity.trading.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종목별 일봉 보조지표 증분 계산 상태.
+ * candle_history 의 지표 컬럼이 lastTime 까지 채워져 있음을 나타내며,
+ * 이전 값에 의존하는 Wilder 평활(RSI14, ATR14) 의 내부 상태를 보관해 다음 계산이 새 캔들부터 이어지게 합니다.
+ * (윈도우 지표는 마지막 캔들들을 다시 읽어 복원하므로 저장하지 않습니다)
+ */
+@Entity
+@Table(name = "candle_indicator_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CandleIndicatorState {
+
+    @Id
+    @Column(length = 20)
+    private String symbol;
+
+    /**
+     * 지표가 계산된 마지막 캔들 시간
+     */
+    @Column(nullable = false)
+    private LocalDateTime lastTime;
+
+    /**
+     * lastTime 까지의 캔들 수 (중간에 캔들이 추가/삭제되었는지 확인하는 데 사용)
+     */
+    @Column(nullable = false)
+    private long barCount;
+
+    private double prevClose;
+
+    private double rsiAvgGain;
+
+    private double rsiAvgLoss;
+
+    private double atrSum;
+
+    private double atr;
+}
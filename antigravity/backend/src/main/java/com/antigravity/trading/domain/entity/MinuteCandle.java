@@ -0,0 +1,53 @@
+package com.antigravity.trading.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 1분봉 캔들 엔티티.
+ * 일봉(candle_history, 15:30 기준)과 시각이 겹치지 않도록 별도 테이블에 저장하며, 장중 백테스트(S5 등)에 사용합니다.
+ */
+@Entity
+@Table(name = "minute_candle_history", indexes = {
+        @Index(name = "idx_minute_candle_symbol_time", columnList = "symbol, time", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MinuteCandle {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String symbol;
+
+    /**
+     * 분봉 체결 시각 (분 단위)
+     */
+    @Column(nullable = false)
+    private LocalDateTime time;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal open;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal high;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal low;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal close;
+
+    /**
+     * 해당 1분 동안의 체결 거래량
+     */
+    private Long volume;
+}
@@ -0,0 +1,177 @@
+package com.antigravity.trading.engine;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.util.IncrementalIndicators;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 실시간 종목별 일봉 지표 상태.
+ * 백테스트의 IndicatorSet 과 같은 지표(SMA20/60, RSI14, ATR14, Donchian20, 거래량 비율 20)를 증분으로 유지하며,
+ * 틱이 들어올 때마다 당일(진행 중) 캔들을 갱신하고, 필요할 때 그 캔들이 지금 마감된다고 가정한 MarketEvent 를 만듭니다.
+ * 과거 구간은 다시 계산하지 않으므로 틱당 비용은 O(1) 입니다.
+ *
+ * 일자가 바뀐 첫 틱에서 전일 캔들을 확정합니다. 여러 스레드에서 호출될 수 있으므로 메서드는 synchronized 입니다.
+ */
+public final class LiveIndicators {
+
+    private final String symbol;
+
+    private final IncrementalIndicators.Sma sma20 = new IncrementalIndicators.Sma(20);
+    private final IncrementalIndicators.Sma sma60 = new IncrementalIndicators.Sma(60);
+    private final IncrementalIndicators.Rsi rsi14 = new IncrementalIndicators.Rsi(14);
+    private final IncrementalIndicators.Atr atr14 = new IncrementalIndicators.Atr(14);
+    private final IncrementalIndicators.RollingMax donchianHigh20 = new IncrementalIndicators.RollingMax(20);
+    private final IncrementalIndicators.RollingMin donchianLow20 = new IncrementalIndicators.RollingMin(20);
+    private final IncrementalIndicators.VolumeRatio volumeRatio20 = new IncrementalIndicators.VolumeRatio(20);
+
+    // In-progress (provisional) daily bar
+    private LocalDate day;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    public LiveIndicators(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * 확정된 과거 일봉을 시간순으로 추가합니다. (장 시작 전 DB 이력으로 초기화)
+     */
+    public synchronized void addClosedBar(double o, double h, double l, double c, long v) {
+        sma20.update(c);
+        sma60.update(c);
+        rsi14.update(c);
+        atr14.update(h, l, c);
+        donchianHigh20.update(h);
+        donchianLow20.update(l);
+        volumeRatio20.update(v);
+    }
+
+    /**
+     * 체결 틱을 당일 캔들에 반영하고, 당일 캔들 기준 MarketEvent 를 돌려줍니다.
+     *
+     * @param cumulativeVolume 당일 누적 거래량 (알 수 없으면 음수, 직전 값 유지)
+     */
+    public synchronized MarketEvent onTick(LocalDateTime time, double price, long cumulativeVolume) {
+        addTick(time, price, cumulativeVolume);
+        return event(time);
+    }
+
+    /**
+     * 체결 틱을 당일 캔들에 반영만 합니다. MarketEvent 가 필요할 때 event() 로 만듭니다.
+     *
+     * @param cumulativeVolume 당일 누적 거래량 (알 수 없으면 음수, 직전 값 유지)
+     */
+    public synchronized void addTick(LocalDateTime time, double price, long cumulativeVolume) {
+        LocalDate tickDay = time.toLocalDate();
+        if (day != null && !tickDay.equals(day))
+            addClosedBar(open, high, low, close, volume);
+        if (!tickDay.equals(day)) {
+            day = tickDay;
+            open = price;
+            high = price;
+            low = price;
+            volume = 0L;
+        } else {
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+        }
+        close = price;
+        if (cumulativeVolume >= 0)
+            volume = cumulativeVolume;
+    }
+
+    /**
+     * 현재 당일 캔들 기준 MarketEvent (틱을 받기 전이면 null).
+     * Donchian 채널은 백테스트(BacktestSimulator.buildEvent) 와 같이 전일까지의 채널입니다.
+     */
+    public synchronized MarketEvent event(LocalDateTime time) {
+        if (day == null)
+            return null;
+        BigDecimal closeDecimal = CandleSeries.decimal(close);
+        BigDecimal highDecimal = CandleSeries.decimal(high);
+        BigDecimal lowDecimal = CandleSeries.decimal(low);
+        boolean first = donchianHigh20.count() == 0;
+        BigDecimal prevDonchianHigh = first ? highDecimal : nullableDecimal(donchianHigh20.value());
+        BigDecimal prevDonchianLow = first ? lowDecimal : nullableDecimal(donchianLow20.value());
+
+        return MarketEvent.builder()
+                .symbol(symbol)
+                .timestamp(time)
+                .currentPrice(closeDecimal)
+                .open(CandleSeries.decimal(open))
+                .high(highDecimal)
+                .low(lowDecimal)
+                .close(closeDecimal)
+                .volume(volume)
+                .ma20(CandleSeries.roundedAverage(sma20.preview(close), 20, 0)) // KIS ticks are whole won
+                .ma60(CandleSeries.roundedAverage(sma60.preview(close), 60, 0))
+                .avgVol20(BigDecimal.ZERO)
+                .volumeRatio(volumeRatio20.preview(volume))
+                .breakoutPrice(prevDonchianHigh)
+                .rsi(IndicatorSet.boxed(rsi14.preview(close)))
+                .atr(IndicatorSet.boxed(atr14.preview(high, low, close)))
+                .donchianHigh(prevDonchianHigh)
+                .donchianLow(prevDonchianLow)
+                .build();
+    }
+
+    /**
+     * 현재 상태(확정 지표 + 당일 캔들)의 복사본
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * snapshot() 시점으로 되돌립니다.
+     */
+    public synchronized void restore(Snapshot snapshot) {
+        if (!symbol.equals(snapshot.state.symbol))
+            throw new IllegalArgumentException("Snapshot of another symbol: " + snapshot.state.symbol);
+        copyState(snapshot.state, this);
+    }
+
+    private static void copyState(LiveIndicators from, LiveIndicators to) {
+        to.sma20.restore(from.sma20);
+        to.sma60.restore(from.sma60);
+        to.rsi14.restore(from.rsi14);
+        to.atr14.restore(from.atr14);
+        to.donchianHigh20.restore(from.donchianHigh20);
+        to.donchianLow20.restore(from.donchianLow20);
+        to.volumeRatio20.restore(from.volumeRatio20);
+        to.day = from.day;
+        to.open = from.open;
+        to.high = from.high;
+        to.low = from.low;
+        to.close = from.close;
+        to.volume = from.volume;
+    }
+
+    private static BigDecimal nullableDecimal(double value) {
+        return Double.isNaN(value) ? null : CandleSeries.decimal(value);
+    }
+
+    /**
+     * 불변 상태 복사본
+     */
+    public static final class Snapshot {
+        private final LiveIndicators state;
+
+        private Snapshot(LiveIndicators source) {
+            this.state = new LiveIndicators(source.symbol);
+            copyState(source, state);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+
+/**
+ * 시간 오름차순 OHLCV 컬럼 (HistoryWindow 의 원본).
+ */
+interface Bars {
+
+    int size();
+
+    double open(int i);
+
+    double high(int i);
+
+    double low(int i);
+
+    double close(int i);
+
+    long volume(int i);
+
+    CandleDto toCandleDto(int i);
+}
@@ -0,0 +1,139 @@
+package com.antigravity.trading.engine.backtest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유니버스 전체의 일봉과 보조지표를 메모리에 올린 횡단면(cross-sectional) 데이터.
+ * 종목마다 빈 날짜 없는 CandleSeries/IndicatorSet 을 두고, 모든 종목 거래일의 합집합을 공유 달력으로 가집니다.
+ * 종목 x 거래일 밀집 행렬 대신 종목별 열 배열을 쓰므로 상장 전/거래정지 구간이 메모리를 차지하지 않습니다.
+ *
+ * 불변 객체이므로 여러 백테스트가 동시에 공유할 수 있습니다.
+ */
+public final class CandleMatrix {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final CandleSeries[] series;
+    private final IndicatorSet[] indicators;
+    private final long[] calendar;
+    private final Map<String, Integer> indexBySymbol;
+    private final long candleCount;
+
+    /**
+     * @param series     종목별 시계열 ([start, end] 구간, 빈 시계열 제외)
+     * @param indicators series 와 같은 순서의 지표 묶음
+     */
+    public CandleMatrix(LocalDateTime start, LocalDateTime end, List<CandleSeries> series,
+            List<IndicatorSet> indicators) {
+        if (series.size() != indicators.size())
+            throw new IllegalArgumentException("series and indicators must have the same size");
+        this.start = start;
+        this.end = end;
+        this.series = series.toArray(new CandleSeries[0]);
+        this.indicators = indicators.toArray(new IndicatorSet[0]);
+        this.indexBySymbol = new HashMap<>(this.series.length * 2);
+        long total = 0;
+        for (int k = 0; k < this.series.length; k++) {
+            indexBySymbol.put(this.series[k].getSymbol(), k);
+            total += this.series[k].size();
+        }
+        this.candleCount = total;
+        this.calendar = unionOfDays(series, null, null);
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public int symbolCount() {
+        return series.length;
+    }
+
+    public String symbol(int k) {
+        return series[k].getSymbol();
+    }
+
+    public CandleSeries series(int k) {
+        return series[k];
+    }
+
+    public IndicatorSet indicators(int k) {
+        return indicators[k];
+    }
+
+    /**
+     * 종목 인덱스 순서의 시계열 (읽기 전용)
+     */
+    public List<CandleSeries> allSeries() {
+        return Collections.unmodifiableList(Arrays.asList(series));
+    }
+
+    /**
+     * allSeries() 와 같은 순서의 지표 묶음 (읽기 전용)
+     */
+    public List<IndicatorSet> allIndicators() {
+        return Collections.unmodifiableList(Arrays.asList(indicators));
+    }
+
+    /**
+     * 종목 인덱스 (없으면 -1)
+     */
+    public int indexOf(String symbol) {
+        Integer k = indexBySymbol.get(symbol);
+        return k != null ? k : -1;
+    }
+
+    /**
+     * 모든 종목 거래일(epoch day)의 정렬된 합집합. 반환된 배열은 공유되므로 수정하지 않습니다.
+     */
+    public long[] calendar() {
+        return calendar;
+    }
+
+    public long candleCount() {
+        return candleCount;
+    }
+
+    /**
+     * 추정 메모리 사용량 (캔들 48 bytes + 지표 7개 x 8 bytes / 캔들)
+     */
+    public long estimatedBytes() {
+        return candleCount * (48L + 56L) + calendar.length * 8L;
+    }
+
+    /**
+     * 종목별 [from, to) 구간 거래일(epoch day)의 정렬된 합집합
+     *
+     * @param from 종목별 시작 인덱스 (null 이면 0)
+     * @param to   종목별 끝 인덱스, 미포함 (null 이면 시계열 길이)
+     */
+    public static long[] unionOfDays(List<CandleSeries> series, int[] from, int[] to) {
+        long total = 0;
+        for (int k = 0; k < series.size(); k++)
+            total += (to != null ? to[k] : series.get(k).size()) - (from != null ? from[k] : 0);
+        long[] days = new long[Math.toIntExact(total)];
+        int n = 0;
+        for (int k = 0; k < series.size(); k++) {
+            int first = from != null ? from[k] : 0;
+            int length = (to != null ? to[k] : series.get(k).size()) - first;
+            System.arraycopy(series.get(k).epochDays(), first, days, n, length);
+            n += length;
+        }
+        Arrays.sort(days);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || days[unique - 1] != days[i])
+                days[unique++] = days[i];
+        }
+        return Arrays.copyOf(days, unique);
+    }
+}
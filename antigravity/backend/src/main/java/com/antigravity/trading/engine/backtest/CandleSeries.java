@@ -0,0 +1,354 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 백테스트용 컬럼형(Columnar) 일봉 시계열.
+ * OHLCV 를 primitive 배열로 보관하여 시뮬레이션 루프에서 BigDecimal/박싱 할당이 발생하지 않도록 합니다.
+ * 시간은 epoch-day(1970-01-01 기준 일수)로 저장하며, 일봉의 기준 시각은 장 마감(15:30)입니다.
+ *
+ * 배열은 생성 후 변경되지 않으므로 여러 스레드에서 공유해도 안전합니다.
+ */
+public final class CandleSeries implements Bars {
+
+    /** 일봉 캔들의 기준 시각 (장 마감) */
+    public static final LocalTime CLOSE_TIME = LocalTime.of(15, 30);
+
+    /** 데이터 버전을 알 수 없는 시계열 (캐시 대상 아님) */
+    public static final long UNVERSIONED = -1L;
+
+    /** candle_history 가격 컬럼의 scale (numeric(19,4)) */
+    public static final int DB_PRICE_SCALE = 4;
+
+    private static final double[] UNITS = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000 };
+
+    private final String symbol;
+    private final long dataVersion;
+    private final int priceScale;
+    private final int size;
+    private final long[] epochDays;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final long[] volume;
+
+    private CandleSeries(String symbol, long dataVersion, int priceScale, int size, long[] epochDays, double[] open,
+            double[] high, double[] low, double[] close, long[] volume) {
+        this.symbol = symbol;
+        this.dataVersion = dataVersion;
+        this.priceScale = priceScale;
+        this.size = size;
+        this.epochDays = epochDays;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    public static Builder builder(String symbol, int expectedSize) {
+        return new Builder(symbol, expectedSize);
+    }
+
+    public static CandleSeries empty(String symbol) {
+        return builder(symbol, 0).build();
+    }
+
+    /**
+     * 시간순으로 정렬된 CandleDto 목록(time = yyyy-MM-dd)을 컬럼형으로 변환합니다.
+     */
+    public static CandleSeries fromCandles(String symbol, List<CandleDto> candles) {
+        Builder builder = builder(symbol, candles.size());
+        int scale = 0;
+        for (CandleDto c : candles) {
+            scale = Math.max(scale, c.getClose().scale());
+            builder.add(LocalDate.parse(c.getTime()).toEpochDay(),
+                    c.getOpen().doubleValue(), c.getHigh().doubleValue(), c.getLow().doubleValue(),
+                    c.getClose().doubleValue(), c.getVolume() != null ? c.getVolume().longValue() : 0L);
+        }
+        return builder.priceScale(scale).build();
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * 로딩 시점의 종목 캔들 데이터 버전 (CandleDataVersions). 알 수 없으면 UNVERSIONED.
+     */
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * 원본 가격의 소수 자릿수 (KIS 응답은 0, candle_history 는 DB_PRICE_SCALE).
+     * 이동평균은 BigDecimal 합계를 기간으로 나눌 때와 같이 이 자릿수로 반올림합니다. (roundedAverage)
+     */
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    /**
+     * period 개 가격의 평균(이동평균)을 원본 가격 자릿수에서 HALF_UP 반올림한 값 (NaN 이면 null)
+     */
+    public BigDecimal roundedAverage(double mean, int period) {
+        return roundedAverage(mean, period, priceScale);
+    }
+
+    /**
+     * BigDecimal SMA 와 같은 값: 합계(scale 자릿수) / period 를 HALF_UP 으로 반올림합니다.
+     * double 평균을 바로 반올림하면 .5 경계에서 어긋날 수 있으므로, 평균 x period 로 정확한 합계를 복원해 나눕니다.
+     */
+    public static BigDecimal roundedAverage(double mean, int period, int scale) {
+        if (Double.isNaN(mean))
+            return null;
+        long unscaledSum = Math.round(mean * period * UNITS[scale]);
+        return BigDecimal.valueOf(unscaledSum, scale).divide(BigDecimal.valueOf(period), RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long epochDay(int i) {
+        return epochDays[i];
+    }
+
+    @Override
+    public double open(int i) {
+        return open[i];
+    }
+
+    @Override
+    public double high(int i) {
+        return high[i];
+    }
+
+    @Override
+    public double low(int i) {
+        return low[i];
+    }
+
+    @Override
+    public double close(int i) {
+        return close[i];
+    }
+
+    @Override
+    public long volume(int i) {
+        return volume[i];
+    }
+
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(epochDays[i]);
+    }
+
+    /** 캔들 기준 시각 (해당 일자 15:30) */
+    public LocalDateTime timestamp(int i) {
+        return date(i).atTime(CLOSE_TIME);
+    }
+
+    // Backing columns are exposed without copying for indicator kernels. Callers must treat them as read-only.
+
+    public long[] epochDays() {
+        return epochDays;
+    }
+
+    public double[] opens() {
+        return open;
+    }
+
+    public double[] highs() {
+        return high;
+    }
+
+    public double[] lows() {
+        return low;
+    }
+
+    public double[] closes() {
+        return close;
+    }
+
+    public long[] volumes() {
+        return volume;
+    }
+
+    /**
+     * 첫 번째로 epochDay >= day 인 인덱스 (없으면 size)
+     */
+    public int lowerBound(long day) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < day)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * 첫 번째로 epochDay > day 인 인덱스 (없으면 size)
+     */
+    public int upperBound(long day) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] <= day)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * 캔들 시각(15:30)이 start 이상인 첫 인덱스
+     */
+    public int indexOnOrAfter(LocalDateTime start) {
+        long day = start.toLocalDate().toEpochDay();
+        if (start.toLocalTime().isAfter(CLOSE_TIME))
+            day++;
+        return lowerBound(day);
+    }
+
+    /**
+     * 캔들 시각(15:30)이 end 를 넘는 첫 인덱스 (구간의 exclusive 끝)
+     */
+    public int indexAfter(LocalDateTime end) {
+        long day = end.toLocalDate().toEpochDay();
+        if (end.toLocalTime().isBefore(CLOSE_TIME))
+            day--;
+        return upperBound(day);
+    }
+
+    @Override
+    public CandleDto toCandleDto(int i) {
+        return CandleDto.builder()
+                .time(date(i).toString())
+                .open(price(open[i]))
+                .high(price(high[i]))
+                .low(price(low[i]))
+                .close(price(close[i]))
+                .volume(BigDecimal.valueOf(volume[i]))
+                .build();
+    }
+
+    /**
+     * CandleDto 목록으로 복사합니다. (API 응답용)
+     */
+    public List<CandleDto> toCandleDtos() {
+        List<CandleDto> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(toCandleDto(i));
+        }
+        return list;
+    }
+
+    /**
+     * 가격을 원본 가격 자릿수(priceScale)의 BigDecimal 로 변환합니다.
+     * candle_history 경로는 numeric(19,4) 로 읽던 값과 같은 50000.0000 형태가 됩니다. (자릿수를 늘리기만 하고 반올림하지 않음)
+     */
+    public BigDecimal price(double value) {
+        BigDecimal decimal = decimal(value);
+        return decimal.scale() < priceScale ? decimal.setScale(priceScale) : decimal;
+    }
+
+    /**
+     * 가격(원)을 BigDecimal 로 변환합니다. 정수 가격은 scale 0 으로 표현합니다.
+     */
+    public static BigDecimal decimal(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            return BigDecimal.valueOf((long) value);
+        return BigDecimal.valueOf(value);
+    }
+
+    public static final class Builder {
+        private final String symbol;
+        private long dataVersion = UNVERSIONED;
+        private int priceScale;
+        private int size;
+        private long[] epochDays;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private long[] volume;
+
+        private Builder(String symbol, int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            this.symbol = symbol;
+            this.epochDays = new long[capacity];
+            this.open = new double[capacity];
+            this.high = new double[capacity];
+            this.low = new double[capacity];
+            this.close = new double[capacity];
+            this.volume = new long[capacity];
+        }
+
+        /**
+         * 캔들을 추가합니다. 호출 순서는 시간 오름차순이어야 합니다.
+         */
+        public Builder add(long epochDay, double o, double h, double l, double c, long v) {
+            if (size > 0 && epochDay < epochDays[size - 1])
+                throw new IllegalArgumentException("Candles must be added in ascending time order");
+            if (size == epochDays.length)
+                grow();
+            epochDays[size] = epochDay;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+            return this;
+        }
+
+        public Builder dataVersion(long dataVersion) {
+            this.dataVersion = dataVersion;
+            return this;
+        }
+
+        public Builder priceScale(int priceScale) {
+            this.priceScale = priceScale;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CandleSeries build() {
+            return new CandleSeries(symbol, dataVersion, priceScale, size,
+                    Arrays.copyOf(epochDays, size), Arrays.copyOf(open, size), Arrays.copyOf(high, size),
+                    Arrays.copyOf(low, size), Arrays.copyOf(close, size), Arrays.copyOf(volume, size));
+        }
+
+        private void grow() {
+            int capacity = epochDays.length + (epochDays.length >> 1);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 차트 표시용 시계열 축소.
+ * - 자산 곡선: LTTB (Largest-Triangle-Three-Buckets) 로 모양(고점/저점)을 유지하며 점 개수를 줄입니다.
+ * - 캔들: 연속 구간을 하나의 봉으로 합칩니다. (시가=첫 봉, 고가=최대, 저가=최소, 종가=마지막 봉, 거래량=합)
+ *
+ * 입력이 한도 이하이면 입력 리스트를 그대로 반환합니다.
+ */
+public final class Downsampler {
+
+    private Downsampler() {
+    }
+
+    /**
+     * LTTB 축소. 첫/마지막 점은 항상 유지되며 x 축은 날짜(epoch day)입니다.
+     *
+     * @param threshold 결과 점 개수 상한 (3 이상)
+     */
+    public static List<EquityPoint> lttb(List<EquityPoint> points, int threshold) {
+        if (threshold < 3)
+            throw new IllegalArgumentException("threshold must be >= 3");
+        int n = points.size();
+        if (n <= threshold)
+            return points;
+
+        List<EquityPoint> sampled = new ArrayList<>(threshold);
+        sampled.add(points.get(0));
+
+        // Interior points are split into (threshold - 2) buckets
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        for (int b = 0; b < threshold - 2; b++) {
+            int bucketStart = (int) Math.floor(b * bucketSize) + 1;
+            int bucketEnd = (int) Math.floor((b + 1) * bucketSize) + 1;
+
+            // Average of the next bucket (the last point for the final bucket)
+            int nextStart = bucketEnd;
+            int nextEnd = Math.min((int) Math.floor((b + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int k = nextStart; k < nextEnd; k++) {
+                avgX += x(points.get(k));
+                avgY += points.get(k).getEquity();
+            }
+            int nextCount = nextEnd - nextStart;
+            if (nextCount > 0) {
+                avgX /= nextCount;
+                avgY /= nextCount;
+            } else {
+                avgX = x(points.get(n - 1));
+                avgY = points.get(n - 1).getEquity();
+            }
+
+            double ax = x(points.get(a));
+            double ay = points.get(a).getEquity();
+            double maxArea = -1;
+            int selected = bucketStart;
+            for (int k = bucketStart; k < bucketEnd; k++) {
+                double area = Math.abs((ax - avgX) * (points.get(k).getEquity() - ay)
+                        - (ax - x(points.get(k))) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = k;
+                }
+            }
+            sampled.add(points.get(selected));
+            a = selected;
+        }
+
+        sampled.add(points.get(n - 1));
+        return sampled;
+    }
+
+    /**
+     * 캔들을 maxBars 개 이하의 봉으로 합칩니다. 합쳐진 봉의 time 은 구간 첫 캔들의 time 입니다.
+     */
+    public static List<CandleDto> ohlcBuckets(List<CandleDto> candles, int maxBars) {
+        if (maxBars < 1)
+            throw new IllegalArgumentException("maxBars must be >= 1");
+        int n = candles.size();
+        if (n <= maxBars)
+            return candles;
+
+        int bucket = (n + maxBars - 1) / maxBars;
+        List<CandleDto> merged = new ArrayList<>((n + bucket - 1) / bucket);
+        for (int start = 0; start < n; start += bucket) {
+            int end = Math.min(start + bucket, n);
+            CandleDto first = candles.get(start);
+            BigDecimal high = first.getHigh();
+            BigDecimal low = first.getLow();
+            BigDecimal volume = BigDecimal.ZERO;
+            for (int k = start; k < end; k++) {
+                CandleDto c = candles.get(k);
+                if (c.getHigh() != null && (high == null || c.getHigh().compareTo(high) > 0))
+                    high = c.getHigh();
+                if (c.getLow() != null && (low == null || c.getLow().compareTo(low) < 0))
+                    low = c.getLow();
+                if (c.getVolume() != null)
+                    volume = volume.add(c.getVolume());
+            }
+            merged.add(CandleDto.builder()
+                    .time(first.getTime())
+                    .open(first.getOpen())
+                    .high(high)
+                    .low(low)
+                    .close(candles.get(end - 1).getClose())
+                    .volume(volume)
+                    .build());
+        }
+        return merged;
+    }
+
+    private static double x(EquityPoint point) {
+        return point.getDate().toEpochDay();
+    }
+}
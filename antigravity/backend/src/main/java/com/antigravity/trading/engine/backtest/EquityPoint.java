@@ -0,0 +1,16 @@
+package com.antigravity.trading.engine.backtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 자산 곡선(Equity Curve)의 한 점 (일자별 평가금액)
+ */
+@Getter
+@RequiredArgsConstructor
+public class EquityPoint {
+    private final LocalDate date;
+    private final double equity;
+}
@@ -0,0 +1,106 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * StrategyContext.history 용 슬라이딩 뷰.
+ * 원본 컬럼(CandleSeries / IntradaySession)을 복사하지 않고, 현재 캔들까지의 구간만 읽기 전용 List 로 노출합니다.
+ * 시뮬레이터는 매 캔들 advanceTo(i) 로 끝을 옮기기만 하므로 캔들마다 리스트를 만들지 않으며,
+ * 전략은 현재 캔들 이후의 데이터(미래 캔들)를 볼 수 없습니다.
+ *
+ * maxBars 를 지정하면 현재 캔들 포함 최근 maxBars 개만 보입니다. 인덱스 0 이 창의 가장 오래된 캔들입니다.
+ * 요소(CandleDto) 는 접근 시점에 생성되므로, 반복 계산에는 open(i)/close(i) 등 primitive 접근자를 사용합니다.
+ *
+ * 단일 스레드(하나의 시뮬레이션)에서만 사용합니다.
+ */
+public final class HistoryWindow extends AbstractList<CandleDto> implements RandomAccess {
+
+    private final Bars bars;
+    private final int maxBars;
+    private int from;
+    private int end;
+
+    private HistoryWindow(Bars bars, int maxBars) {
+        if (maxBars < 1)
+            throw new IllegalArgumentException("maxBars must be >= 1");
+        this.bars = bars;
+        this.maxBars = maxBars;
+    }
+
+    /**
+     * 시계열 처음부터 현재 캔들까지 보이는 창 (advanceTo 전에는 비어 있음)
+     */
+    public static HistoryWindow of(CandleSeries series) {
+        return new HistoryWindow(series, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 현재 캔들 포함 최근 maxBars 개만 보이는 창
+     */
+    public static HistoryWindow of(CandleSeries series, int maxBars) {
+        return new HistoryWindow(series, maxBars);
+    }
+
+    /**
+     * 세션 시작부터 현재 분봉까지 보이는 창
+     */
+    public static HistoryWindow of(IntradaySession session) {
+        return new HistoryWindow(session, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 원본의 index 번째 캔들을 현재 캔들로 만듭니다. (창 = [index - maxBars + 1, index])
+     */
+    public void advanceTo(int index) {
+        if (index < 0 || index >= bars.size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Source size: " + bars.size());
+        end = index + 1;
+        from = Math.max(0, end - maxBars);
+    }
+
+    /**
+     * 현재 캔들의 원본 인덱스 (비어 있으면 -1)
+     */
+    public int currentIndex() {
+        return end - 1;
+    }
+
+    @Override
+    public int size() {
+        return end - from;
+    }
+
+    @Override
+    public CandleDto get(int index) {
+        return bars.toCandleDto(offset(index));
+    }
+
+    public double open(int index) {
+        return bars.open(offset(index));
+    }
+
+    public double high(int index) {
+        return bars.high(offset(index));
+    }
+
+    public double low(int index) {
+        return bars.low(offset(index));
+    }
+
+    public double close(int index) {
+        return bars.close(offset(index));
+    }
+
+    public long volume(int index) {
+        return bars.volume(offset(index));
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= end - from)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (end - from));
+        return from + index;
+    }
+}
@@ -0,0 +1,141 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.util.TechnicalIndicators;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 전략이 필요로 하는 보조지표 목록 (지표, 기간) 의 집합.
+ * 전략은 TradingStrategy.requiredIndicators() 로 계획을 선언하고, 백테스트는 계획에 든 지표만 계산해 IndicatorSet 을 구성합니다.
+ * 여러 전략이 같은 지표를 쓰면 union() 으로 합쳐 한 번만 계산합니다. (예: 앙상블 S4)
+ *
+ * compute() 는 같은 입력 열을 읽는 지표를 묶어 계산합니다.
+ * RSI 와 ATR 은 TechnicalIndicators.calculateRsiAtr 한 루프에서 함께 계산하고, 나머지는 지표별 커널을 사용합니다.
+ * 결과는 IndicatorType.compute 와 같습니다.
+ */
+public final class IndicatorPlan {
+
+    /**
+     * 지표를 계산하지 않는 계획 (가격만 사용하는 전략)
+     */
+    public static final IndicatorPlan NONE = new IndicatorPlan(Collections.emptySet());
+
+    /**
+     * IndicatorSet 의 모든 지표 (여러 전략이 공유하는 유니버스 행렬, 전략 기본 계획 등)
+     */
+    public static final IndicatorPlan ALL = of(IndicatorSet.SMA20, IndicatorSet.SMA60, IndicatorSet.RSI14,
+            IndicatorSet.ATR14, IndicatorSet.DONCHIAN_HIGH20, IndicatorSet.DONCHIAN_LOW20,
+            IndicatorSet.VOLUME_RATIO20);
+
+    private final Set<Key> keys;
+
+    private IndicatorPlan(Set<Key> keys) {
+        this.keys = Collections.unmodifiableSet(keys);
+    }
+
+    public static IndicatorPlan of(Key... keys) {
+        return of(List.of(keys));
+    }
+
+    public static IndicatorPlan of(Collection<Key> keys) {
+        return keys.isEmpty() ? NONE : new IndicatorPlan(new LinkedHashSet<>(keys));
+    }
+
+    /**
+     * 두 계획의 합집합 (중복 지표는 한 번만)
+     */
+    public IndicatorPlan union(IndicatorPlan other) {
+        if (other.keys.isEmpty() || keys.containsAll(other.keys))
+            return this;
+        if (keys.isEmpty() || other.keys.containsAll(keys))
+            return other;
+        Set<Key> merged = new LinkedHashSet<>(keys);
+        merged.addAll(other.keys);
+        return new IndicatorPlan(merged);
+    }
+
+    public Set<Key> keys() {
+        return keys;
+    }
+
+    public boolean contains(Key key) {
+        return keys.contains(key);
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    /**
+     * 계획의 모든 지표를 계산합니다.
+     */
+    public Map<Key, double[]> compute(CandleSeries series) {
+        return compute(series, keys);
+    }
+
+    /**
+     * keys 의 지표를 계산합니다. (캐시에 없는 지표만 계산할 때 사용)
+     * RSI 와 ATR 은 기간 순서대로 짝지어 한 루프에서 계산합니다.
+     */
+    public static Map<Key, double[]> compute(CandleSeries series, Collection<Key> keys) {
+        Map<Key, double[]> result = new HashMap<>(keys.size() * 2);
+        List<Key> rsis = new ArrayList<>(1);
+        List<Key> atrs = new ArrayList<>(1);
+        for (Key key : keys) {
+            if (key.type == IndicatorType.RSI)
+                rsis.add(key);
+            else if (key.type == IndicatorType.ATR)
+                atrs.add(key);
+            else
+                result.put(key, key.compute(series));
+        }
+
+        int pairs = Math.min(rsis.size(), atrs.size());
+        for (int k = 0; k < pairs; k++) {
+            double[][] rsiAtr = TechnicalIndicators.calculateRsiAtr(series.highs(), series.lows(), series.closes(),
+                    rsis.get(k).period, atrs.get(k).period);
+            result.put(rsis.get(k), rsiAtr[0]);
+            result.put(atrs.get(k), rsiAtr[1]);
+        }
+        for (int k = pairs; k < rsis.size(); k++)
+            result.put(rsis.get(k), rsis.get(k).compute(series));
+        for (int k = pairs; k < atrs.size(); k++)
+            result.put(atrs.get(k), atrs.get(k).compute(series));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return keys.toString();
+    }
+
+    /**
+     * (지표, 기간) 한 개
+     */
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static final class Key {
+        private final IndicatorType type;
+        private final int period;
+
+        public double[] compute(CandleSeries series) {
+            return type.compute(series, period);
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + period + ")";
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.antigravity.trading.engine.backtest;
+
+import java.util.Map;
+
+/**
+ * CandleSeries 에 대해 미리 계산된 보조지표 묶음.
+ * 모든 지표는 시계열과 같은 길이의 double[] 이며, 값이 정의되지 않은 구간은 NaN 입니다.
+ * (volumeRatio 는 기존 정의대로 0.0)
+ * IndicatorPlan 으로 구성하면 계획에 없는 지표는 계산하지 않으며, 그 지표는 정의되지 않은 값과 같이 취급됩니다.
+ *
+ * 불변 객체이므로 파라미터 스윕 등에서 여러 시뮬레이션이 하나의 인스턴스를 공유할 수 있습니다.
+ */
+public final class IndicatorSet {
+
+    // Indicators carried by MarketEvent (fixed periods)
+    public static final IndicatorPlan.Key SMA20 = new IndicatorPlan.Key(IndicatorType.SMA, 20);
+    public static final IndicatorPlan.Key SMA60 = new IndicatorPlan.Key(IndicatorType.SMA, 60);
+    public static final IndicatorPlan.Key RSI14 = new IndicatorPlan.Key(IndicatorType.RSI, 14);
+    public static final IndicatorPlan.Key ATR14 = new IndicatorPlan.Key(IndicatorType.ATR, 14);
+    public static final IndicatorPlan.Key DONCHIAN_HIGH20 = new IndicatorPlan.Key(IndicatorType.DONCHIAN_HIGH, 20);
+    public static final IndicatorPlan.Key DONCHIAN_LOW20 = new IndicatorPlan.Key(IndicatorType.DONCHIAN_LOW, 20);
+    public static final IndicatorPlan.Key VOLUME_RATIO20 = new IndicatorPlan.Key(IndicatorType.VOLUME_RATIO, 20);
+
+    private final double[] sma20;
+    private final double[] sma60;
+    private final double[] rsi14;
+    private final double[] atr14;
+    private final double[] donchianHigh20;
+    private final double[] donchianLow20;
+    private final double[] volumeRatio20;
+
+    private IndicatorSet(double[] sma20, double[] sma60, double[] rsi14, double[] atr14, double[] donchianHigh20,
+            double[] donchianLow20, double[] volumeRatio20) {
+        this.sma20 = sma20;
+        this.sma60 = sma60;
+        this.rsi14 = rsi14;
+        this.atr14 = atr14;
+        this.donchianHigh20 = donchianHigh20;
+        this.donchianLow20 = donchianLow20;
+        this.volumeRatio20 = volumeRatio20;
+    }
+
+    public static IndicatorSet compute(CandleSeries series) {
+        return compute(series, IndicatorPlan.ALL);
+    }
+
+    /**
+     * 계획에 든 지표만 계산합니다.
+     */
+    public static IndicatorSet compute(CandleSeries series, IndicatorPlan plan) {
+        Map<IndicatorPlan.Key, double[]> values = plan.compute(series);
+        return compute(values::get, plan);
+    }
+
+    /**
+     * 지표 배열을 source 에서 가져와 구성합니다. (예: 공유 지표 캐시)
+     * source 가 돌려주는 배열은 공유될 수 있으므로 읽기 전용으로만 사용합니다.
+     */
+    public static IndicatorSet compute(Source source) {
+        return compute(source, IndicatorPlan.ALL);
+    }
+
+    /**
+     * 계획에 든 지표만 source 에서 가져와 구성합니다.
+     */
+    public static IndicatorSet compute(Source source, IndicatorPlan plan) {
+        return new IndicatorSet(
+                fetch(source, plan, SMA20),
+                fetch(source, plan, SMA60),
+                fetch(source, plan, RSI14),
+                fetch(source, plan, ATR14),
+                fetch(source, plan, DONCHIAN_HIGH20),
+                fetch(source, plan, DONCHIAN_LOW20),
+                fetch(source, plan, VOLUME_RATIO20));
+    }
+
+    private static double[] fetch(Source source, IndicatorPlan plan, IndicatorPlan.Key key) {
+        return plan.contains(key) ? source.get(key) : null;
+    }
+
+    public double sma20(int i) {
+        return sma20 != null ? sma20[i] : Double.NaN;
+    }
+
+    public double sma60(int i) {
+        return sma60 != null ? sma60[i] : Double.NaN;
+    }
+
+    public double rsi14(int i) {
+        return rsi14 != null ? rsi14[i] : Double.NaN;
+    }
+
+    public double atr14(int i) {
+        return atr14 != null ? atr14[i] : Double.NaN;
+    }
+
+    public double donchianHigh20(int i) {
+        return donchianHigh20 != null ? donchianHigh20[i] : Double.NaN;
+    }
+
+    public double donchianLow20(int i) {
+        return donchianLow20 != null ? donchianLow20[i] : Double.NaN;
+    }
+
+    public double volumeRatio20(int i) {
+        return volumeRatio20 != null ? volumeRatio20[i] : 0.0;
+    }
+
+    /**
+     * NaN 을 null 로 변환 (MarketEvent 의 nullable 필드용)
+     */
+    public static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * 지표 배열 공급자
+     */
+    @FunctionalInterface
+    public interface Source {
+        double[] get(IndicatorPlan.Key key);
+    }
+}
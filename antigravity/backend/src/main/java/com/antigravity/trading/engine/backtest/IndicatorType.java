@@ -0,0 +1,51 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.util.TechnicalIndicators;
+
+/**
+ * CandleSeries 에서 계산 가능한 보조지표 종류.
+ * 각 지표는 (시계열, 기간) 만으로 결정되므로 (종목, 지표, 기간, 데이터 버전) 단위로 캐시할 수 있습니다.
+ */
+public enum IndicatorType {
+    SMA {
+        @Override
+        public double[] compute(CandleSeries series, int period) {
+            return TechnicalIndicators.calculateSma(series.closes(), period);
+        }
+    },
+    RSI {
+        @Override
+        public double[] compute(CandleSeries series, int period) {
+            return TechnicalIndicators.calculateRsi(series.closes(), period);
+        }
+    },
+    ATR {
+        @Override
+        public double[] compute(CandleSeries series, int period) {
+            return TechnicalIndicators.calculateAtr(series.highs(), series.lows(), series.closes(), period);
+        }
+    },
+    DONCHIAN_HIGH {
+        @Override
+        public double[] compute(CandleSeries series, int period) {
+            return TechnicalIndicators.calculateDonchianHigh(series.highs(), period);
+        }
+    },
+    DONCHIAN_LOW {
+        @Override
+        public double[] compute(CandleSeries series, int period) {
+            return TechnicalIndicators.calculateDonchianLow(series.lows(), period);
+        }
+    },
+    VOLUME_RATIO {
+        @Override
+        public double[] compute(CandleSeries series, int period) {
+            return TechnicalIndicators.calculateVolumeRatio(series.volumes(), period);
+        }
+    };
+
+    /**
+     * 시계열과 같은 길이의 지표 배열을 새로 계산합니다. (정의되지 않은 구간은 NaN, VOLUME_RATIO 는 0.0)
+     */
+    public abstract double[] compute(CandleSeries series, int period);
+}
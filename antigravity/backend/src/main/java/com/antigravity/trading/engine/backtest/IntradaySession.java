@@ -0,0 +1,139 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 하루(세션) 분량의 1분봉 버퍼.
+ * 장중 백테스트는 거래일마다 reset() 후 해당 일의 분봉만 채워 사용하므로, 기간 전체 분봉을 힙에 올리지 않습니다.
+ * 배열은 세션 간에 재사용되며 필요할 때만 늘어납니다.
+ *
+ * 단일 스레드에서만 사용합니다.
+ */
+public final class IntradaySession implements Bars {
+
+    private static final int DEFAULT_CAPACITY = 400; // 정규장 09:00 ~ 15:30 = 390분
+
+    @Getter
+    private LocalDate date;
+    private int size;
+
+    private int[] minuteOfDay;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private long[] volume;
+
+    public IntradaySession() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntradaySession(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        minuteOfDay = new int[capacity];
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        volume = new long[capacity];
+    }
+
+    /**
+     * 새 거래일을 시작합니다. 이전 세션의 데이터는 버려집니다.
+     */
+    public void reset(LocalDate date) {
+        this.date = date;
+        this.size = 0;
+    }
+
+    /**
+     * 분봉을 시간 순서대로 추가합니다.
+     */
+    public void add(int minuteOfDay, double open, double high, double low, double close, long volume) {
+        if (size > 0 && minuteOfDay <= this.minuteOfDay[size - 1])
+            throw new IllegalArgumentException("Minute bars must be strictly increasing in time");
+        if (size == this.minuteOfDay.length)
+            grow();
+        this.minuteOfDay[size] = minuteOfDay;
+        this.open[size] = open;
+        this.high[size] = high;
+        this.low[size] = low;
+        this.close[size] = close;
+        this.volume[size] = volume;
+        size++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int minuteOfDay(int i) {
+        return minuteOfDay[i];
+    }
+
+    @Override
+    public double open(int i) {
+        return open[i];
+    }
+
+    @Override
+    public double high(int i) {
+        return high[i];
+    }
+
+    @Override
+    public double low(int i) {
+        return low[i];
+    }
+
+    @Override
+    public double close(int i) {
+        return close[i];
+    }
+
+    @Override
+    public long volume(int i) {
+        return volume[i];
+    }
+
+    public LocalDateTime timestamp(int i) {
+        return date.atTime(minuteOfDay[i] / 60, minuteOfDay[i] % 60);
+    }
+
+    /**
+     * i 번째 분봉 (time 은 HHmmss)
+     */
+    @Override
+    public CandleDto toCandleDto(int i) {
+        int m = minuteOfDay[i];
+        return CandleDto.builder()
+                .time(String.format("%02d%02d00", m / 60, m % 60))
+                .open(CandleSeries.decimal(open[i]))
+                .high(CandleSeries.decimal(high[i]))
+                .low(CandleSeries.decimal(low[i]))
+                .close(CandleSeries.decimal(close[i]))
+                .volume(BigDecimal.valueOf(volume[i]))
+                .build();
+    }
+
+    private void grow() {
+        int capacity = minuteOfDay.length * 2;
+        minuteOfDay = Arrays.copyOf(minuteOfDay, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+    }
+}
@@ -0,0 +1,85 @@
+package com.antigravity.trading.engine.backtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 원화 고정소수점 연산 (1 = 1원, long).
+ * KRX 가격은 호가 단위가 정수 원이므로 시뮬레이션의 현금/가격/수량 계산을 BigDecimal 없이 정확하게 수행할 수 있습니다.
+ * BigDecimal 은 거래 기록, 최종 결과 등 API 경계에서만 생성합니다.
+ *
+ * 계산 결과는 기존 BigDecimal 경로와 동일합니다. (수량은 내림, 수익률은 소수 4자리 HALF_UP 후 x100)
+ */
+public final class Krw {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private Krw() {
+    }
+
+    /**
+     * 시계열 가격(double)을 원 단위로 변환합니다. (정수 원이 아니면 반올림)
+     */
+    public static long of(double price) {
+        return Math.round(price);
+    }
+
+    public static long of(BigDecimal amount) {
+        return amount.setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long won) {
+        return BigDecimal.valueOf(won);
+    }
+
+    /**
+     * 원 단위 금액을 scale 자릿수로 표현합니다. (candle_history 가격 numeric(19,4) 로 계산하던 거래 기록과 같은 자릿수)
+     */
+    public static BigDecimal toDecimal(long won, int scale) {
+        return BigDecimal.valueOf(won).setScale(scale);
+    }
+
+    /**
+     * 금액의 numerator/denominator 비율 (내림). 예: allocate(cash, 1, 2) = 현금의 50%
+     */
+    public static long allocate(long amount, long numerator, long denominator) {
+        return Math.floorDiv(Math.multiplyExact(amount, numerator), denominator);
+    }
+
+    /**
+     * 금액으로 살 수 있는 최대 수량 (내림)
+     */
+    public static long shares(long amount, long price) {
+        if (price <= 0)
+            throw new IllegalArgumentException("price must be positive: " + price);
+        return amount > 0 ? amount / price : 0L;
+    }
+
+    /**
+     * 수량 x 가격
+     */
+    public static long value(long quantity, long price) {
+        return Math.multiplyExact(quantity, price);
+    }
+
+    /**
+     * from 대비 to 의 변화율(%) = round((to - from) / from, 4, HALF_UP) x 100
+     */
+    public static BigDecimal percentChange(long from, long to) {
+        if (from == 0)
+            throw new ArithmeticException("Division by zero");
+        long basisPoints = divideHalfUp(Math.multiplyExact(to - from, 10_000L), from);
+        return BigDecimal.valueOf(basisPoints, 4).multiply(HUNDRED);
+    }
+
+    /**
+     * 0 에서 먼 쪽으로 반올림하는 정수 나눗셈 (RoundingMode.HALF_UP)
+     */
+    static long divideHalfUp(long numerator, long denominator) {
+        long q = numerator / denominator;
+        long r = numerator % denominator;
+        if (r != 0 && Math.abs(r) >= Math.abs(denominator) - Math.abs(r))
+            q += (numerator < 0) == (denominator < 0) ? 1 : -1;
+        return q;
+    }
+}
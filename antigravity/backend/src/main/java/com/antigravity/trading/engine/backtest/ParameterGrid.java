@@ -0,0 +1,185 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StrategyParams 파라미터 그리드 확장기.
+ * 필드 이름 -> 범위(from/to/step 또는 values) 를 받아 모든 조합의 Params 객체를 생성합니다.
+ * Jackson 으로 기본 Params 를 Map 으로 변환한 뒤 값을 덮어쓰므로 모든 StrategyParams 하위 클래스에 동작합니다.
+ */
+public final class ParameterGrid {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private ParameterGrid() {
+    }
+
+    /**
+     * @param strategy       대상 전략
+     * @param baseParamsJson 스윕하지 않는 필드의 기준값 (null 이면 전략 기본값)
+     * @param ranges         필드별 스윕 범위 (삽입 순서대로 중첩)
+     * @param maxCombinations 허용 최대 조합 수
+     */
+    public static List<Candidate> expand(TradingStrategy strategy, String baseParamsJson,
+            Map<String, ParamRange> ranges, int maxCombinations) {
+        StrategyParams base = baseParamsJson != null
+                ? StrategyParams.fromJson(baseParamsJson, strategy.getParamsClass())
+                : strategy.getDefaultParams();
+        Map<String, Object> baseMap = MAPPER.convertValue(base, MAP_TYPE);
+
+        // Size the grid before expanding any axis, so an oversized request fails without allocating
+        long combinations = 1;
+        if (ranges != null) {
+            for (Map.Entry<String, ParamRange> e : ranges.entrySet()) {
+                if (!baseMap.containsKey(e.getKey()))
+                    throw new IllegalArgumentException(
+                            "Unknown parameter '" + e.getKey() + "' for strategy " + strategy.getId());
+                if (isInteger(baseMap.get(e.getKey())))
+                    e.getValue().requireIntegral(e.getKey());
+                long size = e.getValue().size();
+                if (size == 0)
+                    throw new IllegalArgumentException("Empty range for parameter '" + e.getKey() + "'");
+                if (size > maxCombinations || combinations * size > maxCombinations)
+                    throw new IllegalArgumentException(
+                            "Parameter grid exceeds " + maxCombinations + " combinations");
+                combinations *= size;
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        List<List<Object>> axes = new ArrayList<>();
+        if (ranges != null) {
+            for (Map.Entry<String, ParamRange> e : ranges.entrySet()) {
+                names.add(e.getKey());
+                axes.add(e.getValue().values());
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>((int) combinations);
+        int[] cursor = new int[axes.size()];
+        for (long c = 0; c < combinations; c++) {
+            Map<String, Object> swept = new LinkedHashMap<>();
+            Map<String, Object> merged = new LinkedHashMap<>(baseMap);
+            for (int a = 0; a < axes.size(); a++) {
+                Object value = axes.get(a).get(cursor[a]);
+                swept.put(names.get(a), value);
+                merged.put(names.get(a), value);
+            }
+            candidates.add(new Candidate(candidates.size(), swept, MAPPER.convertValue(merged,
+                    strategy.getParamsClass())));
+
+            // Odometer increment, last axis fastest
+            for (int a = axes.size() - 1; a >= 0; a--) {
+                if (++cursor[a] < axes.get(a).size())
+                    break;
+                cursor[a] = 0;
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean isInteger(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    public static String toJson(StrategyParams params) {
+        try {
+            return MAPPER.writeValueAsString(params);
+        } catch (Exception e) {
+            return "{}";
+        }
+    }
+
+    /**
+     * 그리드의 한 조합
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Candidate {
+        private final int index;
+        private final Map<String, Object> values; // 스윕 대상 필드 값만
+        private final StrategyParams params;
+    }
+
+    /**
+     * 파라미터 범위: values 가 있으면 그대로 사용, 없으면 from..to (step 간격, 양끝 포함)
+     */
+    @Data
+    public static class ParamRange {
+        private Double from;
+        private Double to;
+        private Double step;
+        private List<Object> values;
+
+        public List<Object> values() {
+            if (values != null && !values.isEmpty())
+                return values;
+            if (from == null)
+                return List.of();
+            if (to == null || step == null || step <= 0)
+                return List.of(from);
+
+            List<Object> expanded = new ArrayList<>();
+            long count = size();
+            for (long k = 0; k < count; k++) {
+                // Round to suppress accumulated floating error (0.1 + 0.2 ...)
+                expanded.add(BigDecimal.valueOf(from + k * step).setScale(10, RoundingMode.HALF_UP)
+                        .stripTrailingZeros().doubleValue());
+            }
+            return expanded;
+        }
+
+        /**
+         * values() 의 값 개수. 값 목록을 만들지 않고 계산하므로 조합 수 제한 검사에 사용합니다.
+         */
+        public long size() {
+            if (values != null && !values.isEmpty())
+                return values.size();
+            if (from == null)
+                return 0;
+            if (to == null || step == null || step <= 0)
+                return 1;
+            if (to < from)
+                throw new IllegalArgumentException("Range 'to' (" + to + ") is less than 'from' (" + from + ")");
+            double count = Math.floor((to - from) / step + 1e-9) + 1;
+            return count >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) count;
+        }
+
+        /**
+         * 정수 필드용 검사. Jackson 은 정수 필드에 1.5 를 1 로 잘라 넣으므로, 정수가 아닌 값은 중복 후보가 되기 전에 거부합니다.
+         */
+        void requireIntegral(String name) {
+            if (values != null && !values.isEmpty()) {
+                for (Object value : values) {
+                    if (value instanceof Number && !isIntegral(((Number) value).doubleValue()))
+                        throw new IllegalArgumentException(
+                                "Parameter '" + name + "' is an integer; got value " + value);
+                }
+                return;
+            }
+            if (from != null && !isIntegral(from))
+                throw new IllegalArgumentException("Parameter '" + name + "' is an integer; got from " + from);
+            if (to != null && step != null && step > 0 && !isIntegral(step))
+                throw new IllegalArgumentException("Parameter '" + name + "' is an integer; got step " + step);
+        }
+
+        private static boolean isIntegral(double value) {
+            return value == Math.rint(value) && !Double.isInfinite(value);
+        }
+    }
+}
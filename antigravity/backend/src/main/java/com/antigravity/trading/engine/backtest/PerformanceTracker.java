@@ -0,0 +1,145 @@
+package com.antigravity.trading.engine.backtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 단일 패스 성과 지표 누적기.
+ * 시뮬레이션 루프에서 캔들마다 평가금액을, 체결마다 거래금액/손익을 넘기면 O(1) 로 갱신되며
+ * 거래 내역이나 자산 곡선을 다시 순회하지 않고 지표를 계산합니다.
+ *
+ * - 수익률 평균/분산: Welford 온라인 알고리즘 (캔들 간 평가금액 변화율)
+ * - Sortino 하방 편차: 목표 수익률 0 기준 음수 수익률 제곱합
+ * - 최대 낙폭: 누적 최고 평가금액 대비
+ * - 노출도: 보유 중인 캔들 비율, 회전율: 총 체결금액 / 평균 평가금액
+ *
+ * 단일 스레드에서만 사용합니다.
+ */
+public final class PerformanceTracker {
+
+    public static final int DAILY_PERIODS_PER_YEAR = 252;
+
+    private final double periodsPerYear;
+
+    private long bars;
+    private long barsInPosition;
+    private double previousEquity = Double.NaN;
+    private double equitySum;
+
+    // Welford
+    private long returnCount;
+    private double mean;
+    private double m2;
+    private double downsideSquares;
+
+    private double peak = Double.NEGATIVE_INFINITY;
+    private double maxDrawdown;
+
+    private double tradedValue;
+    private int closedTrades;
+    private int wins;
+    private double grossProfit;
+    private double grossLoss;
+
+    public PerformanceTracker(double periodsPerYear) {
+        if (periodsPerYear <= 0)
+            throw new IllegalArgumentException("periodsPerYear must be positive");
+        this.periodsPerYear = periodsPerYear;
+    }
+
+    public static PerformanceTracker daily() {
+        return new PerformanceTracker(DAILY_PERIODS_PER_YEAR);
+    }
+
+    /**
+     * 캔들 종가 기준 평가금액
+     */
+    public void onBar(double equity, boolean inPosition) {
+        bars++;
+        if (inPosition)
+            barsInPosition++;
+        equitySum += equity;
+
+        if (!Double.isNaN(previousEquity) && previousEquity > 0) {
+            double r = equity / previousEquity - 1.0;
+            returnCount++;
+            double delta = r - mean;
+            mean += delta / returnCount;
+            m2 += delta * (r - mean);
+            if (r < 0)
+                downsideSquares += r * r;
+        }
+        previousEquity = equity;
+
+        if (equity > peak)
+            peak = equity;
+        if (peak > 0) {
+            double drawdown = (peak - equity) / peak;
+            if (drawdown > maxDrawdown)
+                maxDrawdown = drawdown;
+        }
+    }
+
+    /**
+     * 체결 (매수/매도 모두) 금액
+     */
+    public void onFill(double value) {
+        tradedValue += Math.abs(value);
+    }
+
+    /**
+     * 포지션 청산 손익 (원)
+     */
+    public void onClose(double pnl) {
+        closedTrades++;
+        if (pnl > 0) {
+            wins++;
+            grossProfit += pnl;
+        } else {
+            grossLoss -= pnl;
+        }
+    }
+
+    public Metrics snapshot() {
+        double variance = returnCount > 1 ? m2 / (returnCount - 1) : Double.NaN;
+        double std = Math.sqrt(variance);
+        double downside = returnCount > 0 ? Math.sqrt(downsideSquares / returnCount) : Double.NaN;
+        double annualizer = Math.sqrt(periodsPerYear);
+        double avgEquity = bars > 0 ? equitySum / bars : 0.0;
+
+        return Metrics.builder()
+                .bars(bars)
+                .maxDrawdownPercent(maxDrawdown * 100.0)
+                .annualizedVolatilityPercent(finite(std * annualizer * 100.0))
+                .sharpe(std > 0 ? finite(mean / std * annualizer) : null)
+                .sortino(downside > 0 ? finite(mean / downside * annualizer) : null)
+                .closedTrades(closedTrades)
+                .winRatePercent(closedTrades > 0 ? wins * 100.0 / closedTrades : null)
+                .profitFactor(grossLoss > 0 ? grossProfit / grossLoss : null)
+                .exposurePercent(bars > 0 ? barsInPosition * 100.0 / bars : 0.0)
+                .turnover(avgEquity > 0 ? tradedValue / avgEquity : 0.0)
+                .build();
+    }
+
+    private static Double finite(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+
+    /**
+     * 성과 지표 (정의되지 않는 값은 null: 수익률 표본 부족, 손실 거래 없음 등)
+     */
+    @Getter
+    @Builder
+    public static class Metrics {
+        private long bars;
+        private double maxDrawdownPercent;
+        private Double annualizedVolatilityPercent;
+        private Double sharpe; // 무위험 수익률 0, 연환산
+        private Double sortino; // 목표 수익률 0, 연환산
+        private int closedTrades;
+        private Double winRatePercent;
+        private Double profitFactor; // 총이익 / 총손실
+        private double exposurePercent;
+        private double turnover; // 총 체결금액 / 평균 평가금액
+    }
+}
@@ -0,0 +1,143 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.engine.model.MarketEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * CandleSeries 의 i 번째 캔들을 MarketEvent 로 보여주는 뷰.
+ * 백테스트 루프는 캔들마다 이벤트를 만들지만 전략은 그중 몇 개 필드만 읽으므로,
+ * BigDecimal/박싱 값은 미리 채우지 않고 getter 호출 시점에 시계열과 지표 배열에서 만듭니다.
+ *
+ * 값은 필드를 채운 MarketEvent 와 같습니다. (가격은 CandleSeries.price, 이동평균은 roundedAverage)
+ * 시계열과 지표 배열은 변경되지 않으므로 다른 스레드(DecisionLog 기록 등)에서 읽어도 안전합니다.
+ */
+public final class SeriesEvent extends MarketEvent {
+
+    private final CandleSeries series;
+    private final IndicatorSet indicators;
+    private final int index;
+
+    public SeriesEvent(CandleSeries series, IndicatorSet indicators, int index) {
+        this.series = series;
+        this.indicators = indicators;
+        this.index = index;
+    }
+
+    @Override
+    public String getSymbol() {
+        return series.getSymbol();
+    }
+
+    @Override
+    public LocalDateTime getTimestamp() {
+        return series.timestamp(index);
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice() {
+        return getClose();
+    }
+
+    @Override
+    public BigDecimal getOpen() {
+        return series.price(series.open(index));
+    }
+
+    @Override
+    public BigDecimal getHigh() {
+        return series.price(series.high(index));
+    }
+
+    @Override
+    public BigDecimal getLow() {
+        return series.price(series.low(index));
+    }
+
+    @Override
+    public BigDecimal getClose() {
+        return series.price(series.close(index));
+    }
+
+    @Override
+    public long getVolume() {
+        return series.volume(index);
+    }
+
+    @Override
+    public BigDecimal getMa20() {
+        // Rounded to the price scale, as the BigDecimal SMA (sum / period, HALF_UP) did
+        return series.roundedAverage(indicators.sma20(index), 20);
+    }
+
+    @Override
+    public BigDecimal getMa60() {
+        return series.roundedAverage(indicators.sma60(index), 60);
+    }
+
+    @Override
+    public BigDecimal getAvgVol20() {
+        return BigDecimal.ZERO; // Simplified/Unused
+    }
+
+    @Override
+    public double getVolumeRatio() {
+        return indicators.volumeRatio20(index);
+    }
+
+    @Override
+    public BigDecimal getBreakoutPrice() {
+        return getDonchianHigh();
+    }
+
+    @Override
+    public Double getRsi() {
+        return IndicatorSet.boxed(indicators.rsi14(index));
+    }
+
+    @Override
+    public Double getAtr() {
+        return IndicatorSet.boxed(indicators.atr14(index));
+    }
+
+    @Override
+    public BigDecimal getDonchianHigh() {
+        // Breakout uses the PREVIOUS bar's Donchian channel (the current one includes today's high).
+        return index > 0 ? nullablePrice(indicators.donchianHigh20(index - 1)) : getHigh();
+    }
+
+    @Override
+    public BigDecimal getDonchianLow() {
+        return index > 0 ? nullablePrice(indicators.donchianLow20(index - 1)) : getLow();
+    }
+
+    /**
+     * 부모의 toBuilder 는 (비어 있는) 필드를 복사하므로, getter 값으로 채운 빌더를 돌려줍니다.
+     */
+    @Override
+    public MarketEventBuilder toBuilder() {
+        return MarketEvent.builder()
+                .symbol(getSymbol())
+                .timestamp(getTimestamp())
+                .currentPrice(getCurrentPrice())
+                .open(getOpen())
+                .high(getHigh())
+                .low(getLow())
+                .close(getClose())
+                .volume(getVolume())
+                .ma20(getMa20())
+                .ma60(getMa60())
+                .avgVol20(getAvgVol20())
+                .volumeRatio(getVolumeRatio())
+                .breakoutPrice(getBreakoutPrice())
+                .rsi(getRsi())
+                .atr(getAtr())
+                .donchianHigh(getDonchianHigh())
+                .donchianLow(getDonchianLow());
+    }
+
+    private BigDecimal nullablePrice(double value) {
+        return Double.isNaN(value) ? null : series.price(value);
+    }
+}
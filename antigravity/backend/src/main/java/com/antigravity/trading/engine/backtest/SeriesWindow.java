@@ -0,0 +1,25 @@
+package com.antigravity.trading.engine.backtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 시뮬레이션 대상 구간: 하나의 CandleSeries/IndicatorSet 위의 [from, to) 인덱스 범위.
+ * 시계열과 지표는 전체 기간에 대해 한 번만 계산하고, 여러 구간(워크포워드 윈도우, 스윕 후보 등)이 공유합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SeriesWindow {
+    private final CandleSeries series;
+    private final IndicatorSet indicators;
+    private final int from;
+    private final int to;
+
+    public int length() {
+        return to - from;
+    }
+
+    public SeriesWindow slice(int sliceFrom, int sliceTo) {
+        return new SeriesWindow(series, indicators, sliceFrom, sliceTo);
+    }
+}
@@ -1,7 +1,10 @@
 package com.antigravity.trading.engine.model;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -9,6 +12,8 @@ import java.time.LocalDateTime;
 @Getter
 @Builder(toBuilder = true)
 @ToString
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED, force = true) // For views that derive values in their getters
 public class MarketEvent {
     private final String symbol;
     private final LocalDateTime timestamp;
@@ -43,6 +48,7 @@ public class MarketEvent {
     private final BigDecimal openingRangeLow; // For S5
 
     public boolean isValid() {
-        return currentPrice != null && currentPrice.compareTo(BigDecimal.ZERO) > 0;
+        BigDecimal price = getCurrentPrice();
+        return price != null && price.compareTo(BigDecimal.ZERO) > 0;
     }
 }
@@ -27,7 +27,7 @@ public class StrategyContext {
     private Map<String, Object> extraData;
 
     // V2: Historical Data Access (for dynamic lookback)
-    // In backtest, this is the window up to current time.
+    // In backtest, this is a HistoryWindow ending at the current bar (no look-ahead).
     // In live, this is fetched from cache/db.
     private java.util.List<com.antigravity.trading.domain.dto.CandleDto> history;
 }
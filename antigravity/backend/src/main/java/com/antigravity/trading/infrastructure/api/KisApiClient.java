@@ -304,8 +304,16 @@ public class KisApiClient {
      * TR_ID: FHKST03010200
      */
     public KisMinuteChartResponse getMinuteChart(String symbol) {
+        return getMinuteChart(symbol, java.time.LocalTime.now());
+    }
+
+    /**
+     * 1분봉 차트 조회 (기준 시각 지정)
+     * 기준 시각 이전 최대 30개 분봉을 최신순으로 반환하므로, 기준 시각을 앞당기며 호출하면 당일 전체 분봉을 수집할 수 있습니다.
+     */
+    public KisMinuteChartResponse getMinuteChart(String symbol, java.time.LocalTime until) {
         String token = getAccessToken();
-        String time = java.time.format.DateTimeFormatter.ofPattern("HHmmss").format(LocalDateTime.now());
+        String time = java.time.format.DateTimeFormatter.ofPattern("HHmmss").format(until);
 
         log.debug("Fetching minute chart for {} at {}", symbol, time);
 
@@ -315,7 +323,7 @@ public class KisApiClient {
                         .queryParam("FID_ETC_CLS_CODE", "")
                         .queryParam("FID_COND_MRKT_DIV_CODE", "J")
                         .queryParam("FID_INPUT_ISCD", symbol)
-                        .queryParam("FID_INPUT_HOUR_1", time) // 조회 기준 시간 (현재시간)
+                        .queryParam("FID_INPUT_HOUR_1", time) // 조회 기준 시간
                         .queryParam("FID_PW_DATA_INCU_YN", "Y") // 과거 데이터 포함
                         .build())
                 .header("authorization", "Bearer " + token)
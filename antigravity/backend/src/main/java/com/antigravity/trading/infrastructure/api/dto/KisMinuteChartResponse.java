@@ -25,6 +25,9 @@ public class KisMinuteChartResponse {
 
     @Data
     public static class Output2 {
+        @JsonProperty("stck_bsop_date")
+        private String stckBsopDate; // 영업일자 (YYYYMMDD)
+
         @JsonProperty("stck_bsop_time")
         private String stckBsopTime; // 체결시간 (HHMMSS)
 
@@ -42,5 +45,8 @@ public class KisMinuteChartResponse {
 
         @JsonProperty("acml_vol")
         private String acmlVol; // 누적거래량
+
+        @JsonProperty("cntg_vol")
+        private String cntgVol; // 체결거래량 (해당 분)
     }
 }
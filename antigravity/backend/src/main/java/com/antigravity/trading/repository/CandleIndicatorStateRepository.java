@@ -0,0 +1,7 @@
+package com.antigravity.trading.repository;
+
+import com.antigravity.trading.domain.entity.CandleIndicatorState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CandleIndicatorStateRepository extends JpaRepository<CandleIndicatorState, String> {
+}
@@ -0,0 +1,16 @@
+package com.antigravity.trading.repository;
+
+import com.antigravity.trading.domain.entity.MinuteCandle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public interface MinuteCandleRepository extends JpaRepository<MinuteCandle, Long> {
+
+    @Query("SELECT m.time FROM MinuteCandle m WHERE m.symbol = :symbol AND m.time BETWEEN :start AND :end")
+    Set<LocalDateTime> findTimesBySymbolAndTimeBetween(@Param("symbol") String symbol,
+            @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,355 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.domain.entity.BacktestRun;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.repository.BacktestRunRepository;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 백테스트 작업 서비스.
+ * 제출 즉시 BacktestRun(QUEUED) 을 만들고 제한된 작업 실행기에서 시뮬레이션을 수행하며,
+ * 진행률과 부분 자산 곡선을 SSE 로 전송합니다. 완료된 결과는 BacktestResultStore 에서 섹션별 페이지로 조회할 수 있고,
+ * 작업 상태는 보관 한도(backtest.jobs.retained) 를 넘으면 오래된 완료 작업부터 제거됩니다. (실행 기록은 DB 에 남음)
+ */
+@Slf4j
+@Service
+public class BacktestJobService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_REJECTED = "REJECTED";
+
+    // 진행 이벤트는 구간 전체의 약 1% 마다 전송
+    private static final int PROGRESS_STEPS = 100;
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final BacktestService backtestService;
+    private final BacktestRunRepository backtestRunRepository;
+    private final BacktestResultStore backtestResultStore;
+    private final ThreadPoolExecutor backtestJobExecutor;
+    private final int retainedJobs;
+
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+
+    public BacktestJobService(BacktestService backtestService, BacktestRunRepository backtestRunRepository,
+            BacktestResultStore backtestResultStore, ThreadPoolExecutor backtestJobExecutor,
+            @Value("${backtest.jobs.retained:50}") int retainedJobs) {
+        this.backtestService = backtestService;
+        this.backtestRunRepository = backtestRunRepository;
+        this.backtestResultStore = backtestResultStore;
+        this.backtestJobExecutor = backtestJobExecutor;
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * 작업 제출. 대기열이 가득 차면 RejectedExecutionException 을 던집니다.
+     */
+    public JobStatus submit(String symbol, LocalDateTime start, LocalDateTime end, String strategyId,
+            String paramsJson) {
+        BacktestRun run = backtestService.createRun(symbol, start, end, strategyId, paramsJson, STATUS_QUEUED);
+        Job job = new Job(run, symbol);
+        jobs.put(run.getId(), job);
+        try {
+            backtestJobExecutor.execute(() -> execute(job, start, end, strategyId, paramsJson));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(run.getId());
+            run.setStatus(STATUS_REJECTED);
+            run.setEndedAt(LocalDateTime.now());
+            backtestRunRepository.save(run);
+            throw e;
+        }
+        log.info("Queued backtest job {} for {} ({} waiting)", run.getId(), symbol,
+                backtestJobExecutor.getQueue().size());
+        return job.status();
+    }
+
+    /**
+     * 작업 상태. 메모리에서 제거된 작업은 DB 의 실행 기록으로 응답합니다.
+     */
+    public JobStatus getStatus(Long runId) {
+        Job job = jobs.get(runId);
+        if (job != null)
+            return job.status();
+        BacktestRun run = backtestRunRepository.findById(runId)
+                .orElseThrow(() -> new NoSuchElementException("Unknown backtest job: " + runId));
+        return JobStatus.builder()
+                .runId(run.getId())
+                .state(run.getStatus())
+                .startedAt(run.getStartedAt())
+                .endedAt(run.getEndedAt())
+                .summaryJson(run.getSummaryJson())
+                .build();
+    }
+
+    /**
+     * 진행 이벤트 구독. 구독 시점까지의 상태와 부분 자산 곡선을 먼저 보낸 뒤 이후 변화를 전송합니다.
+     */
+    public SseEmitter subscribe(Long runId) {
+        Job job = requireJob(runId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+
+        synchronized (job) {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(job.progress(0)));
+                if (job.isFinished()) {
+                    emitter.send(SseEmitter.event().name(job.state.toLowerCase()).data(job.status()));
+                    emitter.complete();
+                    return emitter;
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            job.emitters.add(emitter);
+        }
+        return emitter;
+    }
+
+    public Page<BacktestService.TradeRecord> getTrades(Long runId, int page, int size) {
+        requireReady(runId);
+        return backtestResultStore.getTrades(runId, page, size);
+    }
+
+    public Page<EquityPoint> getEquity(Long runId, int page, int size) {
+        requireReady(runId);
+        return backtestResultStore.getEquity(runId, page, size);
+    }
+
+    public Page<CandleDto> getCandles(Long runId, int page, int size) {
+        requireReady(runId);
+        return backtestResultStore.getCandles(runId, page, size);
+    }
+
+    private void execute(Job job, LocalDateTime start, LocalDateTime end, String strategyId, String paramsJson) {
+        synchronized (job) {
+            job.state = STATUS_RUNNING;
+        }
+        try {
+            BacktestService.BacktestResult result = backtestService.runBacktest(job.run, job.symbol, start, end,
+                    strategyId, paramsJson, job::onBar);
+            synchronized (job) {
+                job.result = result;
+                job.state = STATUS_COMPLETED;
+                job.publish();
+                job.finish("completed", job.status());
+            }
+        } catch (Exception e) {
+            log.error("Backtest job {} failed", job.run.getId(), e);
+            synchronized (job) {
+                job.error = e.getMessage();
+                job.state = STATUS_FAILED;
+                job.finish("failed", job.status());
+            }
+        }
+        evictFinished();
+    }
+
+    private void evictFinished() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.isFinished())
+                finished.add(job);
+        }
+        int excess = finished.size() - retainedJobs;
+        if (excess <= 0)
+            return;
+        finished.sort((a, b) -> Long.compare(a.finishedAt, b.finishedAt));
+        for (int k = 0; k < excess; k++) {
+            jobs.remove(finished.get(k).run.getId());
+        }
+    }
+
+    private Job requireJob(Long runId) {
+        Job job = jobs.get(runId);
+        if (job == null)
+            throw new NoSuchElementException("Unknown or expired backtest job: " + runId);
+        return job;
+    }
+
+    /**
+     * 결과 섹션은 BacktestResultStore 에서 제공합니다. 아직 끝나지 않은 작업은 IllegalStateException.
+     */
+    private void requireReady(Long runId) {
+        if (backtestResultStore.contains(runId))
+            return;
+        Job job = requireJob(runId);
+        synchronized (job) {
+            if (job.result == null)
+                throw new IllegalStateException("Backtest job " + runId + " is " + job.state);
+        }
+    }
+
+    /**
+     * 실행 중인 작업의 메모리 상태.
+     * 평가금액은 시뮬레이션 스레드가 배열에 기록하고, PROGRESS_STEPS 간격으로 잠금 하에 published 를 갱신/전송합니다.
+     */
+    private static class Job {
+        private final BacktestRun run;
+        private final String symbol;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private volatile String state = STATUS_QUEUED;
+        private BacktestService.BacktestResult result;
+        private String error;
+        private long finishedAt;
+
+        // Partial equity curve, written by the simulation thread
+        private long[] days = new long[0];
+        private double[] equity = new double[0];
+        private int written;
+        private int total;
+        private int step = 1;
+        private int published; // guarded by this
+        private int sent; // guarded by this; prefix already streamed to live subscribers
+
+        private Job(BacktestRun run, String symbol) {
+            this.run = run;
+            this.symbol = symbol;
+        }
+
+        private void onBar(int processed, int totalBars, long epochDay, double value) {
+            if (total != totalBars) {
+                total = totalBars;
+                days = new long[totalBars];
+                equity = new double[totalBars];
+                step = Math.max(1, totalBars / PROGRESS_STEPS);
+            }
+            days[processed - 1] = epochDay;
+            equity[processed - 1] = value;
+            written = processed;
+            if (processed % step == 0 || processed == totalBars) {
+                synchronized (this) {
+                    publish();
+                }
+            }
+        }
+
+        /** caller holds the lock */
+        private void publish() {
+            published = written;
+            if (published <= sent)
+                return;
+            Progress event = progress(sent);
+            sent = published;
+            broadcast("progress", event);
+        }
+
+        /** caller holds the lock */
+        private Progress progress(int fromPoint) {
+            List<EquityPoint> points = new ArrayList<>(Math.max(0, published - fromPoint));
+            for (int k = fromPoint; k < published; k++) {
+                points.add(new EquityPoint(LocalDate.ofEpochDay(days[k]), equity[k]));
+            }
+            return Progress.builder()
+                    .runId(run.getId())
+                    .state(state)
+                    .processedBars(published)
+                    .totalBars(total)
+                    .percent(total > 0 ? published * 100.0 / total : 0.0)
+                    .equity(points)
+                    .build();
+        }
+
+        /** caller holds the lock */
+        private void finish(String eventName, JobStatus status) {
+            finishedAt = System.currentTimeMillis();
+            broadcast(eventName, status);
+            for (SseEmitter emitter : emitters) {
+                emitter.complete();
+            }
+            emitters.clear();
+        }
+
+        private void broadcast(String eventName, Object data) {
+            Iterator<SseEmitter> it = emitters.iterator();
+            while (it.hasNext()) {
+                SseEmitter emitter = it.next();
+                try {
+                    emitter.send(SseEmitter.event().name(eventName).data(data));
+                } catch (Exception e) {
+                    emitters.remove(emitter);
+                }
+            }
+        }
+
+        private boolean isFinished() {
+            return STATUS_COMPLETED.equals(state) || STATUS_FAILED.equals(state);
+        }
+
+        private synchronized JobStatus status() {
+            return JobStatus.builder()
+                    .runId(run.getId())
+                    .symbol(symbol)
+                    .state(state)
+                    .processedBars(published)
+                    .totalBars(total)
+                    .percent(total > 0 ? published * 100.0 / total : 0.0)
+                    .startedAt(run.getStartedAt())
+                    .endedAt(run.getEndedAt())
+                    .finalBalance(result != null ? result.getFinalBalance() : null)
+                    .totalReturnPercent(result != null ? result.getTotalReturnPercent() : null)
+                    .totalTrades(result != null ? result.getTotalTrades() : null)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class JobStatus {
+        private Long runId;
+        private String symbol;
+        private String state;
+        private int processedBars;
+        private int totalBars;
+        private double percent;
+        private LocalDateTime startedAt;
+        private LocalDateTime endedAt;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private Integer totalTrades;
+        private String error;
+        private String summaryJson; // 메모리에서 제거된 작업만
+    }
+
+    /**
+     * SSE progress 이벤트: 직전 이벤트 이후 새로 계산된 평가금액만 포함합니다.
+     * (구독 직후 첫 이벤트는 그때까지의 전체 부분 곡선)
+     */
+    @Getter
+    @Builder
+    public static class Progress {
+        private Long runId;
+        private String state;
+        private int processedBars;
+        private int totalBars;
+        private double percent;
+        private List<EquityPoint> equity;
+    }
+}
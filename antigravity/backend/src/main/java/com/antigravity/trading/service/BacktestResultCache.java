@@ -0,0 +1,146 @@
+package com.antigravity.trading.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 단일 종목 백테스트 결과 캐시.
+ * 키에 종목별 캔들 데이터 버전을 포함하므로 캔들이 저장/삭제되면 해당 종목의 이전 결과는 더 이상 조회되지 않으며,
+ * 새 결과가 들어올 때 같은 종목의 구버전 항목을 정리합니다.
+ * 항목 크기(캔들/거래 수 기반 추정 바이트)의 합이 상한을 넘으면 가장 오래 사용되지 않은 항목부터 제거합니다(LRU).
+ */
+@Component
+public class BacktestResultCache {
+
+    // 항목 크기 추정치 (객체 헤더 + BigDecimal 필드 포함 대략값)
+    private static final long ENTRY_OVERHEAD_BYTES = 1024;
+    private static final long CANDLE_BYTES = 320;
+    private static final long TRADE_BYTES = 256;
+    private static final long EQUITY_POINT_BYTES = 48;
+
+    private final CandleDataVersions candleDataVersions;
+    private final long maxWeightBytes;
+
+    // accessOrder=true: iteration order is least-recently-used first
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BacktestResultCache(CandleDataVersions candleDataVersions,
+            @Value("${backtest.cache.max-weight-mb:128}") long maxWeightMb) {
+        this.candleDataVersions = candleDataVersions;
+        this.maxWeightBytes = maxWeightMb * 1024 * 1024;
+    }
+
+    /**
+     * 캐시에 있으면 반환하고, 없으면 loader 로 계산하여 저장합니다.
+     * 같은 키의 동시 미스는 각각 계산될 수 있습니다(결과는 동일).
+     */
+    public BacktestService.BacktestResult get(String symbol, LocalDateTime start, LocalDateTime end,
+            String strategyId, String paramsJson, Supplier<BacktestService.BacktestResult> loader) {
+        if (maxWeightBytes <= 0)
+            return loader.get();
+
+        Key key = new Key(symbol, start, end, strategyId, paramsJson, candleDataVersions.current(symbol));
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached.result;
+            }
+        }
+        misses.incrementAndGet();
+
+        BacktestService.BacktestResult result = loader.get();
+        put(key, result);
+        return result;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        return CacheStats.builder()
+                .hits(h)
+                .misses(m)
+                .hitRate(h + m > 0 ? (double) h / (h + m) : 0.0)
+                .evictions(evictions.get())
+                .entries(entries.size())
+                .weightBytes(totalWeight)
+                .maxWeightBytes(maxWeightBytes)
+                .build();
+    }
+
+    private synchronized void put(Key key, BacktestService.BacktestResult result) {
+        long weight = weigh(result);
+        if (weight > maxWeightBytes)
+            return;
+
+        // A result computed against a version that has already moved on is stale on arrival
+        if (key.dataVersion != candleDataVersions.current(key.symbol))
+            return;
+
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> e = it.next();
+            if (e.getKey().symbol.equals(key.symbol) && e.getKey().dataVersion < key.dataVersion) {
+                totalWeight -= e.getValue().weight;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+
+        Entry previous = entries.put(key, new Entry(result, weight));
+        if (previous != null)
+            totalWeight -= previous.weight;
+        totalWeight += weight;
+
+        it = entries.entrySet().iterator();
+        while (totalWeight > maxWeightBytes && it.hasNext()) {
+            Map.Entry<Key, Entry> e = it.next();
+            totalWeight -= e.getValue().weight;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long weigh(BacktestService.BacktestResult result) {
+        long candles = result.getCandles() != null ? result.getCandles().size() : 0;
+        long trades = result.getTrades() != null ? result.getTrades().size() : 0;
+        long equity = result.getEquityCurve() != null ? result.getEquityCurve().size() : 0;
+        return ENTRY_OVERHEAD_BYTES + candles * CANDLE_BYTES + trades * TRADE_BYTES + equity * EQUITY_POINT_BYTES;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final String symbol;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final String strategyId;
+        private final String paramsJson;
+        private final long dataVersion;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final BacktestService.BacktestResult result;
+        private final long weight;
+    }
+}
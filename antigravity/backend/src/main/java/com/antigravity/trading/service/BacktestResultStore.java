@@ -0,0 +1,134 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.engine.backtest.Downsampler;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.PerformanceTracker;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 실행 ID(BacktestRun.id) 별 백테스트 결과 보관소.
+ * 거래 내역, 자산 곡선, 캔들을 섹션별 페이지 또는 차트용 축소본으로 나누어 조회할 수 있게 하여
+ * 다년 구간 결과를 한 번의 응답으로 내려보내지 않도록 합니다.
+ *
+ * 최근 사용 순(LRU)으로 backtest.results.retained 개까지 보관합니다. (실행 기록은 DB 에 남음)
+ */
+@Component
+public class BacktestResultStore {
+
+    private final int retained;
+    private final LinkedHashMap<Long, BacktestService.BacktestResult> results;
+
+    public BacktestResultStore(@Value("${backtest.results.retained:100}") int retained) {
+        this.retained = Math.max(1, retained);
+        this.results = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BacktestService.BacktestResult> eldest) {
+                return size() > BacktestResultStore.this.retained;
+            }
+        };
+    }
+
+    public synchronized void put(Long runId, BacktestService.BacktestResult result) {
+        if (runId != null && result != null)
+            results.put(runId, result);
+    }
+
+    public synchronized boolean contains(Long runId) {
+        return results.containsKey(runId);
+    }
+
+    public Summary getSummary(Long runId) {
+        BacktestService.BacktestResult result = require(runId);
+        return Summary.builder()
+                .runId(runId)
+                .symbol(result.getSymbol())
+                .finalBalance(result.getFinalBalance())
+                .totalReturnPercent(result.getTotalReturnPercent())
+                .totalTrades(result.getTotalTrades())
+                .candleCount(sizeOf(result.getCandles()))
+                .equityPoints(sizeOf(result.getEquityCurve()))
+                .rejectionStats(result.getRejectionStats())
+                .metrics(result.getMetrics())
+                .monteCarlo(result.getMonteCarlo())
+                .build();
+    }
+
+    public Page<BacktestService.TradeRecord> getTrades(Long runId, int page, int size) {
+        return page(require(runId).getTrades(), page, size);
+    }
+
+    public Page<EquityPoint> getEquity(Long runId, int page, int size) {
+        return page(require(runId).getEquityCurve(), page, size);
+    }
+
+    public Page<CandleDto> getCandles(Long runId, int page, int size) {
+        return page(require(runId).getCandles(), page, size);
+    }
+
+    /**
+     * 차트용 자산 곡선 (LTTB, maxPoints 개 이하)
+     */
+    public List<EquityPoint> getEquityChart(Long runId, int maxPoints) {
+        List<EquityPoint> equity = require(runId).getEquityCurve();
+        return equity != null ? Downsampler.lttb(equity, maxPoints) : List.of();
+    }
+
+    /**
+     * 차트용 캔들 (구간 OHLC 병합, maxBars 개 이하)
+     */
+    public List<CandleDto> getCandleChart(Long runId, int maxBars) {
+        List<CandleDto> candles = require(runId).getCandles();
+        return candles != null ? Downsampler.ohlcBuckets(candles, maxBars) : List.of();
+    }
+
+    private synchronized BacktestService.BacktestResult require(Long runId) {
+        BacktestService.BacktestResult result = results.get(runId);
+        if (result == null)
+            throw new NoSuchElementException("Unknown or expired backtest result: " + runId);
+        return result;
+    }
+
+    private static int sizeOf(List<?> items) {
+        return items != null ? items.size() : 0;
+    }
+
+    private static <T> Page<T> page(List<T> items, int page, int size) {
+        if (page < 0 || size <= 0)
+            throw new IllegalArgumentException("page must be >= 0 and size must be > 0");
+        List<T> source = items != null ? items : List.of();
+        int from = (int) Math.min((long) page * size, source.size());
+        int to = Math.min(from + size, source.size());
+        return new PageImpl<>(source.subList(from, to), PageRequest.of(page, size), source.size());
+    }
+
+    /**
+     * 섹션 없이 요약만 담은 결과 (대시보드는 이후 섹션을 필요한 만큼 조회)
+     */
+    @Getter
+    @Builder
+    public static class Summary {
+        private Long runId;
+        private String symbol;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private int totalTrades;
+        private int candleCount;
+        private int equityPoints;
+        private Map<String, Integer> rejectionStats;
+        private PerformanceTracker.Metrics metrics;
+        private MonteCarloService.MonteCarloSummary monteCarlo;
+    }
+}
@@ -0,0 +1,265 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.HistoryWindow;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.backtest.Krw;
+import com.antigravity.trading.engine.backtest.PerformanceTracker;
+import com.antigravity.trading.engine.backtest.SeriesEvent;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.engine.model.StrategyContext;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 단일 종목 전략 시뮬레이터 (컬럼형 CandleSeries 기반).
+ * 데이터 로딩/실행 기록과 분리되어 있어 BacktestService 외에 포트폴리오, 파라미터 스윕 등에서도 재사용합니다.
+ *
+ * 상태를 갖지 않으므로 여러 스레드에서 동시에 호출해도 안전합니다.
+ */
+@Slf4j
+@Component
+public class BacktestSimulator {
+
+    public static final long INITIAL_BALANCE_KRW = 10_000_000L;
+    public static final BigDecimal INITIAL_BALANCE = Krw.toDecimal(INITIAL_BALANCE_KRW);
+
+    private static final long POSITION_ALLOCATION_PERCENT = 50;
+
+    /**
+     * [from, to) 구간의 캔들에 대해 전략을 실행합니다.
+     * 지표는 시계열 전체에 대해 계산된 것을 사용하므로 구간 이전 데이터가 워밍업 역할을 합니다.
+     */
+    public SimulationResult simulate(CandleSeries series, IndicatorSet indicators, TradingStrategy strategy,
+            StrategyParams params, int from, int to) {
+        return simulate(series, indicators, strategy, params, from, to, false);
+    }
+
+    /**
+     * @param recordEquity true 이면 각 캔들 종가 기준 평가금액(현금 + 보유수량 x 종가)을 기록합니다.
+     */
+    public SimulationResult simulate(CandleSeries series, IndicatorSet indicators, TradingStrategy strategy,
+            StrategyParams params, int from, int to, boolean recordEquity) {
+        return simulate(series, indicators, strategy, params, from, to, recordEquity, null);
+    }
+
+    /**
+     * @param listener null 이 아니면 매 캔들 처리 후 진행 상황과 평가금액을 전달합니다. (시뮬레이션 스레드에서 호출)
+     */
+    public SimulationResult simulate(CandleSeries series, IndicatorSet indicators, TradingStrategy strategy,
+            StrategyParams params, int from, int to, boolean recordEquity, ProgressListener listener) {
+        return simulate(series, indicators, strategy, params, from, to, recordEquity, listener, null);
+    }
+
+    /**
+     * @param decisions null 이 아니면 매 캔들의 전략 평가 결과(이벤트, 신호)를 전달합니다. (DecisionLog 기록용)
+     */
+    public SimulationResult simulate(CandleSeries series, IndicatorSet indicators, TradingStrategy strategy,
+            StrategyParams params, int from, int to, boolean recordEquity, ProgressListener listener,
+            DecisionListener decisions) {
+        String symbol = series.getSymbol();
+        // Prices (and cash once a fill has happened) keep the source price scale, as the BigDecimal path did
+        int priceScale = series.getPriceScale();
+        // Account arithmetic runs on whole won (long); BigDecimal only at the API boundary.
+        long balance = INITIAL_BALANCE_KRW;
+        long holdingQty = 0L;
+        long entryPrice = 0L;
+        BigDecimal balanceDecimal = INITIAL_BALANCE;
+        BigDecimal entryPriceDecimal = BigDecimal.ZERO;
+
+        List<BacktestService.TradeRecord> trades = new ArrayList<>();
+        Map<String, Integer> rejectionStats = new HashMap<>();
+        double[] equityCurve = recordEquity ? new double[Math.max(0, to - from)] : null;
+        PerformanceTracker performance = PerformanceTracker.daily();
+
+        // The strategy sees bars up to the current one only
+        HistoryWindow history = HistoryWindow.of(series);
+        StrategyContext context = StrategyContext.builder()
+                .symbol(symbol)
+                .history(history)
+                .hasPosition(false)
+                .entryPrice(BigDecimal.ZERO)
+                .quantity(0L)
+                .dailyEntryCount(0)
+                .availableCash(balanceDecimal)
+                .extraData(new HashMap<>())
+                .build();
+
+        for (int i = from; i < to; i++) {
+            MarketEvent event = buildEvent(series, indicators, i);
+            long close = Krw.of(series.close(i));
+
+            history.advanceTo(i);
+            context.setHasPosition(holdingQty > 0);
+            context.setEntryPrice(entryPriceDecimal);
+            context.setQuantity(holdingQty);
+            context.setAvailableCash(balanceDecimal);
+            context.setHighWaterMark(event.getHigh());
+
+            // Daily bars: decisions are taken on the close.
+            Signal signal = strategy.evaluate(event, context, params);
+            if (decisions != null)
+                decisions.onDecision(event, signal, context.isHasPosition());
+
+            if (signal.getType() == Signal.Type.BUY) {
+                if (holdingQty == 0 && close > 0) { // Only if flat
+                    long qty = Krw.shares(Krw.allocate(balance, POSITION_ALLOCATION_PERCENT, 100), close);
+
+                    if (qty > 0) {
+                        long cost = Krw.value(qty, close);
+                        balance -= cost;
+                        performance.onFill(cost);
+                        holdingQty = qty;
+                        entryPrice = close;
+                        balanceDecimal = Krw.toDecimal(balance, priceScale);
+                        entryPriceDecimal = Krw.toDecimal(close, priceScale);
+                        trades.add(BacktestService.TradeRecord.builder()
+                                .time(event.getTimestamp())
+                                .type("BUY")
+                                .price(entryPriceDecimal)
+                                .quantity(Krw.toDecimal(qty))
+                                .reason(reasonOf(signal))
+                                .pnlPercent(BigDecimal.ZERO)
+                                .build());
+                    }
+                }
+            } else if (signal.getType() == Signal.Type.SELL) {
+                if (holdingQty > 0) {
+                    BigDecimal pnl = Krw.percentChange(entryPrice, close);
+
+                    long proceeds = Krw.value(holdingQty, close);
+                    balance += proceeds;
+                    performance.onFill(proceeds);
+                    performance.onClose(proceeds - Krw.value(holdingQty, entryPrice));
+                    trades.add(BacktestService.TradeRecord.builder()
+                            .time(event.getTimestamp())
+                            .type("SELL")
+                            .price(Krw.toDecimal(close, priceScale))
+                            .quantity(Krw.toDecimal(holdingQty))
+                            .reason(reasonOf(signal))
+                            .pnlPercent(pnl)
+                            .build());
+
+                    holdingQty = 0L;
+                    entryPrice = 0L;
+                    balanceDecimal = Krw.toDecimal(balance, priceScale);
+                    entryPriceDecimal = BigDecimal.ZERO;
+                }
+            }
+
+            double equity = (double) (balance + holdingQty * close);
+            performance.onBar(equity, holdingQty > 0);
+            if (equityCurve != null || listener != null) {
+                if (equityCurve != null)
+                    equityCurve[i - from] = equity;
+                if (listener != null)
+                    listener.onBar(i - from + 1, to - from, series.epochDay(i), equity);
+            }
+        }
+
+        // Force Liquidate at End
+        if (holdingQty > 0 && to > from) {
+            long closePrice = Krw.of(series.close(to - 1));
+            long proceeds = Krw.value(holdingQty, closePrice);
+            balance += proceeds;
+            performance.onFill(proceeds);
+            performance.onClose(proceeds - Krw.value(holdingQty, entryPrice));
+            trades.add(BacktestService.TradeRecord.builder()
+                    .time(series.timestamp(to - 1))
+                    .type("SELL")
+                    .price(Krw.toDecimal(closePrice, priceScale))
+                    .quantity(Krw.toDecimal(holdingQty))
+                    .reason("만기 청산 (Force Liquidation)")
+                    .pnlPercent(BigDecimal.ZERO)
+                    .build());
+        }
+
+        BigDecimal finalReturn = Krw.percentChange(INITIAL_BALANCE_KRW, balance);
+
+        return SimulationResult.builder()
+                .symbol(symbol)
+                .finalBalance(trades.isEmpty() ? Krw.toDecimal(balance) : Krw.toDecimal(balance, priceScale))
+                .totalReturnPercent(finalReturn)
+                .trades(trades)
+                .rejectionStats(rejectionStats)
+                .from(from)
+                .equityCurve(equityCurve)
+                .metrics(performance.snapshot())
+                .build();
+    }
+
+    /**
+     * JSON 파라미터를 전략별 Params 로 변환합니다. (없거나 파싱 실패 시 기본값)
+     */
+    public static StrategyParams resolveParams(TradingStrategy strategy, String paramsJson) {
+        StrategyParams strategyParamsObj = null;
+        if (paramsJson != null) {
+            try {
+                strategyParamsObj = StrategyParams.fromJson(paramsJson, strategy.getParamsClass());
+            } catch (Exception e) {
+                log.error("Param parse error", e);
+            }
+        }
+        return strategyParamsObj != null ? strategyParamsObj : strategy.getDefaultParams();
+    }
+
+    /**
+     * i 번째 캔들과 사전 계산된 지표로 MarketEvent 를 생성합니다.
+     * 캔들마다 호출되므로 값은 전략이 읽을 때 만들어지는 뷰(SeriesEvent)로 돌려줍니다.
+     */
+    public static MarketEvent buildEvent(CandleSeries series, IndicatorSet indicators, int i) {
+        return new SeriesEvent(series, indicators, i);
+    }
+
+    static String reasonOf(Signal signal) {
+        return signal.getReasonMessageKo() != null && !signal.getReasonMessageKo().isEmpty()
+                ? signal.getReasonMessageKo()
+                : signal.getReasonCode();
+    }
+
+    /**
+     * 시뮬레이션 진행 콜백
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param processed 처리한 캔들 수 (1 부터)
+         * @param total     구간 전체 캔들 수
+         * @param epochDay  방금 처리한 캔들의 날짜
+         * @param equity    해당 캔들 종가 기준 평가금액
+         */
+        void onBar(int processed, int total, long epochDay, double equity);
+    }
+
+    /**
+     * 전략 평가 콜백 (시뮬레이션 스레드에서 호출되므로 빠르게 반환해야 합니다)
+     */
+    @FunctionalInterface
+    public interface DecisionListener {
+        void onDecision(MarketEvent event, Signal signal, boolean hasPosition);
+    }
+
+    @Getter
+    @Builder
+    public static class SimulationResult {
+        private String symbol;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private List<BacktestService.TradeRecord> trades;
+        private Map<String, Integer> rejectionStats;
+        private int from; // equityCurve[k] 는 시계열 인덱스 from + k 의 값
+        private double[] equityCurve; // recordEquity 일 때만
+        private PerformanceTracker.Metrics metrics;
+    }
+}
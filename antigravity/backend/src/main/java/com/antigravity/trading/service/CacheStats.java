@@ -0,0 +1,19 @@
+package com.antigravity.trading.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 메모리 캐시 통계 (hit/miss/eviction, 추정 사용량)
+ */
+@Getter
+@Builder
+public class CacheStats {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private int entries;
+    private long weightBytes;
+    private long maxWeightBytes;
+}
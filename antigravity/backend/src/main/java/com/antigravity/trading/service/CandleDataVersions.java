@@ -0,0 +1,45 @@
+package com.antigravity.trading.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종목별 캔들 데이터 버전.
+ * CandleHistoryRepository 에 쓰기(저장/삭제)가 일어날 때마다 bump 하며,
+ * 결과 캐시 등은 이 버전을 키에 포함시켜 데이터 변경 후 과거 결과를 재사용하지 않도록 합니다.
+ * 버전은 프로세스 메모리에만 존재하며 재시작 시 0 부터 다시 시작합니다.
+ */
+@Component
+public class CandleDataVersions {
+
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(String symbol) {
+        AtomicLong v = versions.get(symbol);
+        return v != null ? v.get() : 0L;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 후에 한 번 더 bump 하여,
+     * 커밋 전의 데이터를 읽은 결과가 새 버전으로 캐시되는 경합을 막습니다.
+     */
+    public void bump(String symbol) {
+        increment(symbol);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(symbol);
+                }
+            });
+        }
+    }
+
+    private void increment(String symbol) {
+        versions.computeIfAbsent(symbol, k -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,164 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.entity.CandleIndicatorState;
+import com.antigravity.trading.repository.CandleIndicatorStateRepository;
+import com.antigravity.trading.util.IncrementalIndicators;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * candle_history 보조지표 컬럼(MA20/60, RSI14, ATR14, Donchian20, 거래량 비율 20)의 증분 계산.
+ * CandleIndicatorState 에 저장된 마지막 계산 시점 이후의 캔들만 계산하고 한 번의 배치 UPDATE 로 기록하므로,
+ * 야간 지표 계산 비용은 이력 길이가 아니라 새로 들어온 캔들 수에 비례합니다.
+ *
+ * - Wilder 평활(RSI, ATR) 은 상태 테이블의 값으로 이어서 계산합니다.
+ * - 윈도우 지표는 마지막 계산 캔들까지의 최근 SEED_BARS 개를 다시 읽어 복원합니다.
+ * - 마지막 계산 시점 이전에 캔들이 추가/삭제되었으면(캔들 수 불일치) 처음부터 다시 계산합니다.
+ *
+ * 값은 IncrementalIndicators 로 계산하므로 백테스트 primitive 커널과 같은 정의입니다.
+ * (Donchian 은 당일 포함 채널, 값이 정의되지 않은 구간은 NULL)
+ * 지표 컬럼만 갱신하므로 백테스트가 읽는 OHLCV 데이터 버전은 올리지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleIndicatorUpdater {
+
+    private static final int SEED_BARS = 60; // Longest window (MA60)
+    private static final int VOLUME_PERIOD = 20;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+    private static final String UPDATE_SQL = "UPDATE candle_history SET ma_20 = ?, ma_60 = ?, rsi_14 = ?, "
+            + "atr_14 = ?, donchian_high_20 = ?, donchian_low_20 = ?, volume_ratio_20 = ? "
+            + "WHERE symbol = ? AND time = ?";
+
+    private static final int[] UPDATE_TYPES = { Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC,
+            Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.VARCHAR, Types.TIMESTAMP };
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM candle_history WHERE symbol = ? AND time <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CandleStreamReader candleStreamReader;
+    private final CandleIndicatorStateRepository candleIndicatorStateRepository;
+
+    /**
+     * 마지막 계산 이후의 캔들에 지표를 채웁니다.
+     *
+     * @return 갱신한 캔들 수
+     */
+    @Transactional
+    public int update(String symbol) {
+        CandleIndicatorState state = candleIndicatorStateRepository.findById(symbol).orElse(null);
+        if (state != null && !isIntact(symbol, state)) {
+            log.info("Candle history of {} changed up to {}; recomputing indicators from the start", symbol,
+                    state.getLastTime());
+            state = null;
+        }
+
+        Calculator calculator = state != null ? Calculator.resume(state) : new Calculator();
+        if (state != null)
+            candleStreamReader.readDailyTail(symbol, state.getLastTime(), SEED_BARS,
+                    (s, time, o, h, l, c, v) -> calculator.seed(h, l, c, v));
+
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime[] lastTime = new LocalDateTime[1];
+        candleStreamReader.readDailyAfter(symbol, state != null ? state.getLastTime() : HISTORY_START,
+                (s, time, o, h, l, c, v) -> {
+                    rows.add(calculator.next(symbol, time, h, l, c, v));
+                    lastTime[0] = time;
+                });
+        if (rows.isEmpty())
+            return 0;
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows, UPDATE_TYPES);
+
+        if (state == null)
+            state = CandleIndicatorState.builder().symbol(symbol).build();
+        state.setLastTime(lastTime[0]);
+        state.setBarCount(calculator.rsi14.count());
+        state.setPrevClose(calculator.rsi14.prevPrice());
+        state.setRsiAvgGain(calculator.rsi14.avgGain());
+        state.setRsiAvgLoss(calculator.rsi14.avgLoss());
+        state.setAtrSum(calculator.atr14.sumTr());
+        state.setAtr(Double.isNaN(calculator.atr14.value()) ? 0.0 : calculator.atr14.value());
+        candleIndicatorStateRepository.save(state);
+        return rows.size();
+    }
+
+    private boolean isIntact(String symbol, CandleIndicatorState state) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, symbol,
+                Timestamp.valueOf(state.getLastTime()));
+        return count != null && count == state.getBarCount();
+    }
+
+    private static BigDecimal decimal(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 종목 하나의 증분 지표 상태
+     */
+    private static final class Calculator {
+        private final IncrementalIndicators.Sma sma20 = new IncrementalIndicators.Sma(20);
+        private final IncrementalIndicators.Sma sma60 = new IncrementalIndicators.Sma(60);
+        private final IncrementalIndicators.RollingMax donchianHigh20 = new IncrementalIndicators.RollingMax(20);
+        private final IncrementalIndicators.RollingMin donchianLow20 = new IncrementalIndicators.RollingMin(20);
+        private final IncrementalIndicators.VolumeRatio volumeRatio20 =
+                new IncrementalIndicators.VolumeRatio(VOLUME_PERIOD);
+        private final IncrementalIndicators.Rsi rsi14;
+        private final IncrementalIndicators.Atr atr14;
+
+        private Calculator() {
+            this(new IncrementalIndicators.Rsi(14), new IncrementalIndicators.Atr(14));
+        }
+
+        private Calculator(IncrementalIndicators.Rsi rsi14, IncrementalIndicators.Atr atr14) {
+            this.rsi14 = rsi14;
+            this.atr14 = atr14;
+        }
+
+        private static Calculator resume(CandleIndicatorState state) {
+            return new Calculator(
+                    IncrementalIndicators.Rsi.resume(14, state.getBarCount(), state.getPrevClose(),
+                            state.getRsiAvgGain(), state.getRsiAvgLoss()),
+                    IncrementalIndicators.Atr.resume(14, state.getBarCount(), state.getPrevClose(),
+                            state.getAtrSum(), state.getAtr()));
+        }
+
+        // Already-computed bar: only the window indicators need it
+        private void seed(double high, double low, double close, long volume) {
+            sma20.update(close);
+            sma60.update(close);
+            donchianHigh20.update(high);
+            donchianLow20.update(low);
+            volumeRatio20.update(volume);
+        }
+
+        private Object[] next(String symbol, LocalDateTime time, double high, double low, double close,
+                long volume) {
+            boolean volumeRatioDefined = volumeRatio20.count() >= VOLUME_PERIOD;
+            double ratio = volumeRatio20.update(volume);
+            return new Object[] {
+                    decimal(sma20.update(close)),
+                    decimal(sma60.update(close)),
+                    decimal(rsi14.update(close)),
+                    decimal(atr14.update(high, low, close)),
+                    decimal(donchianHigh20.update(high)),
+                    decimal(donchianLow20.update(low)),
+                    volumeRatioDefined ? decimal(ratio) : null,
+                    symbol,
+                    Timestamp.valueOf(time) };
+        }
+    }
+}
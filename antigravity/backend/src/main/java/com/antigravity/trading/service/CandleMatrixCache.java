@@ -0,0 +1,107 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleMatrix;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 유니버스 백테스트용 메모리 상주 CandleMatrix 보관소.
+ * 가장 최근에 적재한 (유니버스, 구간) 매트릭스 하나를 지표와 함께 보관하며,
+ * 같은 조건의 백테스트는 DB 조회와 지표 계산 없이 재사용합니다.
+ *
+ * 적재 시점의 종목별 데이터 버전을 기록해 두고, 그 중 하나라도 바뀌었으면 다시 적재합니다.
+ * 적재는 한 번에 하나만 수행하므로 동시 요청이 같은 매트릭스를 중복 적재하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleMatrixCache {
+
+    private final CandleMatrixLoader candleMatrixLoader;
+    private final CandleDataVersions candleDataVersions;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    private CandleMatrix matrix;
+    private Map<String, Long> versions;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 유니버스의 [start, end] 매트릭스 (보관 중인 매트릭스가 최신이면 재사용)
+     */
+    public synchronized CandleMatrix get(List<String> universe, LocalDateTime start, LocalDateTime end) {
+        if (matrix != null && isCurrent(universe, start, end)) {
+            hits.incrementAndGet();
+            return matrix;
+        }
+        misses.incrementAndGet();
+        if (matrix != null) {
+            evictions.incrementAndGet();
+            // Let the previous matrix be collected before the new one is built
+            matrix = null;
+            versions = null;
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Long> snapshot = new LinkedHashMap<>(universe.size() * 2);
+        for (String symbol : universe)
+            snapshot.put(symbol, candleDataVersions.current(symbol));
+
+        List<CandleSeries> series = candleMatrixLoader.loadSeries(snapshot, start, end);
+        List<IndicatorSet> indicators = backtestForkJoinPool.submit(() -> series.parallelStream()
+                .map(IndicatorSet::compute)
+                .collect(Collectors.toList())).join();
+
+        matrix = new CandleMatrix(start, end, series, indicators);
+        versions = snapshot;
+        log.info("Candle matrix ready: {} symbols, {} candles, {} trading days, ~{} MB in {} ms",
+                matrix.symbolCount(), matrix.candleCount(), matrix.calendar().length,
+                matrix.estimatedBytes() / (1024 * 1024), System.currentTimeMillis() - startTime);
+        return matrix;
+    }
+
+    public synchronized void clear() {
+        matrix = null;
+        versions = null;
+    }
+
+    public synchronized CacheStats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        return CacheStats.builder()
+                .hits(h)
+                .misses(m)
+                .hitRate(h + m > 0 ? (double) h / (h + m) : 0.0)
+                .evictions(evictions.get())
+                .entries(matrix != null ? 1 : 0)
+                .weightBytes(matrix != null ? matrix.estimatedBytes() : 0L)
+                .maxWeightBytes(0L)
+                .build();
+    }
+
+    private boolean isCurrent(List<String> universe, LocalDateTime start, LocalDateTime end) {
+        if (!Objects.equals(matrix.getStart(), start) || !Objects.equals(matrix.getEnd(), end)
+                || versions.size() != universe.size())
+            return false;
+        for (String symbol : universe) {
+            Long version = versions.get(symbol);
+            if (version == null || version != candleDataVersions.current(symbol))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.repository.StockMasterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유니버스 일봉 일괄 로더.
+ * 종목마다 findBySymbolAndTimeBetween 을 호출하는 대신, 한 번의 쿼리로 [start, end] 구간 전체를
+ * 종목/시간순으로 스트리밍하여 종목이 바뀔 때마다 CandleSeries 를 완성합니다.
+ * 엔티티를 만들지 않으므로 영속성 컨텍스트가 커지지 않습니다.
+ * 유니버스가 종목 마스터 전체보다 작으면 symbol = ANY(?) 로 유니버스 종목만 읽습니다.
+ *
+ * KIS API 로 보충하지 않으며, DB 에 데이터가 없는 종목은 결과에서 빠집니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleMatrixLoader {
+
+    private final CandleStreamReader candleStreamReader;
+    private final StockMasterRepository stockMasterRepository;
+
+    /**
+     * @param versions 유니버스 종목별 데이터 버전 (조회 직전에 읽은 값, 이 맵에 없는 종목은 건너뜀)
+     * @return 데이터가 있는 종목의 시계열 (종목 코드 순)
+     */
+    public List<CandleSeries> loadSeries(Map<String, Long> versions, LocalDateTime start, LocalDateTime end) {
+        long startTime = System.currentTimeMillis();
+        Grouper grouper = new Grouper(versions);
+        boolean wholeMaster = versions.size() >= stockMasterRepository.count();
+        long rows = wholeMaster ? candleStreamReader.readDailyAll(start, end, grouper::accept)
+                : candleStreamReader.readDaily(versions.keySet(), start, end, grouper::accept);
+        grouper.finish();
+
+        log.info("Loaded candle matrix rows: {} rows, {} symbols ({} ~ {}) in {} ms", rows, grouper.result.size(),
+                start, end, System.currentTimeMillis() - startTime);
+        return grouper.result;
+    }
+
+    /**
+     * 종목/시간순 행을 종목별 시계열로 묶습니다.
+     */
+    private static final class Grouper {
+        private final Map<String, Long> versions;
+        private final List<CandleSeries> result = new ArrayList<>();
+        private String current;
+        private CandleSeries.Builder builder;
+        private int expectedSize = 256;
+
+        private Grouper(Map<String, Long> versions) {
+            this.versions = versions;
+        }
+
+        private void accept(String symbol, LocalDateTime time, double open, double high, double low, double close,
+                long volume) {
+            if (!symbol.equals(current)) {
+                finish();
+                current = symbol;
+                Long version = versions.get(symbol);
+                builder = version != null ? CandleSeries.builder(symbol, expectedSize).dataVersion(version)
+                        .priceScale(CandleSeries.DB_PRICE_SCALE) : null;
+            }
+            if (builder != null)
+                builder.add(time.toLocalDate().toEpochDay(), open, high, low, close, volume);
+        }
+
+        private void finish() {
+            if (builder != null && builder.size() > 0) {
+                expectedSize = builder.size();
+                result.add(builder.build());
+            }
+            builder = null;
+        }
+    }
+}
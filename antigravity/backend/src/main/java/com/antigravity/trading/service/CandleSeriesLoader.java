@@ -0,0 +1,72 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.infrastructure.api.KisApiClient;
+import com.antigravity.trading.infrastructure.api.dto.KisChartResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 백테스트용 일봉 시계열 로더.
+ * DB(candle_history)에 데이터가 있으면 DB에서, 없으면 KIS API에서 조회하여 CandleSeries 로 변환합니다.
+ * DB 는 엔티티를 만들지 않고 인덱스 순서대로 스트리밍하여 읽습니다. (CandleStreamReader)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleSeriesLoader {
+
+    private final KisApiClient kisApiClient;
+    private final CandleStreamReader candleStreamReader;
+    private final CandleDataVersions candleDataVersions;
+
+    /**
+     * 종목의 [start, end] 구간 일봉을 시간순 CandleSeries 로 조회합니다.
+     * 조회 직전의 데이터 버전을 시계열에 기록하므로, 조회 중 쓰기가 있었다면 더 낮은(구) 버전으로 남습니다.
+     */
+    public CandleSeries load(String symbol, LocalDateTime start, LocalDateTime end) {
+        long dataVersion = candleDataVersions.current(symbol);
+        // Rows arrive in index order as primitives, straight into the columnar builder
+        CandleSeries.Builder dbBuilder = CandleSeries.builder(symbol, expectedBars(start, end))
+                .dataVersion(dataVersion).priceScale(CandleSeries.DB_PRICE_SCALE);
+        candleStreamReader.readDaily(symbol, start, end,
+                (s, time, o, h, l, c, v) -> dbBuilder.add(time.toLocalDate().toEpochDay(), o, h, l, c, v));
+        if (dbBuilder.size() > 0)
+            return dbBuilder.build();
+        try {
+            KisChartResponse response = kisApiClient.getDailyChart(symbol, start, end);
+            if (response.getOutput2() == null)
+                return CandleSeries.empty(symbol);
+            List<KisChartResponse.Output2> outputs = new ArrayList<>(response.getOutput2());
+            outputs.sort(Comparator.comparing(KisChartResponse.Output2::getStckBsopDate));
+            CandleSeries.Builder builder = CandleSeries.builder(symbol, outputs.size()).dataVersion(dataVersion);
+            for (KisChartResponse.Output2 output : outputs) {
+                builder.add(LocalDate.parse(output.getStckBsopDate(), DateTimeFormatter.BASIC_ISO_DATE).toEpochDay(),
+                        Double.parseDouble(output.getStckOprc()), Double.parseDouble(output.getStckHgpr()),
+                        Double.parseDouble(output.getStckLwpr()), Double.parseDouble(output.getStckClpr()),
+                        Long.parseLong(output.getAcmlVol()));
+            }
+            return builder.build();
+        } catch (Exception e) {
+            log.error("API Fetch Error", e);
+            return CandleSeries.empty(symbol);
+        }
+    }
+
+    /**
+     * 구간의 예상 거래일 수 (주 5일 기준, 빌더 초기 용량)
+     */
+    private static int expectedBars(LocalDateTime start, LocalDateTime end) {
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        return (int) Math.max(16, Math.min(days * 5 / 7 + 1, 1 << 16));
+    }
+}
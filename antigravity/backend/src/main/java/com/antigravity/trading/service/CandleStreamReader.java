@@ -0,0 +1,158 @@
+package com.antigravity.trading.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 캔들 테이블 스트리밍 읽기.
+ * (symbol, time) 인덱스 순서대로 JDBC 커서를 fetch size 단위로 읽으며 각 행을 primitive 값으로 바로 넘깁니다.
+ * 엔티티/CandleDto/BigDecimal 을 만들지 않고, 결과 전체를 메모리에 올리거나 다시 정렬하지 않습니다.
+ *
+ * PostgreSQL 은 트랜잭션(autocommit off) 안에서만 fetch size 커서를 사용하므로 모든 읽기는 읽기 전용 트랜잭션에서 실행됩니다.
+ * 콜백은 커서가 열린 상태에서 호출되므로 콜백에서 오래 걸리는 작업(외부 API 호출 등)을 하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CandleStreamReader {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private static final String DAILY_SQL = "SELECT time, open, high, low, close, volume FROM candle_history "
+            + "WHERE symbol = ? AND time BETWEEN ? AND ? ORDER BY time";
+
+    private static final String DAILY_ALL_SQL = "SELECT symbol, time, open, high, low, close, volume "
+            + "FROM candle_history WHERE time BETWEEN ? AND ? ORDER BY symbol, time";
+
+    private static final String DAILY_SYMBOLS_SQL = "SELECT symbol, time, open, high, low, close, volume "
+            + "FROM candle_history WHERE symbol = ANY(?) AND time BETWEEN ? AND ? ORDER BY symbol, time";
+
+    private static final String DAILY_AFTER_SQL = "SELECT time, open, high, low, close, volume FROM candle_history "
+            + "WHERE symbol = ? AND time > ? ORDER BY time";
+
+    // Index range scan backwards, then back into time order
+    private static final String DAILY_TAIL_SQL = "SELECT time, open, high, low, close, volume FROM ("
+            + "SELECT time, open, high, low, close, volume FROM candle_history "
+            + "WHERE symbol = ? AND time <= ? ORDER BY time DESC LIMIT ?) tail ORDER BY time";
+
+    private static final String MINUTE_SQL = "SELECT time, open, high, low, close, volume FROM minute_candle_history "
+            + "WHERE symbol = ? AND time BETWEEN ? AND ? ORDER BY time";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 캔들 한 행 (가격이 NULL 이면 NaN, 거래량이 NULL 이면 0)
+     */
+    @FunctionalInterface
+    public interface CandleHandler {
+        void accept(String symbol, LocalDateTime time, double open, double high, double low, double close,
+                long volume);
+    }
+
+    /**
+     * 종목의 [start, end] 일봉을 시간순으로 읽습니다.
+     *
+     * @return 읽은 행 수
+     */
+    @Transactional(readOnly = true)
+    public long readDaily(String symbol, LocalDateTime start, LocalDateTime end, CandleHandler handler) {
+        return read(DAILY_SQL, symbol, handler, start, end);
+    }
+
+    /**
+     * 종목의 after 이후(after 제외) 일봉을 시간순으로 읽습니다.
+     *
+     * @return 읽은 행 수
+     */
+    @Transactional(readOnly = true)
+    public long readDailyAfter(String symbol, LocalDateTime after, CandleHandler handler) {
+        return read(DAILY_AFTER_SQL, symbol, handler, after);
+    }
+
+    /**
+     * 종목의 upTo 이하 일봉 중 마지막 limit 개를 시간순으로 읽습니다.
+     *
+     * @return 읽은 행 수
+     */
+    @Transactional(readOnly = true)
+    public long readDailyTail(String symbol, LocalDateTime upTo, int limit, CandleHandler handler) {
+        return read(DAILY_TAIL_SQL, symbol, handler, upTo, limit);
+    }
+
+    /**
+     * 전 종목 [start, end] 일봉을 종목/시간순으로 읽습니다.
+     *
+     * @return 읽은 행 수
+     */
+    @Transactional(readOnly = true)
+    public long readDailyAll(LocalDateTime start, LocalDateTime end, CandleHandler handler) {
+        return read(DAILY_ALL_SQL, null, handler, start, end);
+    }
+
+    /**
+     * symbols 종목의 [start, end] 일봉을 종목/시간순으로 읽습니다.
+     * 유니버스가 일부 종목일 때 전 종목을 읽고 버리는 대신 (symbol, time) 인덱스로 해당 종목만 읽습니다.
+     *
+     * @return 읽은 행 수
+     */
+    @Transactional(readOnly = true)
+    public long readDaily(Collection<String> symbols, LocalDateTime start, LocalDateTime end,
+            CandleHandler handler) {
+        return read(DAILY_SYMBOLS_SQL, null, handler, symbols.toArray(new String[0]), start, end);
+    }
+
+    /**
+     * 종목의 [start, end] 1분봉을 시간순으로 읽습니다.
+     *
+     * @return 읽은 행 수
+     */
+    @Transactional(readOnly = true)
+    public long readMinutes(String symbol, LocalDateTime start, LocalDateTime end, CandleHandler handler) {
+        return read(MINUTE_SQL, symbol, handler, start, end);
+    }
+
+    /**
+     * @param params symbol 다음에 바인딩할 파라미터 (LocalDateTime, Integer 또는 종목 배열 String[])
+     */
+    private long read(String sql, String symbol, CandleHandler handler, Object... params) {
+        long[] rows = new long[1];
+        int column = symbol == null ? 2 : 1;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            int p = 1;
+            if (symbol != null)
+                ps.setString(p++, symbol);
+            for (Object param : params) {
+                if (param instanceof LocalDateTime)
+                    ps.setTimestamp(p++, Timestamp.valueOf((LocalDateTime) param));
+                else if (param instanceof String[])
+                    ps.setArray(p++, con.createArrayOf("varchar", (String[]) param));
+                else
+                    ps.setInt(p++, (Integer) param);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            rows[0]++;
+            handler.accept(symbol != null ? symbol : rs.getString(1),
+                    rs.getTimestamp(column).toLocalDateTime(),
+                    price(rs, column + 1), price(rs, column + 2), price(rs, column + 3), price(rs, column + 4),
+                    rs.getLong(column + 5));
+        });
+        return rows[0];
+    }
+
+    private static double price(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+}
@@ -1,11 +1,14 @@
 package com.antigravity.trading.service;
 
 import com.antigravity.trading.domain.entity.CandleHistory;
+import com.antigravity.trading.domain.entity.MinuteCandle;
 import com.antigravity.trading.domain.entity.StockMaster;
 import com.antigravity.trading.domain.entity.ScheduledStock;
 import com.antigravity.trading.infrastructure.api.KisApiClient;
 import com.antigravity.trading.infrastructure.api.dto.KisChartResponse;
+import com.antigravity.trading.infrastructure.api.dto.KisMinuteChartResponse;
 import com.antigravity.trading.repository.CandleHistoryRepository;
+import com.antigravity.trading.repository.MinuteCandleRepository;
 import com.antigravity.trading.repository.StockMasterRepository;
 import com.antigravity.trading.repository.ScheduledStockRepository;
 import lombok.Builder;
@@ -19,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
@@ -33,8 +37,11 @@ public class DataPipelineService {
 
     private final KisApiClient kisApiClient;
     private final CandleHistoryRepository candleHistoryRepository;
+    private final MinuteCandleRepository minuteCandleRepository;
     private final StockMasterRepository stockMasterRepository;
     private final ScheduledStockRepository scheduledStockRepository;
+    private final CandleDataVersions candleDataVersions;
+    private final CandleIndicatorUpdater candleIndicatorUpdater;
 
     /**
      * 스케줄링 대상 종목의 일봉 데이터 수집 (활성화된 종목만)
@@ -312,6 +319,7 @@ public class DataPipelineService {
             // 신규 데이터만 저장
             if (!newCandles.isEmpty()) {
                 candleHistoryRepository.saveAll(newCandles);
+                candleDataVersions.bump(symbol);
                 log.info("Saved {} new candles for {} (skipped {} existing)",
                     newCandles.size(), symbol, skippedCount);
             } else {
@@ -576,6 +584,107 @@ public class DataPipelineService {
             .build();
     }
 
+    private static final LocalTime SESSION_OPEN = LocalTime.of(9, 0);
+    private static final LocalTime SESSION_CLOSE = LocalTime.of(15, 30);
+    private static final int MAX_MINUTE_PAGES = 20; // 30건 x 20 = 600분 (정규장 390분 + 여유)
+
+    /**
+     * 당일 1분봉 수집 (장중 백테스트용)
+     * KIS 당일분봉조회는 기준 시각 이전 30건만 반환하므로 15:30 부터 09:00 까지 기준 시각을 앞당기며 반복 조회합니다.
+     * 이미 저장된 분봉은 건너뜁니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SingleStockResult collectTodayMinuteCandles(String symbol) {
+        LocalDate today = LocalDate.now();
+        TreeMap<LocalDateTime, MinuteCandle> collected = new TreeMap<>();
+        int skippedCount = 0;
+        LocalTime cursor = LocalTime.now().isBefore(SESSION_CLOSE) ? LocalTime.now() : SESSION_CLOSE;
+
+        try {
+            for (int page = 0; page < MAX_MINUTE_PAGES && !cursor.isBefore(SESSION_OPEN); page++) {
+                KisMinuteChartResponse response = kisApiClient.getMinuteChart(symbol, cursor);
+                if (response == null || response.getOutput2() == null || response.getOutput2().isEmpty())
+                    break;
+
+                LocalTime earliest = cursor;
+                for (KisMinuteChartResponse.Output2 output : response.getOutput2()) {
+                    if (output.getStckBsopTime() == null || output.getStckBsopTime().isEmpty())
+                        continue;
+                    MinuteCandle candle = convertToMinuteCandle(symbol, today, output);
+                    LocalTime t = candle.getTime().toLocalTime();
+                    if (t.isBefore(earliest))
+                        earliest = t;
+                    if (t.isBefore(SESSION_OPEN) || t.isAfter(SESSION_CLOSE))
+                        continue;
+                    collected.putIfAbsent(candle.getTime(), candle);
+                }
+
+                // 더 이상 과거로 진행하지 않으면 종료
+                if (!earliest.isBefore(cursor))
+                    break;
+                cursor = earliest.minusMinutes(1);
+
+                // Rate limit protection
+                Thread.sleep(200);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error collecting minute candles for {}: {}", symbol, e.getMessage());
+            return SingleStockResult.builder()
+                .success(false)
+                .newRecords(0)
+                .skippedRecords(skippedCount)
+                .message(e.getMessage())
+                .build();
+        }
+
+        if (!collected.isEmpty()) {
+            // 응답의 영업일자가 오늘이 아닐 수 있으므로(휴장일 조회 등) 수집된 구간 기준으로 중복을 제거
+            Set<LocalDateTime> existingTimes = minuteCandleRepository.findTimesBySymbolAndTimeBetween(symbol,
+                collected.firstKey(), collected.lastKey());
+            for (LocalDateTime t : existingTimes) {
+                if (collected.remove(t) != null)
+                    skippedCount++;
+            }
+        }
+
+        if (!collected.isEmpty()) {
+            minuteCandleRepository.saveAll(collected.values());
+            log.info("Saved {} new minute candles for {} (skipped {} existing)", collected.size(), symbol,
+                skippedCount);
+        }
+
+        return SingleStockResult.builder()
+            .success(true)
+            .newRecords(collected.size())
+            .skippedRecords(skippedCount)
+            .message("성공")
+            .build();
+    }
+
+    /**
+     * KIS 분봉 응답을 MinuteCandle 엔티티로 변환
+     * 체결거래량(cntg_vol)이 없으면 0 으로 저장합니다. (누적거래량은 분 단위 거래량이 아님)
+     */
+    private MinuteCandle convertToMinuteCandle(String symbol, LocalDate today, KisMinuteChartResponse.Output2 output) {
+        LocalDate date = output.getStckBsopDate() != null && !output.getStckBsopDate().isEmpty()
+            ? LocalDate.parse(output.getStckBsopDate(), DateTimeFormatter.ofPattern("yyyyMMdd"))
+            : today;
+        LocalTime time = LocalTime.parse(output.getStckBsopTime(), DateTimeFormatter.ofPattern("HHmmss"));
+
+        return MinuteCandle.builder()
+            .symbol(symbol)
+            .time(date.atTime(time.getHour(), time.getMinute()))
+            .open(new BigDecimal(output.getStckOprc()))
+            .high(new BigDecimal(output.getStckHgpr()))
+            .low(new BigDecimal(output.getStckLwpr()))
+            .close(new BigDecimal(output.getStckPrpr()))
+            .volume(output.getCntgVol() != null && !output.getCntgVol().isEmpty()
+                ? Long.parseLong(output.getCntgVol()) : 0L)
+            .build();
+    }
+
     /**
      * 연속 날짜들을 구간으로 그룹화
      */
@@ -646,47 +755,18 @@ public class DataPipelineService {
     }
 
     /**
-     * 보조지표 계산 및 업데이트 (MA20, MA60 등)
+     * 보조지표 계산 및 업데이트 (MA20/60, RSI14, ATR14, Donchian20, 거래량 비율)
+     * 마지막 계산 이후 새로 들어온 캔들만 증분으로 계산합니다. (CandleIndicatorUpdater)
      */
     @Transactional
     public void calculateIndicators(String symbol) {
-        log.info("Calculating indicators for {}", symbol);
-
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusMonths(6);
-
-        List<CandleHistory> candles = candleHistoryRepository
-            .findBySymbolAndTimeBetween(symbol, startDate, endDate);
-
-        if (candles.size() < 60) {
-            log.warn("Not enough data to calculate MA60 for {}", symbol);
-            return;
-        }
-
-        candles.sort((a, b) -> a.getTime().compareTo(b.getTime()));
-
-        for (int i = 0; i < candles.size(); i++) {
-            CandleHistory candle = candles.get(i);
-
-            if (i >= 19) {
-                BigDecimal sum20 = BigDecimal.ZERO;
-                for (int j = i - 19; j <= i; j++) {
-                    sum20 = sum20.add(candles.get(j).getClose());
-                }
-                candle.setMa20(sum20.divide(new BigDecimal(20), 4, BigDecimal.ROUND_HALF_UP));
-            }
-
-            if (i >= 59) {
-                BigDecimal sum60 = BigDecimal.ZERO;
-                for (int j = i - 59; j <= i; j++) {
-                    sum60 = sum60.add(candles.get(j).getClose());
-                }
-                candle.setMa60(sum60.divide(new BigDecimal(60), 4, BigDecimal.ROUND_HALF_UP));
-            }
-        }
-
-        candleHistoryRepository.saveAll(candles);
-        log.info("Updated indicators for {} candles of {}", candles.size(), symbol);
+        long startTime = System.currentTimeMillis();
+        int updated = candleIndicatorUpdater.update(symbol);
+        if (updated > 0)
+            log.info("Updated indicators for {} new candles of {} in {} ms", updated, symbol,
+                    System.currentTimeMillis() - startTime);
+        else
+            log.debug("Indicators of {} are up to date", symbol);
     }
 
     /**
@@ -0,0 +1,329 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 DecisionLog 기록기.
+ * 전략 평가 결과를 제한된 큐에 넣으면 전용 스레드가 모아서 JDBC 배치 INSERT 로 decision_logs 에 저장합니다.
+ * 시뮬레이션 스레드는 불변 객체(MarketEvent, Signal) 참조만 넘기고, JSON 직렬화는 기록 스레드에서 수행합니다.
+ *
+ * - backtest.decision-log.level: OFF(기록 안 함, 기본값) / SIGNALS(BUY, SELL 만) / ALL(모든 평가)
+ * - backtest.decision-log.sample-every: ALL 일 때 N 번째 평가마다 기록 (BUY, SELL 은 항상 기록)
+ * - 큐가 가득 차면 기다리지 않고 버리고 dropped 로 집계합니다. (offer-timeout-ms 를 주면 그만큼만 기다림)
+ *   기록 때문에 시뮬레이션/실시간 스레드가 멈추지 않도록 기본값은 0 입니다.
+ * - 백테스트 기록의 입력 지표는 전략의 IndicatorPlan 으로 계산한 것뿐이며, 계산하지 않은 지표는 inputs_json 에서 빠집니다.
+ */
+@Slf4j
+@Component
+public class DecisionLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO decision_logs "
+            + "(trace_id, backtest_run_id, symbol, event_time, decision_type, inputs_json, reasons_json, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Level {
+        OFF, SIGNALS, ALL
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Level level;
+    private final int sampleEvery;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<Entry> queue;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public DecisionLogWriter(JdbcTemplate jdbcTemplate,
+            @Value("${backtest.decision-log.level:OFF}") Level level,
+            @Value("${backtest.decision-log.sample-every:1}") int sampleEvery,
+            @Value("${backtest.decision-log.queue-capacity:65536}") int queueCapacity,
+            @Value("${backtest.decision-log.batch-size:1000}") int batchSize,
+            @Value("${backtest.decision-log.offer-timeout-ms:0}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.level = level;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (level == Level.OFF)
+            return;
+        running = true;
+        worker = new Thread(this::drainLoop, "decision-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("DecisionLog writer started (level={}, sampleEvery={}, batchSize={})", level, sampleEvery,
+                batchSize);
+    }
+
+    /**
+     * 종료 시 큐에 남은 기록을 모두 저장합니다.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker == null)
+            return;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return level != Level.OFF;
+    }
+
+    /**
+     * 백테스트 실행 하나에 대한 기록 리스너. 기록 수준이 OFF 이면 null 을 반환합니다.
+     * traceId 는 "bt-{runId}" 로 묶입니다. 리스너는 단일 시뮬레이션 스레드에서만 사용해야 합니다.
+     *
+     * @param plan 시뮬레이션에서 계산한 지표 (MarketEvent 의 나머지 지표는 비어 있으므로 기록하지 않음)
+     */
+    public BacktestSimulator.DecisionListener forBacktest(Long backtestRunId, String symbol, IndicatorPlan plan) {
+        if (!isEnabled())
+            return null;
+        String traceId = "bt-" + backtestRunId;
+        // Absent indicators are already null in the event, except the volume ratio (0.0)
+        boolean volumeRatio = plan.contains(IndicatorSet.VOLUME_RATIO20);
+        long[] evaluations = new long[1];
+        return (event, signal, hasPosition) -> {
+            if (shouldRecord(signal, evaluations[0]++))
+                enqueue(new Entry(traceId, backtestRunId, symbol, event, signal, hasPosition, volumeRatio));
+        };
+    }
+
+    /**
+     * 실시간 전략 평가 단건 기록 (RealTimeTrader, backtestRunId 없음)
+     */
+    public void record(String traceId, String symbol, MarketEvent event, Signal signal, boolean hasPosition) {
+        if (isEnabled() && shouldRecord(signal, 0))
+            enqueue(new Entry(traceId, null, symbol, event, signal, hasPosition, true));
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .level(level.name())
+                .enqueued(enqueued.get())
+                .written(written.get())
+                .dropped(dropped.get())
+                .failed(failed.get())
+                .queued(queue.size())
+                .build();
+    }
+
+    private boolean shouldRecord(Signal signal, long evaluationIndex) {
+        if (isActionable(signal))
+            return true;
+        return level == Level.ALL && evaluationIndex % sampleEvery == 0;
+    }
+
+    private static boolean isActionable(Signal signal) {
+        return signal.getType() == Signal.Type.BUY || signal.getType() == Signal.Type.SELL;
+    }
+
+    private void enqueue(Entry entry) {
+        try {
+            if (running && (offerTimeoutMs == 0 ? queue.offer(entry)
+                    : queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS))) {
+                enqueued.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.incrementAndGet();
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Entry e = batch.get(i);
+                    ps.setString(1, e.traceId);
+                    if (e.backtestRunId != null)
+                        ps.setLong(2, e.backtestRunId);
+                    else
+                        ps.setNull(2, Types.BIGINT);
+                    ps.setString(3, e.symbol);
+                    ps.setTimestamp(4, Timestamp.valueOf(e.event.getTimestamp()));
+                    ps.setString(5, decisionType(e.signal));
+                    ps.setString(6, inputsJson(e.event, e.hasPosition, e.volumeRatio));
+                    ps.setString(7, reasonsJson(e.signal));
+                    ps.setTimestamp(8, Timestamp.valueOf(now));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            written.addAndGet(batch.size());
+        } catch (RuntimeException ex) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write {} decision logs: {}", batch.size(), ex.getMessage());
+        }
+    }
+
+    static String decisionType(Signal signal) {
+        switch (signal.getType()) {
+            case BUY:
+                return "ENTRY_SIGNAL";
+            case SELL:
+                return "EXIT_SIGNAL";
+            case HOLD:
+                return "HOLD";
+            default:
+                return "SKIP";
+        }
+    }
+
+    /**
+     * 평가 입력의 compact JSON (값이 없는 지표는 생략)
+     *
+     * @param volumeRatio 거래량 비율을 계산했는지 여부 (false 면 생략)
+     */
+    static String inputsJson(MarketEvent event, boolean hasPosition, boolean volumeRatio) {
+        StringBuilder sb = new StringBuilder(160).append('{');
+        appendNumber(sb, "c", event.getClose());
+        appendNumber(sb, "v", event.getVolume());
+        appendNumber(sb, "ma20", event.getMa20());
+        appendNumber(sb, "ma60", event.getMa60());
+        appendNumber(sb, "rsi", event.getRsi());
+        appendNumber(sb, "atr", event.getAtr());
+        if (volumeRatio)
+            appendNumber(sb, "vr", event.getVolumeRatio());
+        appendNumber(sb, "dh", event.getDonchianHigh());
+        appendNumber(sb, "dl", event.getDonchianLow());
+        appendNumber(sb, "orh", event.getOpeningRangeHigh());
+        appendNumber(sb, "orl", event.getOpeningRangeLow());
+        sb.append(sb.length() > 1 ? "," : "").append("\"pos\":").append(hasPosition);
+        return sb.append('}').toString();
+    }
+
+    static String reasonsJson(Signal signal) {
+        StringBuilder sb = new StringBuilder(64).append('[');
+        if (signal.getReasonCode() != null)
+            appendString(sb, signal.getReasonCode());
+        if (signal.getReasonMessageKo() != null && !signal.getReasonMessageKo().isEmpty()) {
+            if (sb.length() > 1)
+                sb.append(',');
+            appendString(sb, signal.getReasonMessageKo());
+        }
+        if (signal.getReasonDetail() != null) {
+            if (sb.length() > 1)
+                sb.append(',');
+            appendString(sb, signal.getReasonDetail());
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void appendNumber(StringBuilder sb, String key, Object value) {
+        if (value == null)
+            return;
+        if (value instanceof Double && !Double.isFinite((Double) value))
+            return;
+        if (sb.length() > 1)
+            sb.append(',');
+        sb.append('"').append(key).append("\":");
+        if (value instanceof BigDecimal)
+            sb.append(((BigDecimal) value).toPlainString());
+        else
+            sb.append(value);
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\')
+                sb.append('\\').append(ch);
+            else if (ch < 0x20)
+                sb.append(String.format("\\u%04x", (int) ch));
+            else
+                sb.append(ch);
+        }
+        sb.append('"');
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final String traceId;
+        private final Long backtestRunId;
+        private final String symbol;
+        private final MarketEvent event;
+        private final Signal signal;
+        private final boolean hasPosition;
+        private final boolean volumeRatio;
+    }
+
+    @Getter
+    @Builder
+    public static class Stats {
+        private String level;
+        private long enqueued;
+        private long written;
+        private long dropped;
+        private long failed;
+        private int queued;
+    }
+}
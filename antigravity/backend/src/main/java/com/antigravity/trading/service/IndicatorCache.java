@@ -0,0 +1,168 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.backtest.IndicatorType;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종목별 보조지표 공유 캐시.
+ * (종목, 지표, 기간, 데이터 버전) 과 시계열 범위(첫/마지막 일자, 길이) 를 키로 double[] 를 보관하여
+ * 같은 종목을 반복 백테스트하거나 여러 전략/서비스가 같은 구간을 다시 계산할 때 지표 계산을 생략합니다.
+ * 구간이 다르면 공유하지 않습니다. RSI/ATR 의 Wilder 평활은 시계열 시작점에 따라 값이 달라지므로
+ * 더 긴 구간의 배열을 잘라 쓰면 같은 날짜라도 다른 값이 됩니다.
+ *
+ * 배열 크기(8 bytes x 길이) 합이 상한을 넘으면 LRU 로 제거하며, 새 버전이 들어오면 같은 종목의 구버전 항목을 정리합니다.
+ * 반환된 배열은 여러 호출자가 공유하므로 읽기 전용으로만 사용해야 합니다.
+ *
+ * 백테스트 경로 전용입니다. 수집 파이프라인의 지표 컬럼 계산(CandleIndicatorUpdater)은 종목마다 새 캔들만 한 번 계산하므로
+ * 재사용될 일이 없고, 캐시에 넣으면 백테스트 항목만 밀어내므로 사용하지 않습니다.
+ */
+@Component
+public class IndicatorCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final CandleDataVersions candleDataVersions;
+    private final long maxWeightBytes;
+
+    private final LinkedHashMap<Key, double[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public IndicatorCache(CandleDataVersions candleDataVersions,
+            @Value("${backtest.indicator-cache.max-weight-mb:64}") long maxWeightMb) {
+        this.candleDataVersions = candleDataVersions;
+        this.maxWeightBytes = maxWeightMb * 1024 * 1024;
+    }
+
+    /**
+     * 백테스트 시뮬레이터가 사용하는 지표 묶음(전체 지표)을 캐시를 거쳐 구성합니다.
+     */
+    public IndicatorSet indicatorSet(CandleSeries series) {
+        return indicatorSet(series, IndicatorPlan.ALL);
+    }
+
+    /**
+     * 계획에 든 지표만으로 지표 묶음을 구성합니다.
+     * 캐시에 없는 지표는 모아서 한 번에 계산하므로 RSI/ATR 같이 함께 계산되는 지표가 묶여 계산됩니다.
+     */
+    public IndicatorSet indicatorSet(CandleSeries series, IndicatorPlan plan) {
+        if (!cacheable(series))
+            return IndicatorSet.compute(series, plan);
+
+        Map<IndicatorPlan.Key, double[]> values = new HashMap<>(plan.keys().size() * 2);
+        List<IndicatorPlan.Key> missing = new ArrayList<>(plan.keys().size());
+        synchronized (this) {
+            for (IndicatorPlan.Key k : plan.keys()) {
+                double[] cached = entries.get(key(series, k.getType(), k.getPeriod()));
+                if (cached != null)
+                    values.put(k, cached);
+                else
+                    missing.add(k);
+            }
+        }
+        hits.addAndGet(values.size());
+        misses.addAndGet(missing.size());
+
+        if (!missing.isEmpty()) {
+            Map<IndicatorPlan.Key, double[]> computed = IndicatorPlan.compute(series, missing);
+            for (Map.Entry<IndicatorPlan.Key, double[]> e : computed.entrySet()) {
+                put(key(series, e.getKey().getType(), e.getKey().getPeriod()), e.getValue());
+                values.put(e.getKey(), e.getValue());
+            }
+        }
+        return IndicatorSet.compute(values::get, plan);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        return CacheStats.builder()
+                .hits(h)
+                .misses(m)
+                .hitRate(h + m > 0 ? (double) h / (h + m) : 0.0)
+                .evictions(evictions.get())
+                .entries(entries.size())
+                .weightBytes(totalWeight)
+                .maxWeightBytes(maxWeightBytes)
+                .build();
+    }
+
+    private synchronized void put(Key key, double[] values) {
+        long weight = weigh(values);
+        if (weight > maxWeightBytes)
+            return;
+        // Series loaded before a write carries an older version; don't let it displace newer entries
+        if (key.dataVersion < candleDataVersions.current(key.symbol))
+            return;
+
+        Iterator<Map.Entry<Key, double[]>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, double[]> e = it.next();
+            if (e.getKey().symbol.equals(key.symbol) && e.getKey().dataVersion < key.dataVersion) {
+                totalWeight -= weigh(e.getValue());
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+
+        double[] previous = entries.put(key, values);
+        if (previous != null)
+            totalWeight -= weigh(previous);
+        totalWeight += weight;
+
+        it = entries.entrySet().iterator();
+        while (totalWeight > maxWeightBytes && it.hasNext()) {
+            Map.Entry<Key, double[]> e = it.next();
+            totalWeight -= weigh(e.getValue());
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private boolean cacheable(CandleSeries series) {
+        return series.getDataVersion() != CandleSeries.UNVERSIONED && !series.isEmpty() && maxWeightBytes > 0;
+    }
+
+    private static Key key(CandleSeries series, IndicatorType type, int period) {
+        return new Key(series.getSymbol(), type, period, series.getDataVersion(), series.epochDay(0),
+                series.epochDay(series.size() - 1), series.size());
+    }
+
+    private static long weigh(double[] values) {
+        return ENTRY_OVERHEAD_BYTES + 8L * values.length;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final String symbol;
+        private final IndicatorType type;
+        private final int period;
+        private final long dataVersion;
+        private final long firstDay;
+        private final long lastDay;
+        private final int size;
+    }
+}
@@ -0,0 +1,289 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.HistoryWindow;
+import com.antigravity.trading.engine.backtest.IntradaySession;
+import com.antigravity.trading.engine.backtest.Krw;
+import com.antigravity.trading.engine.backtest.PerformanceTracker;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.engine.model.StrategyContext;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.strategy.v2.impl.OpeningRangeStrategy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장중(1분봉) 백테스트 서비스.
+ * 구간 전체 분봉을 시간순 커서 하나로 읽으며 거래일이 바뀔 때마다 IntradaySession 버퍼를 재생하므로,
+ * 메모리에는 항상 하루치 분봉만 존재합니다.
+ *
+ * - 오프닝 레인지: 세션 시작(09:00)부터 openingRangeMinutes 동안의 고가/저가를 분봉마다 누적하고,
+ *   레인지가 완성된 이후의 분봉부터 MarketEvent 에 노출합니다. (형성 중에는 null)
+ * - 세션 경계: 레인지와 전략의 일중 상태(extraData, dailyEntryCount)는 매일 초기화되며,
+ *   보유 포지션은 세션 마지막 분봉 종가로 청산합니다. (오버나잇 보유 없음)
+ * - 거래량 비율: 직전 20개 분봉 평균 대비 현재 분봉 거래량이며, 세션을 넘어 이어집니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IntradayBacktestService {
+
+    private static final int SESSION_OPEN_MINUTE = 9 * 60;
+    private static final int VOLUME_PERIOD = 20;
+    private static final int DEFAULT_OPENING_RANGE_MINUTES = 10;
+    private static final int MINUTES_PER_SESSION = 390; // 09:00 ~ 15:30
+
+    private static final long POSITION_ALLOCATION_PERCENT = 50;
+
+    private final CandleStreamReader candleStreamReader;
+    private final StrategyRegistry strategyRegistry;
+
+    /**
+     * 분봉 백테스트 실행 (기본 전략: S5 오프닝 레인지)
+     */
+    public IntradayResult run(String symbol, LocalDateTime start, LocalDateTime end, String strategyId,
+            String paramsJson) {
+        long startTime = System.currentTimeMillis();
+        String resolvedId = strategyId != null ? strategyId : "S5";
+        TradingStrategy strategy = strategyRegistry.getStrategy(resolvedId);
+        if (strategy == null)
+            throw new IllegalArgumentException("Unknown Strategy ID: " + strategyId);
+        StrategyParams params = BacktestSimulator.resolveParams(strategy, paramsJson);
+        int openingRangeMinutes = params instanceof OpeningRangeStrategy.Params
+                ? ((OpeningRangeStrategy.Params) params).getOpeningRangeMinutes()
+                : DEFAULT_OPENING_RANGE_MINUTES;
+
+        // One ordered cursor over the whole range; a session is replayed as soon as the next day's first bar arrives,
+        // so only one session lives in the reusable buffer.
+        Replay replay = new Replay(symbol, strategy, params, openingRangeMinutes);
+        IntradaySession session = new IntradaySession();
+        long rows = candleStreamReader.readMinutes(symbol, start, end, (s, time, open, high, low, close, volume) -> {
+            LocalDate day = time.toLocalDate();
+            if (!day.equals(session.getDate())) {
+                replay.runSession(session);
+                session.reset(day);
+            }
+            session.add(time.getHour() * 60 + time.getMinute(), open, high, low, close, volume);
+        });
+        replay.runSession(session);
+        log.info("Intraday backtest {} ({}): {} trading days, {} bars", symbol, resolvedId,
+                replay.dailyEquity.size(), rows);
+
+        BigDecimal totalReturn = Krw.percentChange(BacktestSimulator.INITIAL_BALANCE_KRW, replay.balance);
+
+        return IntradayResult.builder()
+                .symbol(symbol)
+                .strategyId(resolvedId)
+                .tradingDays(replay.dailyEquity.size())
+                .bars(replay.bars)
+                .finalBalance(Krw.toDecimal(replay.balance))
+                .totalReturnPercent(totalReturn)
+                .totalTrades(replay.trades.size())
+                .trades(replay.trades)
+                .rejectionStats(replay.rejectionStats)
+                .dailyEquity(replay.dailyEquity)
+                .metrics(replay.performance.snapshot())
+                .elapsedMs(System.currentTimeMillis() - startTime)
+                .build();
+    }
+
+    /**
+     * 세션을 넘어 유지되는 계좌/거래량 상태와 세션 단위 재생 로직
+     */
+    private static final class Replay {
+        private final String symbol;
+        private final TradingStrategy strategy;
+        private final StrategyParams params;
+        private final int openingRangeEnd; // 이 분(minute of day) 이전까지가 오프닝 레인지
+
+        private long balance = BacktestSimulator.INITIAL_BALANCE_KRW;
+        private long holdingQty;
+        private long entryPrice;
+        private BigDecimal balanceDecimal = BacktestSimulator.INITIAL_BALANCE;
+        private BigDecimal entryPriceDecimal = BigDecimal.ZERO;
+
+        private final List<BacktestService.TradeRecord> trades = new ArrayList<>();
+        private final Map<String, Integer> rejectionStats = new HashMap<>();
+        private final List<EquityPoint> dailyEquity = new ArrayList<>();
+        private final PerformanceTracker performance = new PerformanceTracker(
+                PerformanceTracker.DAILY_PERIODS_PER_YEAR * MINUTES_PER_SESSION);
+        private long bars;
+
+        // Rolling volume window (ring buffer) carried across sessions
+        private final long[] volumeRing = new long[VOLUME_PERIOD];
+        private long volumeSum;
+        private long volumeCount;
+
+        private Replay(String symbol, TradingStrategy strategy, StrategyParams params, int openingRangeMinutes) {
+            this.symbol = symbol;
+            this.strategy = strategy;
+            this.params = params;
+            this.openingRangeEnd = SESSION_OPEN_MINUTE + Math.max(0, openingRangeMinutes);
+        }
+
+        private void runSession(IntradaySession session) {
+            if (session.isEmpty())
+                return;
+
+            StrategyContext context = StrategyContext.builder()
+                    .symbol(symbol)
+                    .hasPosition(false)
+                    .entryPrice(BigDecimal.ZERO)
+                    .quantity(0L)
+                    .dailyEntryCount(0)
+                    .availableCash(balanceDecimal)
+                    .extraData(new HashMap<>())
+                    .build();
+
+            HistoryWindow history = HistoryWindow.of(session);
+            context.setHistory(history);
+
+            double rangeHigh = Double.NaN;
+            double rangeLow = Double.NaN;
+
+            for (int i = 0; i < session.size(); i++) {
+                int minute = session.minuteOfDay(i);
+                if (minute >= SESSION_OPEN_MINUTE && minute < openingRangeEnd) {
+                    rangeHigh = Double.isNaN(rangeHigh) ? session.high(i) : Math.max(rangeHigh, session.high(i));
+                    rangeLow = Double.isNaN(rangeLow) ? session.low(i) : Math.min(rangeLow, session.low(i));
+                }
+                boolean rangeFormed = minute >= openingRangeEnd && !Double.isNaN(rangeHigh);
+
+                double volumeRatio = nextVolumeRatio(session.volume(i));
+                LocalDateTime dt = session.timestamp(i);
+                long closeKrw = Krw.of(session.close(i));
+                BigDecimal close = Krw.toDecimal(closeKrw);
+
+                MarketEvent event = MarketEvent.builder()
+                        .symbol(symbol)
+                        .timestamp(dt)
+                        .currentPrice(close)
+                        .open(CandleSeries.decimal(session.open(i)))
+                        .high(CandleSeries.decimal(session.high(i)))
+                        .low(CandleSeries.decimal(session.low(i)))
+                        .close(close)
+                        .volume(session.volume(i))
+                        .avgVol20(BigDecimal.ZERO)
+                        .volumeRatio(volumeRatio)
+                        .openingRangeHigh(rangeFormed ? CandleSeries.decimal(rangeHigh) : null)
+                        .openingRangeLow(rangeFormed ? CandleSeries.decimal(rangeLow) : null)
+                        .build();
+
+                history.advanceTo(i);
+                context.setHasPosition(holdingQty > 0);
+                context.setEntryPrice(entryPriceDecimal);
+                context.setQuantity(holdingQty);
+                context.setAvailableCash(balanceDecimal);
+                context.setHighWaterMark(event.getHigh());
+
+                Signal signal = strategy.evaluate(event, context, params);
+                bars++;
+
+                if (signal.getType() == Signal.Type.BUY) {
+                    if (holdingQty == 0 && closeKrw > 0) { // Only if flat
+                        long qty = Krw.shares(Krw.allocate(balance, POSITION_ALLOCATION_PERCENT, 100), closeKrw);
+
+                        if (qty > 0) {
+                            long cost = Krw.value(qty, closeKrw);
+                            balance -= cost;
+                            performance.onFill(cost);
+                            holdingQty = qty;
+                            entryPrice = closeKrw;
+                            balanceDecimal = Krw.toDecimal(balance);
+                            entryPriceDecimal = close;
+                            context.setDailyEntryCount(context.getDailyEntryCount() + 1);
+                            trades.add(BacktestService.TradeRecord.builder()
+                                    .time(dt)
+                                    .type("BUY")
+                                    .price(close)
+                                    .quantity(Krw.toDecimal(qty))
+                                    .reason(BacktestSimulator.reasonOf(signal))
+                                    .pnlPercent(BigDecimal.ZERO)
+                                    .build());
+                        }
+                    }
+                } else if (signal.getType() == Signal.Type.SELL) {
+                    if (holdingQty > 0)
+                        sell(dt, closeKrw, BacktestSimulator.reasonOf(signal));
+                }
+                performance.onBar((double) (balance + holdingQty * closeKrw), holdingQty > 0);
+            }
+
+            // Session boundary: no overnight positions
+            int last = session.size() - 1;
+            if (holdingQty > 0)
+                sell(session.timestamp(last), Krw.of(session.close(last)), "장 마감 청산 (Session Close)");
+
+            dailyEquity.add(new EquityPoint(session.getDate(), (double) balance));
+        }
+
+        private void sell(LocalDateTime dt, long price, String reason) {
+            BigDecimal pnl = Krw.percentChange(entryPrice, price);
+
+            long proceeds = Krw.value(holdingQty, price);
+            balance += proceeds;
+            performance.onFill(proceeds);
+            performance.onClose(proceeds - Krw.value(holdingQty, entryPrice));
+            trades.add(BacktestService.TradeRecord.builder()
+                    .time(dt)
+                    .type("SELL")
+                    .price(Krw.toDecimal(price))
+                    .quantity(Krw.toDecimal(holdingQty))
+                    .reason(reason)
+                    .pnlPercent(pnl)
+                    .build());
+
+            holdingQty = 0L;
+            entryPrice = 0L;
+            balanceDecimal = Krw.toDecimal(balance);
+            entryPriceDecimal = BigDecimal.ZERO;
+        }
+
+        /**
+         * 현재 분봉 거래량 / 직전 VOLUME_PERIOD 개 분봉 평균 (창이 차기 전에는 0.0)
+         */
+        private double nextVolumeRatio(long volume) {
+            double ratio = 0.0;
+            if (volumeCount >= VOLUME_PERIOD && volumeSum > 0)
+                ratio = volume / ((double) volumeSum / VOLUME_PERIOD);
+
+            int slot = (int) (volumeCount % VOLUME_PERIOD);
+            volumeSum += volume - volumeRing[slot];
+            volumeRing[slot] = volume;
+            volumeCount++;
+            return ratio;
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class IntradayResult {
+        private String symbol;
+        private String strategyId;
+        private int tradingDays;
+        private long bars;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private int totalTrades;
+        private List<BacktestService.TradeRecord> trades;
+        private Map<String, Integer> rejectionStats;
+        private List<EquityPoint> dailyEquity; // 거래일별 장 마감 평가금액 (세션 종료 시 항상 현금)
+        private PerformanceTracker.Metrics metrics; // 분봉 단위 (연환산 = 252일 x 390분)
+        private long elapsedMs;
+    }
+}
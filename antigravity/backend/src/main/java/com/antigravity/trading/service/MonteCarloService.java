@@ -0,0 +1,210 @@
+package com.antigravity.trading.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 거래 순서 Monte Carlo 리샘플링 서비스.
+ * 백테스트의 단일 경로(TradeRecord 목록)에서 거래별 자산 승수를 추출하고, 이를 복원추출(BOOTSTRAP)
+ * 또는 순서 섞기(SHUFFLE) 하여 수익률/최대낙폭 분포를 추정합니다.
+ *
+ * 반복은 워커 단위 청크로 나뉘어 백테스트 전용 ForkJoinPool 에서 실행되며, 각 워커는 루트 RNG 에서
+ * split 한 SplittableRandom 과 자체 작업 배열을 사용하므로 반복마다 객체를 할당하지 않습니다.
+ * 같은 seed 는 병렬도와 무관하게 같은 결과를 냅니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonteCarloService {
+
+    public static final int MAX_ITERATIONS = 1_000_000;
+    private static final int CHUNK_SIZE = 4096;
+
+    public enum Method {
+        BOOTSTRAP, SHUFFLE
+    }
+
+    private final ForkJoinPool backtestForkJoinPool;
+
+    public MonteCarloSummary run(List<BacktestService.TradeRecord> trades, int iterations, Method method,
+            long seed) {
+        if (iterations <= 0 || iterations > MAX_ITERATIONS)
+            throw new IllegalArgumentException("iterations must be between 1 and " + MAX_ITERATIONS);
+
+        long startTime = System.nanoTime();
+        double[] multipliers = tradeMultipliers(trades);
+        int n = multipliers.length;
+        if (n == 0)
+            return MonteCarloSummary.builder().method(method).iterations(iterations).trades(0).build();
+
+        double[] returns = new double[iterations];
+        double[] drawdowns = new double[iterations];
+        int chunks = (iterations + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        // Split sequentially so chunk c always gets the same stream regardless of scheduling
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rngs = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++)
+            rngs[c] = root.split();
+
+        backtestForkJoinPool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(iterations, from + CHUNK_SIZE);
+            resampleChunk(multipliers, method, rngs[c], from, to, returns, drawdowns);
+        })).join();
+
+        double[] path = pathStats(multipliers);
+        double meanReturn = mean(returns);
+        int losses = 0;
+        for (double r : returns) {
+            if (r < 0)
+                losses++;
+        }
+        Arrays.sort(returns);
+        Arrays.sort(drawdowns);
+
+        MonteCarloSummary summary = MonteCarloSummary.builder()
+                .method(method)
+                .iterations(iterations)
+                .trades(n)
+                .originalReturnPercent(path[0])
+                .originalMaxDrawdownPercent(path[1])
+                .meanReturnPercent(meanReturn)
+                .returnP5(percentile(returns, 0.05))
+                .returnP25(percentile(returns, 0.25))
+                .returnP50(percentile(returns, 0.50))
+                .returnP75(percentile(returns, 0.75))
+                .returnP95(percentile(returns, 0.95))
+                .maxDrawdownP50(percentile(drawdowns, 0.50))
+                .maxDrawdownP95(percentile(drawdowns, 0.95))
+                .maxDrawdownP99(percentile(drawdowns, 0.99))
+                .worstMaxDrawdownPercent(drawdowns[iterations - 1])
+                .probabilityOfLoss((double) losses / iterations)
+                .elapsedMs((System.nanoTime() - startTime) / 1_000_000)
+                .build();
+        log.debug("Monte Carlo ({} x {} trades, {}) finished in {} ms", iterations, n, method,
+                summary.getElapsedMs());
+        return summary;
+    }
+
+    /**
+     * 매수/매도 쌍을 자산 승수로 변환합니다.
+     * 실제 잔고를 INITIAL_BALANCE 부터 재생하여 (청산 후 잔고 / 진입 전 잔고) 를 구하므로
+     * 포지션 비중과 강제 청산(pnlPercent=0 으로 기록됨)까지 정확히 반영됩니다.
+     */
+    static double[] tradeMultipliers(List<BacktestService.TradeRecord> trades) {
+        double[] out = new double[trades.size() / 2 + 1];
+        int count = 0;
+        double balance = BacktestSimulator.INITIAL_BALANCE.doubleValue();
+        double before = balance;
+        for (BacktestService.TradeRecord t : trades) {
+            double notional = t.getPrice().multiply(t.getQuantity()).doubleValue();
+            if ("BUY".equals(t.getType())) {
+                before = balance;
+                balance -= notional;
+            } else if ("SELL".equals(t.getType())) {
+                balance += notional;
+                if (before > 0)
+                    out[count++] = balance / before;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static void resampleChunk(double[] multipliers, Method method, SplittableRandom rng, int from, int to,
+            double[] returns, double[] drawdowns) {
+        int n = multipliers.length;
+        double[] deck = method == Method.SHUFFLE ? multipliers.clone() : null;
+        for (int it = from; it < to; it++) {
+            double equity = 1.0;
+            double peak = 1.0;
+            double maxDd = 0.0;
+            for (int k = 0; k < n; k++) {
+                double m;
+                if (deck != null) {
+                    // Incremental Fisher-Yates: the deck stays a permutation across iterations
+                    int j = k + rng.nextInt(n - k);
+                    m = deck[j];
+                    deck[j] = deck[k];
+                    deck[k] = m;
+                } else {
+                    m = multipliers[rng.nextInt(n)];
+                }
+                equity *= m;
+                if (equity > peak)
+                    peak = equity;
+                double dd = (peak - equity) / peak;
+                if (dd > maxDd)
+                    maxDd = dd;
+            }
+            returns[it] = (equity - 1.0) * 100.0;
+            drawdowns[it] = maxDd * 100.0;
+        }
+    }
+
+    /**
+     * 원래 순서대로의 경로 ([0] = 수익률 %, [1] = 최대낙폭 %)
+     */
+    private static double[] pathStats(double[] multipliers) {
+        double equity = 1.0;
+        double peak = 1.0;
+        double maxDd = 0.0;
+        for (double m : multipliers) {
+            equity *= m;
+            peak = Math.max(peak, equity);
+            maxDd = Math.max(maxDd, (peak - equity) / peak);
+        }
+        return new double[] { (equity - 1.0) * 100.0, maxDd * 100.0 };
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values)
+            sum += v;
+        return sum / values.length;
+    }
+
+    /**
+     * 정렬된 배열의 선형 보간 백분위수
+     */
+    static double percentile(double[] sorted, double q) {
+        double pos = q * (sorted.length - 1);
+        int lo = (int) Math.floor(pos);
+        int hi = Math.min(sorted.length - 1, lo + 1);
+        return sorted[lo] + (sorted[hi] - sorted[lo]) * (pos - lo);
+    }
+
+    /**
+     * 리샘플링 결과 요약 (단위: %)
+     */
+    @Getter
+    @Builder
+    public static class MonteCarloSummary {
+        private Method method;
+        private int iterations;
+        private int trades;
+        private double originalReturnPercent;
+        private double originalMaxDrawdownPercent;
+        private double meanReturnPercent;
+        private double returnP5;
+        private double returnP25;
+        private double returnP50;
+        private double returnP75;
+        private double returnP95;
+        private double maxDrawdownP50;
+        private double maxDrawdownP95;
+        private double maxDrawdownP99;
+        private double worstMaxDrawdownPercent;
+        private double probabilityOfLoss;
+        private long elapsedMs;
+    }
+}
@@ -0,0 +1,205 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.ParameterGrid;
+import com.antigravity.trading.engine.backtest.SeriesWindow;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 파라미터 스윕(그리드 서치) 서비스.
+ * 종목별 시계열/지표는 한 번만 계산하여 모든 파라미터 조합이 공유하고,
+ * 조합 평가는 백테스트 전용 ForkJoinPool 에서 병렬로 수행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParameterSweepService {
+
+    public static final int MAX_COMBINATIONS = 20_000;
+
+    private final CandleSeriesLoader candleSeriesLoader;
+    private final BacktestSimulator backtestSimulator;
+    private final StrategyRegistry strategyRegistry;
+    private final IndicatorCache indicatorCache;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    /**
+     * 파라미터 스윕 실행
+     *
+     * @param ranges 필드명 -> 스윕 범위
+     * @param top    반환할 상위 결과 수 (0 이하이면 전체)
+     */
+    public SweepResult sweep(List<String> symbols, LocalDateTime start, LocalDateTime end, String strategyId,
+            String baseParamsJson, Map<String, ParameterGrid.ParamRange> ranges, int top) {
+        long startTime = System.currentTimeMillis();
+        TradingStrategy strategy = requireStrategy(strategyId);
+        List<ParameterGrid.Candidate> candidates = ParameterGrid.expand(strategy, baseParamsJson, ranges,
+                MAX_COMBINATIONS);
+
+        List<SeriesWindow> windows = prepareWindows(symbols, start, end, strategy.requiredIndicators());
+        log.info("Sweeping {} combinations of {} over {} symbols", candidates.size(), strategy.getId(),
+                windows.size());
+
+        List<CandidateScore> scores = evaluate(strategy, candidates.stream()
+                .map(ParameterGrid.Candidate::getParams).collect(Collectors.toList()), windows);
+
+        List<CandidateScore> ranked = scores.stream()
+                .sorted(CandidateScore.RANKING)
+                .limit(top > 0 ? top : Long.MAX_VALUE)
+                .collect(Collectors.toList());
+        List<SweepRow> rows = new ArrayList<>(ranked.size());
+        for (CandidateScore score : ranked) {
+            ParameterGrid.Candidate candidate = candidates.get(score.getIndex());
+            rows.add(SweepRow.builder()
+                    .rank(rows.size() + 1)
+                    .values(candidate.getValues())
+                    .paramsJson(ParameterGrid.toJson(candidate.getParams()))
+                    .avgReturnPercent(score.getAvgReturnPercent())
+                    .minReturnPercent(score.getMinReturnPercent())
+                    .maxReturnPercent(score.getMaxReturnPercent())
+                    .totalTrades(score.getTotalTrades())
+                    .avgSharpe(score.getAvgSharpe())
+                    .maxDrawdownPercent(score.getMaxDrawdownPercent())
+                    .build());
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("Sweep finished in {} ms ({} simulations)", elapsed, (long) candidates.size() * windows.size());
+        return SweepResult.builder()
+                .strategyId(strategy.getId())
+                .symbols(windows.stream().map(w -> w.getSeries().getSymbol()).collect(Collectors.toList()))
+                .combinations(candidates.size())
+                .elapsedMs(elapsed)
+                .results(rows)
+                .build();
+    }
+
+    /**
+     * 각 파라미터 후보를 모든 구간에서 시뮬레이션하여 평균 수익률로 점수화합니다.
+     * 후보 단위로 병렬 실행되며 반환 목록의 순서는 입력 후보 순서와 같습니다.
+     */
+    public List<CandidateScore> evaluate(TradingStrategy strategy, List<StrategyParams> candidates,
+            List<SeriesWindow> windows) {
+        return backtestForkJoinPool.submit(() -> IntStream.range(0, candidates.size()).parallel()
+                .mapToObj(i -> score(i, strategy, candidates.get(i), windows))
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * 종목별 시계열과 지표를 병렬로 한 번씩 준비합니다. 데이터가 없는 종목은 제외됩니다.
+     *
+     * @param plan 평가할 전략들이 읽는 지표 (TradingStrategy.requiredIndicators 의 합집합)
+     */
+    public List<SeriesWindow> prepareWindows(List<String> symbols, LocalDateTime start, LocalDateTime end,
+            IndicatorPlan plan) {
+        List<String> universe = List.copyOf(new LinkedHashSet<>(symbols));
+        return backtestForkJoinPool.submit(() -> universe.parallelStream()
+                .map(symbol -> {
+                    CandleSeries series = candleSeriesLoader.load(symbol, start, end);
+                    return new SeriesWindow(series, indicatorCache.indicatorSet(series, plan),
+                            series.indexOnOrAfter(start), series.indexAfter(end));
+                })
+                .filter(w -> w.length() > 0)
+                .collect(Collectors.toList())).join();
+    }
+
+    public TradingStrategy requireStrategy(String strategyId) {
+        TradingStrategy strategy = strategyRegistry.getStrategy(strategyId != null ? strategyId : "S1");
+        if (strategy == null)
+            throw new IllegalArgumentException("Unknown Strategy ID: " + strategyId);
+        return strategy;
+    }
+
+    /**
+     * 단일 후보를 주어진 구간들에서 순차 시뮬레이션합니다. (호출 측에서 병렬화)
+     */
+    public CandidateScore score(int index, TradingStrategy strategy, StrategyParams params,
+            List<SeriesWindow> windows) {
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int trades = 0;
+        double sharpeSum = 0;
+        int sharpeCount = 0;
+        double worstDrawdown = 0;
+        for (SeriesWindow w : windows) {
+            BacktestSimulator.SimulationResult r = backtestSimulator.simulate(w.getSeries(), w.getIndicators(),
+                    strategy, params, w.getFrom(), w.getTo());
+            double ret = r.getTotalReturnPercent().doubleValue();
+            sum += ret;
+            min = Math.min(min, ret);
+            max = Math.max(max, ret);
+            trades += r.getTrades().size();
+            if (r.getMetrics().getSharpe() != null) {
+                sharpeSum += r.getMetrics().getSharpe();
+                sharpeCount++;
+            }
+            worstDrawdown = Math.max(worstDrawdown, r.getMetrics().getMaxDrawdownPercent());
+        }
+        int n = windows.size();
+        return new CandidateScore(index, n > 0 ? sum / n : 0.0, n > 0 ? min : 0.0, n > 0 ? max : 0.0, trades,
+                sharpeCount > 0 ? sharpeSum / sharpeCount : null, worstDrawdown);
+    }
+
+    /**
+     * 후보별 평가 점수
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class CandidateScore {
+        /** 평균 수익률 내림차순, 동률이면 입력 순서 */
+        public static final Comparator<CandidateScore> RANKING = Comparator
+                .comparingDouble(CandidateScore::getAvgReturnPercent).reversed()
+                .thenComparingInt(CandidateScore::getIndex);
+
+        private final int index;
+        private final double avgReturnPercent;
+        private final double minReturnPercent;
+        private final double maxReturnPercent;
+        private final int totalTrades;
+        private final Double avgSharpe; // 구간별 Sharpe 평균 (정의된 구간만)
+        private final double maxDrawdownPercent; // 구간 중 최대 낙폭의 최댓값
+    }
+
+    @Getter
+    @Builder
+    public static class SweepResult {
+        private String strategyId;
+        private List<String> symbols;
+        private int combinations;
+        private long elapsedMs;
+        private List<SweepRow> results;
+    }
+
+    @Getter
+    @Builder
+    public static class SweepRow {
+        private int rank;
+        private Map<String, Object> values;
+        private String paramsJson;
+        private double avgReturnPercent;
+        private double minReturnPercent;
+        private double maxReturnPercent;
+        private int totalTrades;
+        private Double avgSharpe;
+        private double maxDrawdownPercent;
+    }
+}
@@ -0,0 +1,222 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.entity.ScheduledStock;
+import com.antigravity.trading.domain.entity.TargetStock;
+import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.backtest.PerformanceTracker;
+import com.antigravity.trading.repository.ScheduledStockRepository;
+import com.antigravity.trading.repository.TargetStockRepository;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 다종목 포트폴리오 백테스트 서비스.
+ * 1) 종목별 데이터 로딩/지표 계산/단독 시뮬레이션을 ForkJoinPool 에서 병렬 실행하고,
+ * 2) 그 결과 위에서 현금을 공유하는 포트폴리오 시뮬레이션(PortfolioSimulation)을 일자 단위로 수행합니다.
+ *    보유 종목 수 제한 없이 신호 강도(confidence) 순으로 진입합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioBacktestService {
+
+    public static final String UNIVERSE_SCHEDULED = "SCHEDULED";
+    public static final String UNIVERSE_TARGET = "TARGET";
+
+    private static final BigDecimal MAX_POSITION_WEIGHT = new BigDecimal("0.5");
+
+    private final CandleSeriesLoader candleSeriesLoader;
+    private final BacktestSimulator backtestSimulator;
+    private final StrategyRegistry strategyRegistry;
+    private final IndicatorCache indicatorCache;
+    private final ScheduledStockRepository scheduledStockRepository;
+    private final TargetStockRepository targetStockRepository;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    /**
+     * 유니버스 이름으로 종목 목록 조회 (SCHEDULED: 활성 스케줄 종목, TARGET: 활성 타겟 종목)
+     */
+    public List<String> resolveUniverse(String universe) {
+        if (UNIVERSE_SCHEDULED.equalsIgnoreCase(universe)) {
+            return scheduledStockRepository.findByEnabledTrue().stream()
+                    .map(ScheduledStock::getSymbol)
+                    .collect(Collectors.toList());
+        }
+        if (UNIVERSE_TARGET.equalsIgnoreCase(universe)) {
+            return targetStockRepository.findByIsActiveTrue().stream()
+                    .map(TargetStock::getSymbol)
+                    .collect(Collectors.toList());
+        }
+        throw new IllegalArgumentException("Unknown universe: " + universe);
+    }
+
+    /**
+     * 포트폴리오 백테스트 실행
+     *
+     * @param positionWeight 신규 진입 1건당 총자산 대비 비중 (null 이면 1/종목수, 최대 50%).
+     *                       Signal.sizeFactor 가 곱해집니다.
+     */
+    public PortfolioResult runPortfolioBacktest(List<String> symbols, LocalDateTime start, LocalDateTime end,
+            String strategyId, String paramsJson, Double positionWeight) {
+        long startTime = System.currentTimeMillis();
+        List<String> universe = new ArrayList<>(new LinkedHashSet<>(symbols));
+        if (universe.isEmpty())
+            throw new IllegalArgumentException("No symbols to backtest");
+
+        TradingStrategy strategy = strategyRegistry.getStrategy(strategyId != null ? strategyId : "S1");
+        if (strategy == null)
+            throw new IllegalArgumentException("Unknown Strategy ID: " + strategyId);
+        StrategyParams params = BacktestSimulator.resolveParams(strategy, paramsJson);
+
+        log.info("Starting portfolio backtest: {} symbols, {} ~ {} (Strategy: {})", universe.size(), start, end,
+                strategy.getId());
+
+        // 1. Per-symbol load + indicators + standalone simulation (parallel)
+        List<SymbolRun> runs = backtestForkJoinPool.submit(() -> universe.parallelStream()
+                .map(symbol -> runSymbol(symbol, start, end, strategy, params))
+                .collect(Collectors.toList())).join();
+
+        List<SymbolRun> loaded = runs.stream().filter(r -> r.error == null && r.to > r.from)
+                .collect(Collectors.toList());
+
+        // 2. Shared-cash portfolio layer
+        BigDecimal weight = positionWeight != null && positionWeight > 0
+                ? BigDecimal.valueOf(positionWeight)
+                : BigDecimal.ONE.divide(BigDecimal.valueOf(universe.size()), 6, RoundingMode.DOWN)
+                        .min(MAX_POSITION_WEIGHT);
+        PortfolioResult.PortfolioResultBuilder result = simulatePortfolio(loaded, strategy, params, weight);
+
+        List<SymbolSummary> summaries = runs.stream().map(SymbolRun::toSummary).collect(Collectors.toList());
+        log.info("Portfolio backtest finished in {} ms ({} symbols, {} without data)",
+                System.currentTimeMillis() - startTime, universe.size(), runs.size() - loaded.size());
+
+        return result
+                .strategyId(strategy.getId())
+                .positionWeight(weight)
+                .symbols(summaries)
+                .build();
+    }
+
+    private SymbolRun runSymbol(String symbol, LocalDateTime start, LocalDateTime end, TradingStrategy strategy,
+            StrategyParams params) {
+        SymbolRun run = new SymbolRun(symbol);
+        try {
+            run.series = candleSeriesLoader.load(symbol, start, end);
+            run.indicators = indicatorCache.indicatorSet(run.series, strategy.requiredIndicators());
+            run.from = run.series.indexOnOrAfter(start);
+            run.to = run.series.indexAfter(end);
+            run.standalone = backtestSimulator.simulate(run.series, run.indicators, strategy, params, run.from,
+                    run.to);
+        } catch (Exception e) {
+            log.error("Portfolio backtest failed for {}: {}", symbol, e.getMessage());
+            run.error = e.getMessage();
+        }
+        return run;
+    }
+
+    private PortfolioResult.PortfolioResultBuilder simulatePortfolio(List<SymbolRun> runs, TradingStrategy strategy,
+            StrategyParams params, BigDecimal weight) {
+        // Weight in parts per million (weight carries at most 6 decimals)
+        long weightPpm = weight.movePointRight(6).setScale(0, RoundingMode.DOWN).longValueExact();
+        PortfolioSimulation.Result simulation = PortfolioSimulation.builder()
+                .series(runs.stream().map(r -> r.series).collect(Collectors.toList()))
+                .indicators(runs.stream().map(r -> r.indicators).collect(Collectors.toList()))
+                .from(runs.stream().mapToInt(r -> r.from).toArray())
+                .to(runs.stream().mapToInt(r -> r.to).toArray())
+                .strategy(strategy)
+                .params(params)
+                .allocNumerator(weightPpm)
+                .allocDenominator(1_000_000L)
+                .build()
+                .run();
+
+        return PortfolioResult.builder()
+                .initialBalance(BacktestSimulator.INITIAL_BALANCE)
+                .finalBalance(simulation.finalBalance())
+                .totalReturnPercent(simulation.totalReturnPercent())
+                .totalTrades(simulation.getTrades().size())
+                .trades(simulation.getTrades())
+                .equityCurve(simulation.getEquityCurve())
+                .metrics(simulation.getMetrics());
+    }
+
+    private static class SymbolRun {
+        private final String symbol;
+        private CandleSeries series;
+        private IndicatorSet indicators;
+        private int from;
+        private int to;
+        private BacktestSimulator.SimulationResult standalone;
+        private String error;
+
+        private SymbolRun(String symbol) {
+            this.symbol = symbol;
+        }
+
+        private SymbolSummary toSummary() {
+            SymbolSummary.SymbolSummaryBuilder summary = SymbolSummary.builder().symbol(symbol).error(error);
+            if (standalone != null) {
+                summary.candles(to - from)
+                        .finalBalance(standalone.getFinalBalance())
+                        .totalReturnPercent(standalone.getTotalReturnPercent())
+                        .totalTrades(standalone.getTrades().size());
+            }
+            return summary.build();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class PortfolioResult {
+        private String strategyId;
+        private BigDecimal positionWeight;
+        private BigDecimal initialBalance;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private int totalTrades;
+        private List<PortfolioTrade> trades;
+        private List<EquityPoint> equityCurve;
+        private PerformanceTracker.Metrics metrics; // 노출도 = 한 종목 이상 보유한 거래일 비율
+        private List<SymbolSummary> symbols; // 종목별 단독 시뮬레이션 결과
+    }
+
+    @Getter
+    @Builder
+    public static class SymbolSummary {
+        private String symbol;
+        private int candles;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private int totalTrades;
+        private String error;
+    }
+
+    @Getter
+    @Builder
+    public static class PortfolioTrade {
+        private String symbol;
+        private LocalDateTime time;
+        private String type;
+        private BigDecimal price;
+        private BigDecimal quantity;
+        private String reason;
+        private BigDecimal pnlPercent;
+    }
+}
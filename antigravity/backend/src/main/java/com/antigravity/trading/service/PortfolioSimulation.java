@@ -0,0 +1,320 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleMatrix;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.HistoryWindow;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.backtest.Krw;
+import com.antigravity.trading.engine.backtest.PerformanceTracker;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.engine.model.StrategyContext;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 현금을 공유하는 다종목 포트폴리오 시뮬레이션. (PortfolioBacktestService, UniverseBacktestService 공용)
+ * 거래일마다 그날 봉이 있는 종목에 전략을 평가하고, 매도 신호를 먼저 체결한 뒤
+ * 매수 후보를 점수 내림차순(동점이면 종목 코드순)으로 골라 빈 슬롯(maxOpen - 보유 종목 수)만큼 당일 종가로 진입합니다.
+ *
+ * - 진입 금액: 총자산 x allocNumerator / allocDenominator 에 Signal.sizeFactor 를 곱한 값 (보유 현금 한도)
+ * - 금액은 원 단위 고정소수점(Krw)으로 계산합니다.
+ * - 종목별 평가는 서로 독립이므로 pool 이 있으면 거래일 단위로 병렬 실행하고, 현금을 쓰는 체결 단계만 순차 실행합니다.
+ *
+ * 인스턴스는 run() 한 번에 사용합니다. 종목 인덱스(k) 로 접근하는 배열에 포지션을 보관합니다.
+ */
+final class PortfolioSimulation {
+
+    /**
+     * 매수 후보 점수 (클수록 먼저 진입)
+     */
+    @FunctionalInterface
+    interface Ranker {
+        double score(int k, int i, Signal signal);
+    }
+
+    static final Ranker BY_CONFIDENCE = (k, i, signal) -> signal.getConfidence();
+
+    private final List<CandleSeries> series;
+    private final List<IndicatorSet> indicators;
+    private final int[] to;
+    private final long[] calendar;
+    private final TradingStrategy strategy;
+    private final StrategyParams params;
+    private final int maxOpen;
+    private final long allocNumerator;
+    private final long allocDenominator;
+    private final Ranker ranker;
+    private final ForkJoinPool pool;
+    private final int n;
+
+    private final int[] cursor;
+    private final long[] qty;
+    private final long[] entryPrice;
+    private final long[] lastClose;
+    private final BigDecimal[] entryPriceDecimal;
+    private final StrategyContext[] contexts;
+    private final HistoryWindow[] histories;
+
+    // Per-day evaluation output, indexed by symbol
+    private final MarketEvent[] events;
+    private final Signal[] signals;
+
+    private long cash = BacktestSimulator.INITIAL_BALANCE_KRW;
+    private BigDecimal cashDecimal = BacktestSimulator.INITIAL_BALANCE;
+    private int open;
+    private long evaluations;
+    private final List<PortfolioBacktestService.PortfolioTrade> trades = new ArrayList<>();
+    private final PerformanceTracker performance = PerformanceTracker.daily();
+
+    /**
+     * @param from     종목별 시뮬레이션 시작 인덱스 (null 이면 0)
+     * @param to       종목별 시뮬레이션 끝 인덱스, 미포함 (null 이면 시계열 길이)
+     * @param calendar 정렬된 거래일 (null 이면 종목별 [from, to) 거래일의 합집합)
+     * @param maxOpen  동시 보유 종목 수 상한 (0 이하이면 제한 없음)
+     * @param ranker   매수 후보 점수 (null 이면 Signal.confidence)
+     * @param pool     종목별 평가를 병렬 실행할 풀 (null 이면 순차)
+     */
+    @Builder
+    private PortfolioSimulation(List<CandleSeries> series, List<IndicatorSet> indicators, int[] from, int[] to,
+            long[] calendar, TradingStrategy strategy, StrategyParams params, int maxOpen, long allocNumerator,
+            long allocDenominator, Ranker ranker, ForkJoinPool pool) {
+        if (allocNumerator <= 0 || allocDenominator <= 0)
+            throw new IllegalArgumentException("Allocation must be positive");
+        this.series = series;
+        this.indicators = indicators;
+        this.n = series.size();
+        this.cursor = from != null ? from.clone() : new int[n];
+        this.to = to != null ? to : series.stream().mapToInt(CandleSeries::size).toArray();
+        this.calendar = calendar != null ? calendar : CandleMatrix.unionOfDays(series, cursor, this.to);
+        this.strategy = strategy;
+        this.params = params;
+        this.maxOpen = maxOpen > 0 ? maxOpen : Integer.MAX_VALUE;
+        this.allocNumerator = allocNumerator;
+        this.allocDenominator = allocDenominator;
+        this.ranker = ranker != null ? ranker : BY_CONFIDENCE;
+        this.pool = pool;
+        this.qty = new long[n];
+        this.entryPrice = new long[n];
+        this.lastClose = new long[n];
+        this.entryPriceDecimal = new BigDecimal[n];
+        this.contexts = new StrategyContext[n];
+        this.histories = new HistoryWindow[n];
+        this.events = new MarketEvent[n];
+        this.signals = new Signal[n];
+        Arrays.fill(entryPriceDecimal, BigDecimal.ZERO);
+    }
+
+    Result run() {
+        List<EquityPoint> equityCurve = new ArrayList<>(calendar.length);
+        int[] active = new int[n];
+        List<Candidate> buys = new ArrayList<>();
+
+        for (long day : calendar) {
+            int activeCount = 0;
+            for (int k = 0; k < n; k++) {
+                if (cursor[k] < to[k] && series.get(k).epochDay(cursor[k]) == day)
+                    active[activeCount++] = k;
+            }
+            evaluations += activeCount;
+
+            // Strategy evaluation is independent per symbol
+            int[] today = Arrays.copyOf(active, activeCount);
+            if (pool != null)
+                pool.submit(() -> IntStream.of(today).parallel().forEach(this::evaluate)).join();
+            else
+                for (int k : today)
+                    evaluate(k);
+
+            // Exits first so that freed cash and slots are available to today's entries
+            for (int k : today) {
+                if (signals[k].getType() == Signal.Type.SELL && qty[k] > 0)
+                    sell(k, events[k].getTimestamp(), BacktestSimulator.reasonOf(signals[k]));
+            }
+
+            buys.clear();
+            for (int k : today) {
+                if (signals[k].getType() == Signal.Type.BUY && qty[k] == 0)
+                    buys.add(new Candidate(k, ranker.score(k, cursor[k], signals[k])));
+            }
+            if (!buys.isEmpty() && open < maxOpen) {
+                long equity = markToMarket();
+                for (Candidate c : selectTop(buys, maxOpen - open))
+                    buy(c.index, equity);
+            }
+            cashDecimal = Krw.toDecimal(cash);
+
+            for (int k : today) {
+                cursor[k]++;
+                events[k] = null;
+                signals[k] = null;
+            }
+
+            double dayEquity = (double) markToMarket();
+            equityCurve.add(new EquityPoint(LocalDate.ofEpochDay(day), dayEquity));
+            performance.onBar(dayEquity, open > 0);
+        }
+
+        // Force Liquidate at End
+        for (int k = 0; k < n; k++) {
+            if (qty[k] > 0)
+                sell(k, series.get(k).timestamp(to[k] - 1), "만기 청산 (Force Liquidation)");
+        }
+
+        return new Result(cash, evaluations, trades, equityCurve, performance.snapshot());
+    }
+
+    private void evaluate(int k) {
+        CandleSeries s = series.get(k);
+        int i = cursor[k];
+        MarketEvent event = BacktestSimulator.buildEvent(s, indicators.get(k), i);
+        lastClose[k] = Krw.of(s.close(i));
+
+        StrategyContext context = contexts[k];
+        if (context == null) {
+            histories[k] = HistoryWindow.of(s);
+            context = StrategyContext.builder()
+                    .symbol(s.getSymbol())
+                    .history(histories[k])
+                    .dailyEntryCount(0)
+                    .extraData(new HashMap<>())
+                    .build();
+            contexts[k] = context;
+        }
+        histories[k].advanceTo(i);
+        context.setHasPosition(qty[k] > 0);
+        context.setEntryPrice(entryPriceDecimal[k]);
+        context.setQuantity(qty[k]);
+        context.setAvailableCash(cashDecimal);
+        context.setHighWaterMark(event.getHigh());
+
+        events[k] = event;
+        signals[k] = strategy.evaluate(event, context, params);
+    }
+
+    /**
+     * 상위 limit 개 후보 (점수 내림차순). 후보가 더 많으면 크기 limit 의 최소 힙으로 O(m log limit) 에 선택합니다.
+     */
+    private List<Candidate> selectTop(List<Candidate> candidates, int limit) {
+        Comparator<Candidate> order = Comparator.comparingDouble((Candidate c) -> c.score).reversed()
+                .thenComparing(c -> series.get(c.index).getSymbol());
+        if (candidates.size() <= limit) {
+            List<Candidate> all = new ArrayList<>(candidates);
+            all.sort(order);
+            return all;
+        }
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, order.reversed());
+        for (Candidate c : candidates) {
+            heap.offer(c);
+            if (heap.size() > limit)
+                heap.poll();
+        }
+        List<Candidate> selected = new ArrayList<>(heap);
+        selected.sort(order);
+        return selected;
+    }
+
+    private void buy(int k, long equity) {
+        long price = lastClose[k];
+        if (price <= 0)
+            return;
+        Signal signal = signals[k];
+        double sizeFactor = signal.getSizeFactor() > 0 ? Math.min(signal.getSizeFactor(), 1.0) : 1.0;
+        long alloc = Krw.allocate(equity, allocNumerator, allocDenominator);
+        if (sizeFactor < 1.0)
+            alloc = (long) Math.floor(alloc * sizeFactor);
+        long shares = Krw.shares(Math.min(alloc, cash), price);
+        if (shares <= 0)
+            return;
+
+        long cost = Krw.value(shares, price);
+        cash -= cost;
+        performance.onFill(cost);
+        qty[k] = shares;
+        entryPrice[k] = price;
+        entryPriceDecimal[k] = Krw.toDecimal(price, series.get(k).getPriceScale());
+        open++;
+        trades.add(PortfolioBacktestService.PortfolioTrade.builder().symbol(series.get(k).getSymbol())
+                .time(events[k].getTimestamp()).type("BUY").price(entryPriceDecimal[k])
+                .quantity(Krw.toDecimal(shares)).reason(BacktestSimulator.reasonOf(signal))
+                .pnlPercent(BigDecimal.ZERO).build());
+    }
+
+    private void sell(int k, LocalDateTime time, String reason) {
+        long price = lastClose[k];
+        long proceeds = Krw.value(qty[k], price);
+        cash += proceeds;
+        performance.onFill(proceeds);
+        performance.onClose(proceeds - Krw.value(qty[k], entryPrice[k]));
+        trades.add(PortfolioBacktestService.PortfolioTrade.builder().symbol(series.get(k).getSymbol()).time(time)
+                .type("SELL").price(Krw.toDecimal(price, series.get(k).getPriceScale()))
+                .quantity(Krw.toDecimal(qty[k])).reason(reason).pnlPercent(Krw.percentChange(entryPrice[k], price)).build());
+        qty[k] = 0L;
+        entryPrice[k] = 0L;
+        entryPriceDecimal[k] = BigDecimal.ZERO;
+        open--;
+    }
+
+    private long markToMarket() {
+        long equity = cash;
+        for (int k = 0; k < n; k++) {
+            if (qty[k] > 0)
+                equity += Krw.value(qty[k], lastClose[k]);
+        }
+        return equity;
+    }
+
+    private static final class Candidate {
+        private final int index;
+        private final double score;
+
+        private Candidate(int index, double score) {
+            this.index = index;
+            this.score = score;
+        }
+    }
+
+    /**
+     * 시뮬레이션 결과 (최종 현금은 모든 포지션 청산 후 금액)
+     */
+    @Getter
+    static final class Result {
+        private final long finalCash;
+        private final long evaluations; // 종목 x 거래일 전략 평가 횟수
+        private final List<PortfolioBacktestService.PortfolioTrade> trades;
+        private final List<EquityPoint> equityCurve;
+        private final PerformanceTracker.Metrics metrics;
+
+        private Result(long finalCash, long evaluations, List<PortfolioBacktestService.PortfolioTrade> trades,
+                List<EquityPoint> equityCurve, PerformanceTracker.Metrics metrics) {
+            this.finalCash = finalCash;
+            this.evaluations = evaluations;
+            this.trades = trades;
+            this.equityCurve = equityCurve;
+            this.metrics = metrics;
+        }
+
+        BigDecimal finalBalance() {
+            return Krw.toDecimal(finalCash);
+        }
+
+        BigDecimal totalReturnPercent() {
+            return Krw.percentChange(BacktestSimulator.INITIAL_BALANCE_KRW, finalCash);
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.antigravity.trading.service;
 
 import com.antigravity.trading.domain.entity.TargetStock;
+import com.antigravity.trading.engine.LiveIndicators;
+import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.engine.model.StrategyContext;
 import com.antigravity.trading.repository.TargetStockRepository;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -19,13 +33,30 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class RealTimeTrader {
 
+    // Enough daily bars for SMA60 and for the Wilder averages (RSI/ATR) to settle
+    private static final int INDICATOR_SEED_DAYS = 400;
+    private static final DateTimeFormatter TICK_TIME = DateTimeFormatter.ofPattern("HHmmss");
+
     private final TargetStockRepository targetStockRepository;
     private final KillSwitchService killSwitchService;
     private final NotificationService notificationService;
+    private final CandleStreamReader candleStreamReader;
+    private final StrategyRegistry strategyRegistry;
+    private final DecisionLogWriter decisionLogWriter;
+
+    // 실시간 이벤트로 평가할 전략 ID (비우면 평가 안 함). 주문은 아직 내지 않고 결정만 DecisionLog 에 기록합니다.
+    @Value("${trading.live.strategy-id:S1}")
+    private String liveStrategyId;
 
     // 메모리에 로드된 활성 타겟 목록 (빠른 조회를 위해 캐싱)
     private final ConcurrentHashMap<String, TargetStock> activeTargets = new ConcurrentHashMap<>();
 
+    // 종목별 증분 지표 (틱마다 과거 이력을 다시 계산하지 않음)
+    private final ConcurrentHashMap<String, LiveIndicators> liveIndicators = new ConcurrentHashMap<>();
+
+    // 종목별 실시간 전략 평가 상태
+    private final ConcurrentHashMap<String, LiveDecision> liveDecisions = new ConcurrentHashMap<>();
+
     /**
      * 애플리케이션 시작 시(혹은 장 시작 시) 활성 타겟 로드
      */
@@ -54,13 +85,47 @@ public class RealTimeTrader {
         activeTargets.clear();
         for (TargetStock target : targets) {
             activeTargets.put(target.getSymbol(), target);
+            indicatorsFor(target.getSymbol());
             if (webSocketClient != null) {
                 webSocketClient.subscribe(target.getSymbol());
             }
         }
+        liveIndicators.keySet().retainAll(activeTargets.keySet());
+        liveDecisions.keySet().retainAll(activeTargets.keySet());
         log.info("Loaded {} active targets and subscribed.", activeTargets.size());
     }
 
+    /**
+     * 종목의 지표 상태 (없으면 DB 이력으로 초기화).
+     * 초기화는 DB 조회이므로 computeIfAbsent 밖에서 수행합니다. (맵의 해시 구간을 잠근 채 쿼리하지 않도록)
+     * 두 스레드가 동시에 초기화하면 먼저 등록된 쪽을 사용합니다.
+     */
+    private LiveIndicators indicatorsFor(String symbol) {
+        LiveIndicators indicators = liveIndicators.get(symbol);
+        if (indicators != null)
+            return indicators;
+        LiveIndicators seeded = seedIndicators(symbol);
+        LiveIndicators existing = liveIndicators.putIfAbsent(symbol, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    /**
+     * 전일까지의 DB 일봉으로 지표 상태를 초기화합니다. 당일 캔들은 틱으로 채웁니다.
+     */
+    private LiveIndicators seedIndicators(String symbol) {
+        LiveIndicators indicators = new LiveIndicators(symbol);
+        LocalDate today = LocalDate.now();
+        try {
+            long bars = candleStreamReader.readDaily(symbol, today.minusDays(INDICATOR_SEED_DAYS).atStartOfDay(),
+                    today.atStartOfDay().minusNanos(1),
+                    (s, time, o, h, l, c, v) -> indicators.addClosedBar(o, h, l, c, v));
+            log.debug("Seeded live indicators for {} with {} bars", symbol, bars);
+        } catch (Exception e) {
+            log.warn("Failed to seed live indicators for {}: {}", symbol, e.getMessage());
+        }
+        return indicators;
+    }
+
     public void onTick(String payload) {
         // Payload Format: SYMBOL^TIME^PRICE^... (Delimiter might be ^ or | depending on
         // msg)
@@ -75,38 +140,41 @@ public class RealTimeTrader {
             String symbol = parts[0];
             String time = parts[1];
             java.math.BigDecimal currentPrice = new java.math.BigDecimal(parts[2]);
-            // Volume? Index 13 usually accumulated volume?
-            // Need robust parsing. For prototype, just Price.
+            // H0STCNT0: index 13 = ACML_VOL (accumulated volume of the day)
+            long cumulativeVolume = parts.length > 13 ? Long.parseLong(parts[13]) : -1L;
 
-            onPriceUpdate(symbol, currentPrice);
+            onPriceUpdate(symbol, LocalDate.now().atTime(LocalTime.parse(time, TICK_TIME)), currentPrice,
+                    cumulativeVolume);
         } catch (Exception e) {
             log.error("Tick Parsing Error", e); // Verbose in prod
         }
     }
 
     public void onPriceUpdate(String symbol, java.math.BigDecimal currentPrice) {
+        onPriceUpdate(symbol, LocalDateTime.now(), currentPrice, -1L);
+    }
+
+    /**
+     * @param cumulativeVolume 당일 누적 거래량 (알 수 없으면 음수)
+     */
+    public void onPriceUpdate(String symbol, LocalDateTime time, java.math.BigDecimal currentPrice,
+            long cumulativeVolume) {
         if (!killSwitchService.isSystemActive() || !activeTargets.containsKey(symbol)) {
             return;
         }
 
-        // Fetch History for Context (e.g. Daily Candles)
-        // Performance Note: Fetching API on every tick is too slow.
-        // Should Cache history and update last candle in memory.
-        // For Prototype: Fetch only every N seconds or Use Cache.
-        // Let's Fetch Daily Chart (Limit 1 per minute per symbol? KIS rate limit 20
-        // req/sec).
-        // Strategy needs "Candles".
-
-        // Optimize: Only analyze if (Time % 60 == 0) or similar?
-        // Or fetch history async.
-
-        // Logic:
-        // 1. Get History (Sync for now, assume low traffic)
-        // List<CandleDto> history = kisApiClient.getDailyChart(symbol)... -> mapped to
-        // DTO
-        // But KisApiClient returns Response. Need Controller's mapping reasoning or
-        // direct usage.
-        // Let's use KisApiClient result directly and map to DTO manually here.
+        // O(1) per tick: the in-progress daily bar is folded into the incremental indicators
+        LiveIndicators indicators = indicatorsFor(symbol);
+        indicators.addTick(time, currentPrice.doubleValue(), cumulativeVolume);
+        // The event is built only when a strategy evaluates it or it is logged
+        TradingStrategy strategy = liveStrategy();
+        if (strategy != null || log.isDebugEnabled()) {
+            MarketEvent event = indicators.event(time);
+            log.debug("Live event {}: rsi={} atr={} donchianHigh={} volumeRatio={}", symbol, event.getRsi(),
+                    event.getAtr(), event.getDonchianHigh(), event.getVolumeRatio());
+            if (strategy != null)
+                evaluate(symbol, strategy, event);
+        }
 
         // Simplified for Speed: Just log tick for now. Strategy execution requires data
         // aggregation.
@@ -132,4 +200,64 @@ public class RealTimeTrader {
         // For demonstration, we just log.
         log.debug("Processing Tick for {}: {}", symbol, currentPrice);
     }
+
+    /**
+     * 실시간 평가 전략. 평가 결과는 DecisionLog 로만 쓰이므로 기록이 꺼져 있으면 평가하지 않습니다.
+     */
+    private TradingStrategy liveStrategy() {
+        if (liveStrategyId == null || liveStrategyId.isBlank() || !decisionLogWriter.isEnabled())
+            return null;
+        return strategyRegistry.getStrategy(liveStrategyId);
+    }
+
+    /**
+     * 실시간 이벤트로 전략을 평가하고 결정을 DecisionLog 에 기록합니다. (traceId = live-{종목}-{일자})
+     * 틱마다 같은 신호가 반복되므로 신호 종류가 바뀔 때만 기록합니다.
+     */
+    private void evaluate(String symbol, TradingStrategy strategy, MarketEvent event) {
+        LiveDecision state = liveDecisions.computeIfAbsent(symbol, s -> new LiveDecision(s, strategy));
+        synchronized (state) {
+            if (state.strategy != strategy)
+                state.reset(strategy);
+            state.context.setHighWaterMark(event.getHigh());
+            Signal signal = strategy.evaluate(event, state.context, state.params);
+            if (signal.getType() == state.lastType)
+                return;
+            state.lastType = signal.getType();
+            decisionLogWriter.record("live-" + symbol + "-" + event.getTimestamp().toLocalDate(), symbol, event,
+                    signal, state.context.isHasPosition());
+        }
+    }
+
+    /**
+     * 종목별 실시간 평가 상태: 전략이 extraData 에 보관하는 상태와 마지막으로 기록한 신호.
+     * 보유 수량은 아직 추적하지 않으므로 미보유 상태로 평가합니다.
+     */
+    private static final class LiveDecision {
+        private final String symbol;
+        private TradingStrategy strategy;
+        private StrategyParams params;
+        private StrategyContext context;
+        private Signal.Type lastType;
+
+        private LiveDecision(String symbol, TradingStrategy strategy) {
+            this.symbol = symbol;
+            reset(strategy);
+        }
+
+        private void reset(TradingStrategy strategy) {
+            this.strategy = strategy;
+            this.params = strategy.getDefaultParams();
+            this.context = StrategyContext.builder()
+                    .symbol(symbol)
+                    .hasPosition(false)
+                    .entryPrice(BigDecimal.ZERO)
+                    .quantity(0L)
+                    .dailyEntryCount(0)
+                    .availableCash(BigDecimal.ZERO)
+                    .extraData(new HashMap<>())
+                    .build();
+            this.lastType = null;
+        }
+    }
 }
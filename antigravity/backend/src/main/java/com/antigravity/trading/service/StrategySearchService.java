@@ -0,0 +1,205 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.ParameterGrid;
+import com.antigravity.trading.engine.backtest.SeriesWindow;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 대규모 전략/파라미터 탐색용 Successive Halving 서비스.
+ * 모든 후보를 짧은 초기 구간에서 평가하고, 상위 1/eta 만 eta 배 긴 구간으로 승급시키는 과정을
+ * 전체 기간에 도달할 때까지 반복합니다. 초반에 명백히 나쁜 조합은 짧은 구간만 시뮬레이션하고 탈락합니다.
+ *
+ * 구간은 모두 start 에서 시작하는 접두(prefix) 구간이며, 시계열/지표는 종목별로 한 번만 준비해 공유합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StrategySearchService {
+
+    public static final int MAX_CANDIDATES = 100_000;
+
+    private final ParameterSweepService parameterSweepService;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    /**
+     * @param spaces        전략별 탐색 공간 (여러 전략을 한 번에 경쟁시킬 수 있음)
+     * @param initialMonths 첫 라운드 평가 구간 길이 (개월)
+     * @param eta           라운드마다 구간 배율이자 탈락 비율 (상위 1/eta 생존)
+     * @param top           반환할 상위 결과 수 (0 이하이면 최종 라운드 전체)
+     */
+    public SearchResult search(List<String> symbols, LocalDateTime start, LocalDateTime end,
+            List<SearchSpace> spaces, int initialMonths, int eta, int top) {
+        if (spaces == null || spaces.isEmpty())
+            throw new IllegalArgumentException("At least one search space is required");
+        if (initialMonths <= 0 || eta < 2)
+            throw new IllegalArgumentException("initialMonths must be positive and eta must be >= 2");
+
+        long startTime = System.currentTimeMillis();
+        List<Arm> arms = new ArrayList<>();
+        IndicatorPlan plan = IndicatorPlan.NONE;
+        for (SearchSpace space : spaces) {
+            TradingStrategy strategy = parameterSweepService.requireStrategy(space.getStrategyId());
+            plan = plan.union(strategy.requiredIndicators());
+            for (ParameterGrid.Candidate c : ParameterGrid.expand(strategy, space.getParams(), space.getRanges(),
+                    MAX_CANDIDATES - arms.size())) {
+                arms.add(new Arm(strategy, c));
+            }
+        }
+
+        List<SeriesWindow> full = parameterSweepService.prepareWindows(symbols, start, end, plan);
+        long fullBars = full.stream().mapToLong(SeriesWindow::length).sum();
+        log.info("Successive halving: {} candidates over {} symbols (eta={}, initial={}m)", arms.size(),
+                full.size(), eta, initialMonths);
+
+        List<Arm> survivors = arms;
+        List<ParameterSweepService.CandidateScore> ranked = List.of();
+        List<RungSummary> rungs = new ArrayList<>();
+        long simulatedBars = 0;
+        long months = initialMonths;
+        LocalDate lastDay = end.toLocalDate();
+        while (true) {
+            LocalDate rungEnd = start.toLocalDate().plusMonths(months);
+            // A lone survivor has nothing left to compete with, so it goes straight to full history
+            boolean finalRung = survivors.size() == 1 || !rungEnd.isBefore(lastDay);
+            List<SeriesWindow> windows = finalRung ? full : prefix(full, rungEnd);
+            long rungBars = windows.stream().mapToLong(SeriesWindow::length).sum();
+
+            List<Arm> current = survivors;
+            List<ParameterSweepService.CandidateScore> scores = backtestForkJoinPool.submit(() -> IntStream
+                    .range(0, current.size()).parallel()
+                    .mapToObj(i -> parameterSweepService.score(i, current.get(i).strategy,
+                            current.get(i).candidate.getParams(), windows))
+                    .collect(Collectors.toList())).join();
+            ranked = scores.stream().sorted(ParameterSweepService.CandidateScore.RANKING)
+                    .collect(Collectors.toList());
+            simulatedBars += rungBars * current.size();
+
+            int keep = finalRung ? current.size() : Math.max(1, (current.size() + eta - 1) / eta);
+            rungs.add(RungSummary.builder()
+                    .rung(rungs.size())
+                    .evaluatedUntil(finalRung ? lastDay : rungEnd)
+                    .candidates(current.size())
+                    .survivors(keep)
+                    .bestAvgReturnPercent(ranked.isEmpty() ? 0.0 : ranked.get(0).getAvgReturnPercent())
+                    .build());
+            if (finalRung)
+                break;
+
+            survivors = ranked.stream().limit(keep).map(s -> current.get(s.getIndex()))
+                    .collect(Collectors.toList());
+            months *= eta;
+        }
+
+        List<SearchRow> rows = new ArrayList<>();
+        for (ParameterSweepService.CandidateScore score : ranked) {
+            if (top > 0 && rows.size() >= top)
+                break;
+            Arm arm = survivors.get(score.getIndex());
+            rows.add(SearchRow.builder()
+                    .rank(rows.size() + 1)
+                    .strategyId(arm.strategy.getId())
+                    .values(arm.candidate.getValues())
+                    .paramsJson(ParameterGrid.toJson(arm.candidate.getParams()))
+                    .avgReturnPercent(score.getAvgReturnPercent())
+                    .minReturnPercent(score.getMinReturnPercent())
+                    .maxReturnPercent(score.getMaxReturnPercent())
+                    .totalTrades(score.getTotalTrades())
+                    .build());
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        long bruteForceBars = fullBars * arms.size();
+        log.info("Successive halving finished in {} ms: {} of {} brute-force bars simulated", elapsed,
+                simulatedBars, bruteForceBars);
+        return SearchResult.builder()
+                .symbols(full.stream().map(w -> w.getSeries().getSymbol()).collect(Collectors.toList()))
+                .candidates(arms.size())
+                .simulatedBars(simulatedBars)
+                .bruteForceBars(bruteForceBars)
+                .elapsedMs(elapsed)
+                .rungs(rungs)
+                .results(rows)
+                .build();
+    }
+
+    /**
+     * 각 종목 구간을 [from, rungEnd) 접두 구간으로 자릅니다. 빈 구간은 제외됩니다.
+     */
+    private List<SeriesWindow> prefix(List<SeriesWindow> full, LocalDate rungEnd) {
+        List<SeriesWindow> windows = new ArrayList<>(full.size());
+        for (SeriesWindow w : full) {
+            int to = Math.min(w.getTo(), w.getSeries().lowerBound(rungEnd.toEpochDay()));
+            if (to > w.getFrom())
+                windows.add(w.slice(w.getFrom(), to));
+        }
+        return windows;
+    }
+
+    @RequiredArgsConstructor
+    private static class Arm {
+        private final TradingStrategy strategy;
+        private final ParameterGrid.Candidate candidate;
+    }
+
+    /**
+     * 전략 하나의 탐색 공간
+     */
+    @Data
+    public static class SearchSpace {
+        private String strategyId;
+        private String params;
+        private Map<String, ParameterGrid.ParamRange> ranges = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Builder
+    public static class RungSummary {
+        private int rung;
+        private LocalDate evaluatedUntil;
+        private int candidates;
+        private int survivors;
+        private double bestAvgReturnPercent;
+    }
+
+    @Getter
+    @Builder
+    public static class SearchResult {
+        private List<String> symbols;
+        private int candidates;
+        private long simulatedBars;
+        private long bruteForceBars; // 전체 후보 x 전체 기간 시뮬레이션 시의 bar 수
+        private long elapsedMs;
+        private List<RungSummary> rungs;
+        private List<SearchRow> results;
+    }
+
+    @Getter
+    @Builder
+    public static class SearchRow {
+        private int rank;
+        private String strategyId;
+        private Map<String, Object> values;
+        private String paramsJson;
+        private double avgReturnPercent;
+        private double minReturnPercent;
+        private double maxReturnPercent;
+        private int totalTrades;
+    }
+}
@@ -0,0 +1,212 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.entity.StockMaster;
+import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.backtest.CandleMatrix;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.PerformanceTracker;
+import com.antigravity.trading.repository.StockMasterRepository;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 전 종목 횡단면(cross-sectional) 백테스트 서비스.
+ * 메모리 상주 CandleMatrix 위에서 거래일마다 유니버스의 모든 종목에 전략을 평가하고,
+ * 매도 신호를 먼저 처리한 뒤 매수 신호를 순위 기준으로 정렬하여 빈 슬롯(topK - 보유 종목 수)만큼 진입합니다.
+ *
+ * 체결은 PortfolioBacktestService 와 같은 공유 현금 엔진(PortfolioSimulation)을 사용하며,
+ * 종목별 평가는 서로 독립이므로 거래일 단위로 backtestForkJoinPool 에서 병렬 실행합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniverseBacktestService {
+
+    private final CandleMatrixCache candleMatrixCache;
+    private final StrategyRegistry strategyRegistry;
+    private final StockMasterRepository stockMasterRepository;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    /**
+     * 매수 후보 순위 기준 (모두 내림차순, 동점이면 종목 코드순)
+     */
+    public enum Ranking {
+        CONFIDENCE, // Signal.confidence
+        VOLUME_RATIO, // 20일 평균 대비 거래량 배수
+        TURNOVER // 거래대금 (종가 x 거래량)
+    }
+
+    /**
+     * 종목 마스터 전체 코드
+     */
+    public List<String> allSymbols() {
+        return stockMasterRepository.findAll().stream()
+                .map(StockMaster::getCode)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 유니버스 매트릭스를 미리 적재합니다. (이후 같은 유니버스/구간 백테스트는 DB 를 조회하지 않음)
+     */
+    public MatrixInfo preload(List<String> symbols, LocalDateTime start, LocalDateTime end) {
+        requireRange(start, end);
+        long startTime = System.currentTimeMillis();
+        CandleMatrix matrix = candleMatrixCache.get(resolveUniverse(symbols), start, end);
+        return MatrixInfo.of(matrix, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 횡단면 백테스트 실행
+     *
+     * @param symbols 유니버스 (null 또는 비어 있으면 종목 마스터 전체)
+     * @param topK    동시 보유 종목 수 상한. 신규 진입 1건당 총자산의 1/topK 에 Signal.sizeFactor 를 곱해 배분합니다.
+     */
+    public UniverseResult run(List<String> symbols, LocalDateTime start, LocalDateTime end, String strategyId,
+            String paramsJson, int topK, Ranking ranking) {
+        if (topK < 1)
+            throw new IllegalArgumentException("topK must be >= 1");
+        requireRange(start, end);
+
+        TradingStrategy strategy = strategyRegistry.getStrategy(strategyId != null ? strategyId : "S1");
+        if (strategy == null)
+            throw new IllegalArgumentException("Unknown Strategy ID: " + strategyId);
+        StrategyParams params = BacktestSimulator.resolveParams(strategy, paramsJson);
+        Ranking rankBy = ranking != null ? ranking : Ranking.CONFIDENCE;
+
+        long startTime = System.currentTimeMillis();
+        List<String> universe = resolveUniverse(symbols);
+        CandleMatrix matrix = candleMatrixCache.get(universe, start, end);
+        long loadMillis = System.currentTimeMillis() - startTime;
+
+        log.info("Starting universe backtest: {} symbols ({} with data), {} trading days, top {} by {} (Strategy: {})",
+                universe.size(), matrix.symbolCount(), matrix.calendar().length, topK, rankBy, strategy.getId());
+
+        PortfolioSimulation.Result simulation = PortfolioSimulation.builder()
+                .series(matrix.allSeries())
+                .indicators(matrix.allIndicators())
+                .calendar(matrix.calendar())
+                .strategy(strategy)
+                .params(params)
+                .maxOpen(topK)
+                .allocNumerator(1)
+                .allocDenominator(topK)
+                .ranker(ranker(matrix, rankBy))
+                .pool(backtestForkJoinPool)
+                .build()
+                .run();
+        long simulationMillis = System.currentTimeMillis() - startTime - loadMillis;
+        log.info("Universe backtest finished in {} ms (load {} ms)", simulationMillis, loadMillis);
+
+        return UniverseResult.builder()
+                .initialBalance(BacktestSimulator.INITIAL_BALANCE)
+                .finalBalance(simulation.finalBalance())
+                .totalReturnPercent(simulation.totalReturnPercent())
+                .signalsEvaluated(simulation.getEvaluations())
+                .totalTrades(simulation.getTrades().size())
+                .trades(simulation.getTrades())
+                .equityCurve(simulation.getEquityCurve())
+                .metrics(simulation.getMetrics())
+                .strategyId(strategy.getId())
+                .ranking(rankBy)
+                .topK(topK)
+                .universeSize(universe.size())
+                .symbolsWithData(matrix.symbolCount())
+                .tradingDays(matrix.calendar().length)
+                .loadMillis(loadMillis)
+                .simulationMillis(simulationMillis)
+                .build();
+    }
+
+    private static void requireRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || start.isAfter(end))
+            throw new IllegalArgumentException("start must be before end");
+    }
+
+    private List<String> resolveUniverse(List<String> symbols) {
+        List<String> universe = symbols != null && !symbols.isEmpty()
+                ? new ArrayList<>(new LinkedHashSet<>(symbols))
+                : allSymbols();
+        if (universe.isEmpty())
+            throw new IllegalArgumentException("No symbols to backtest");
+        return universe;
+    }
+
+    /**
+     * 매수 후보 점수 (i: 종목 k 의 당일 봉 인덱스)
+     */
+    private static PortfolioSimulation.Ranker ranker(CandleMatrix matrix, Ranking ranking) {
+        switch (ranking) {
+            case VOLUME_RATIO:
+                return (k, i, signal) -> {
+                    double ratio = matrix.indicators(k).volumeRatio20(i);
+                    return Double.isNaN(ratio) ? Double.NEGATIVE_INFINITY : ratio;
+                };
+            case TURNOVER:
+                return (k, i, signal) -> matrix.series(k).close(i) * matrix.series(k).volume(i);
+            default:
+                return PortfolioSimulation.BY_CONFIDENCE;
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class UniverseResult {
+        private String strategyId;
+        private Ranking ranking;
+        private int topK;
+        private int universeSize;
+        private int symbolsWithData;
+        private int tradingDays;
+        private long signalsEvaluated; // 종목 x 거래일 전략 평가 횟수
+        private BigDecimal initialBalance;
+        private BigDecimal finalBalance;
+        private BigDecimal totalReturnPercent;
+        private int totalTrades;
+        private List<PortfolioBacktestService.PortfolioTrade> trades;
+        private List<EquityPoint> equityCurve;
+        private PerformanceTracker.Metrics metrics; // 노출도 = 한 종목 이상 보유한 거래일 비율
+        private long loadMillis; // 매트릭스 적재 (재사용 시 0 에 가까움)
+        private long simulationMillis;
+    }
+
+    /**
+     * 적재된 매트릭스 정보
+     */
+    @Getter
+    @Builder
+    public static class MatrixInfo {
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private int symbols;
+        private long candles;
+        private int tradingDays;
+        private long estimatedBytes;
+        private long elapsedMillis;
+
+        private static MatrixInfo of(CandleMatrix matrix, long elapsedMillis) {
+            return MatrixInfo.builder()
+                    .start(matrix.getStart())
+                    .end(matrix.getEnd())
+                    .symbols(matrix.symbolCount())
+                    .candles(matrix.candleCount())
+                    .tradingDays(matrix.calendar().length)
+                    .estimatedBytes(matrix.estimatedBytes())
+                    .elapsedMillis(elapsedMillis)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.backtest.ParameterGrid;
+import com.antigravity.trading.engine.backtest.SeriesWindow;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 워크포워드(Walk-Forward) 최적화 서비스.
+ * [start, end] 를 롤링 In-Sample / Out-of-Sample 윈도우로 나누어
+ * IS 구간에서 파라미터를 최적화하고, 선택된 파라미터로 OOS 구간을 실행한 뒤 OOS 자산 곡선을 이어 붙입니다.
+ *
+ * 시계열과 지표는 전체 기간에 대해 한 번만 로딩/계산하며, 모든 윈도우가 인덱스 구간으로 공유합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WalkForwardService {
+
+    private static final int MIN_WINDOW_BARS = 20;
+
+    private final CandleSeriesLoader candleSeriesLoader;
+    private final BacktestSimulator backtestSimulator;
+    private final ParameterSweepService parameterSweepService;
+    private final IndicatorCache indicatorCache;
+    private final ForkJoinPool backtestForkJoinPool;
+
+    /**
+     * 워크포워드 실행
+     *
+     * @param inSampleMonths     IS 구간 길이 (개월)
+     * @param outOfSampleMonths  OOS 구간 길이 (개월), 윈도우는 이 길이만큼 전진합니다.
+     */
+    public WalkForwardResult run(String symbol, LocalDateTime start, LocalDateTime end, String strategyId,
+            String baseParamsJson, Map<String, ParameterGrid.ParamRange> ranges, int inSampleMonths,
+            int outOfSampleMonths) {
+        if (inSampleMonths <= 0 || outOfSampleMonths <= 0)
+            throw new IllegalArgumentException("Window lengths must be positive");
+
+        long startTime = System.currentTimeMillis();
+        TradingStrategy strategy = parameterSweepService.requireStrategy(strategyId);
+        List<ParameterGrid.Candidate> candidates = ParameterGrid.expand(strategy, baseParamsJson, ranges,
+                ParameterSweepService.MAX_COMBINATIONS);
+        List<StrategyParams> candidateParams = candidates.stream().map(ParameterGrid.Candidate::getParams)
+                .collect(Collectors.toList());
+
+        // Single load + single indicator pass over the whole range
+        CandleSeries series = candleSeriesLoader.load(symbol, start, end);
+        IndicatorSet indicators = indicatorCache.indicatorSet(series, strategy.requiredIndicators());
+        List<WindowSpec> specs = buildWindows(series, start, end, inSampleMonths, outOfSampleMonths);
+        log.info("Walk-forward {}: {} windows x {} candidates", symbol, specs.size(), candidates.size());
+
+        // Windows run concurrently; each window's sweep fans out again on the same pool.
+        List<WindowRun> runs = backtestForkJoinPool.submit(() -> specs.parallelStream()
+                .map(spec -> runWindow(spec, series, indicators, strategy, candidates, candidateParams))
+                .collect(Collectors.toList())).join();
+
+        // Stitch OOS equity: each segment starts flat at INITIAL_BALANCE, so chain by segment returns.
+        double initial = BacktestSimulator.INITIAL_BALANCE.doubleValue();
+        List<WindowResult> windows = new ArrayList<>(runs.size());
+        List<EquityPoint> stitched = new ArrayList<>();
+        double capital = initial;
+        double inSampleSum = 0;
+        double outOfSampleSum = 0;
+        for (WindowRun run : runs) {
+            WindowResult w = run.result;
+            for (int k = 0; k < run.equity.length; k++) {
+                stitched.add(new EquityPoint(series.date(run.oosFrom + k), capital * run.equity[k] / initial));
+            }
+            capital *= 1.0 + w.getOutOfSampleReturnPercent() / 100.0;
+            inSampleSum += w.getInSampleReturnPercent();
+            outOfSampleSum += w.getOutOfSampleReturnPercent();
+            windows.add(w);
+        }
+
+        int n = windows.size();
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("Walk-forward {} finished in {} ms", symbol, elapsed);
+
+        return WalkForwardResult.builder()
+                .symbol(symbol)
+                .strategyId(strategy.getId())
+                .inSampleMonths(inSampleMonths)
+                .outOfSampleMonths(outOfSampleMonths)
+                .windows(windows)
+                .stitchedEquity(stitched)
+                .totalOutOfSampleReturnPercent((capital - initial) / initial * 100.0)
+                // Walk-forward efficiency: mean OOS return relative to mean IS return
+                .efficiency(n > 0 && inSampleSum != 0 ? (outOfSampleSum / n) / (inSampleSum / n) : 0.0)
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    private List<WindowSpec> buildWindows(CandleSeries series, LocalDateTime start, LocalDateTime end,
+            int inSampleMonths, int outOfSampleMonths) {
+        List<WindowSpec> specs = new ArrayList<>();
+        int last = series.indexAfter(end);
+        LocalDate isStart = start.toLocalDate();
+        while (true) {
+            LocalDate oosStart = isStart.plusMonths(inSampleMonths);
+            LocalDate oosEnd = oosStart.plusMonths(outOfSampleMonths);
+            int isFrom = Math.max(series.lowerBound(isStart.toEpochDay()), series.indexOnOrAfter(start));
+            int oosFrom = series.lowerBound(oosStart.toEpochDay());
+            int oosTo = Math.min(series.lowerBound(oosEnd.toEpochDay()), last);
+            if (oosFrom >= last)
+                break;
+            if (oosFrom - isFrom >= MIN_WINDOW_BARS && oosTo > oosFrom)
+                specs.add(new WindowSpec(isFrom, oosFrom, oosTo));
+            isStart = isStart.plusMonths(outOfSampleMonths);
+        }
+        return specs;
+    }
+
+    private WindowRun runWindow(WindowSpec spec, CandleSeries series, IndicatorSet indicators,
+            TradingStrategy strategy, List<ParameterGrid.Candidate> candidates, List<StrategyParams> params) {
+        SeriesWindow inSample = new SeriesWindow(series, indicators, spec.isFrom, spec.oosFrom);
+        ParameterSweepService.CandidateScore best = parameterSweepService
+                .evaluate(strategy, params, List.of(inSample)).stream()
+                .min(ParameterSweepService.CandidateScore.RANKING)
+                .orElseThrow();
+        ParameterGrid.Candidate chosen = candidates.get(best.getIndex());
+
+        BacktestSimulator.SimulationResult oos = backtestSimulator.simulate(series, indicators, strategy,
+                chosen.getParams(), spec.oosFrom, spec.oosTo, true);
+
+        WindowResult result = WindowResult.builder()
+                .inSampleStart(series.date(spec.isFrom))
+                .inSampleEnd(series.date(spec.oosFrom - 1))
+                .outOfSampleStart(series.date(spec.oosFrom))
+                .outOfSampleEnd(series.date(spec.oosTo - 1))
+                .bestValues(chosen.getValues())
+                .bestParamsJson(ParameterGrid.toJson(chosen.getParams()))
+                .inSampleReturnPercent(best.getAvgReturnPercent())
+                .outOfSampleReturnPercent(oos.getTotalReturnPercent().doubleValue())
+                .outOfSampleTrades(oos.getTrades().size())
+                .build();
+        return new WindowRun(result, spec.oosFrom, oos.getEquityCurve());
+    }
+
+    @RequiredArgsConstructor
+    private static class WindowSpec {
+        private final int isFrom;
+        private final int oosFrom; // IS 구간의 exclusive 끝이자 OOS 시작
+        private final int oosTo;
+    }
+
+    @RequiredArgsConstructor
+    private static class WindowRun {
+        private final WindowResult result;
+        private final int oosFrom;
+        private final double[] equity; // OOS 구간 bar 별 자산 (INITIAL_BALANCE 기준)
+    }
+
+    @Getter
+    @Builder
+    public static class WindowResult {
+        private LocalDate inSampleStart;
+        private LocalDate inSampleEnd;
+        private LocalDate outOfSampleStart;
+        private LocalDate outOfSampleEnd;
+        private Map<String, Object> bestValues;
+        private String bestParamsJson;
+        private double inSampleReturnPercent;
+        private double outOfSampleReturnPercent;
+        private int outOfSampleTrades;
+    }
+
+    @Getter
+    @Builder
+    public static class WalkForwardResult {
+        private String symbol;
+        private String strategyId;
+        private int inSampleMonths;
+        private int outOfSampleMonths;
+        private List<WindowResult> windows;
+        private List<EquityPoint> stitchedEquity;
+        private double totalOutOfSampleReturnPercent;
+        private double efficiency;
+        private long elapsedMs;
+    }
+}
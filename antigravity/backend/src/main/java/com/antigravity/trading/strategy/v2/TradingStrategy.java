@@ -1,5 +1,6 @@
 package com.antigravity.trading.strategy.v2;
 
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
 import com.antigravity.trading.engine.model.MarketEvent;
 import com.antigravity.trading.engine.model.Signal;
 import com.antigravity.trading.engine.model.StrategyContext;
@@ -15,4 +16,12 @@ public interface TradingStrategy {
     Signal evaluate(MarketEvent event, StrategyContext context, StrategyParams params);
 
     Class<? extends StrategyParams> getParamsClass();
+
+    /**
+     * evaluate() 가 읽는 MarketEvent 보조지표 목록. 백테스트는 이 지표만 계산하며, 나머지 지표 필드는 null 입니다.
+     * (volumeRatio 는 0.0) 기본값은 전체 지표입니다.
+     */
+    default IndicatorPlan requiredIndicators() {
+        return IndicatorPlan.ALL;
+    }
 }
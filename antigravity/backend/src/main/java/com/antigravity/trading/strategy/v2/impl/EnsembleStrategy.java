@@ -1,5 +1,6 @@
 package com.antigravity.trading.strategy.v2.impl;
 
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
 import com.antigravity.trading.engine.model.MarketEvent;
 import com.antigravity.trading.engine.model.Signal;
 import com.antigravity.trading.engine.model.StrategyContext;
@@ -7,16 +8,30 @@ import com.antigravity.trading.strategy.v2.StrategyParams;
 import com.antigravity.trading.strategy.v2.TradingStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class EnsembleStrategy implements TradingStrategy {
 
     private final DonchianStrategy s1;
     private final PullbackStrategy s2;
     private final VolatilitySqueezeStrategy s3;
+    // Components run with their default params; built once instead of per bar
+    private final StrategyParams p1;
+    private final StrategyParams p2;
+    private final StrategyParams p3;
+    // Shared indicators (ATR14, VOLUME_RATIO20, ...) are computed once for all components
+    private final IndicatorPlan plan;
+
+    public EnsembleStrategy(DonchianStrategy s1, PullbackStrategy s2, VolatilitySqueezeStrategy s3) {
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+        this.p1 = s1.getDefaultParams();
+        this.p2 = s2.getDefaultParams();
+        this.p3 = s3.getDefaultParams();
+        this.plan = s1.requiredIndicators().union(s2.requiredIndicators()).union(s3.requiredIndicators());
+    }
 
     @Data
     @EqualsAndHashCode(callSuper = true)
@@ -48,18 +63,19 @@ public class EnsembleStrategy implements TradingStrategy {
         return Params.class;
     }
 
+    @Override
+    public IndicatorPlan requiredIndicators() {
+        return plan;
+    }
+
     @Override
     public Signal evaluate(MarketEvent event, StrategyContext context, StrategyParams baseParams) {
         Params params = (Params) baseParams;
 
         // Evaluate inputs
-        Signal sig1 = s1.evaluate(event, context, s1.getDefaultParams()); // Using default params for components for now
-        Signal sig2 = s2.evaluate(event, context, s2.getDefaultParams());
-        Signal sig3 = s3.evaluate(event, context, s3.getDefaultParams());
-
-        double score1 = getScore(sig1);
-        double score2 = getScore(sig2);
-        double score3 = getScore(sig3);
+        double score1 = getScore(s1.evaluate(event, context, p1));
+        double score2 = getScore(s2.evaluate(event, context, p2));
+        double score3 = getScore(s3.evaluate(event, context, p3));
 
         double finalScore = (score1 * params.w1) + (score2 * params.w2) + (score3 * params.w3);
 
@@ -1,5 +1,7 @@
 package com.antigravity.trading.strategy.v2.impl;
 
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
 import com.antigravity.trading.engine.model.MarketEvent;
 import com.antigravity.trading.engine.model.Signal;
 import com.antigravity.trading.engine.model.StrategyContext;
@@ -14,6 +16,9 @@ import java.math.BigDecimal;
 @Component
 public class OpeningRangeStrategy implements TradingStrategy {
 
+    // Opening range comes from the intraday session; only the volume filter is a precomputed indicator
+    private static final IndicatorPlan PLAN = IndicatorPlan.of(IndicatorSet.VOLUME_RATIO20);
+
     @Data
     @EqualsAndHashCode(callSuper = true)
     public static class Params extends StrategyParams {
@@ -44,6 +49,11 @@ public class OpeningRangeStrategy implements TradingStrategy {
         return Params.class;
     }
 
+    @Override
+    public IndicatorPlan requiredIndicators() {
+        return PLAN;
+    }
+
     @Override
     public Signal evaluate(MarketEvent event, StrategyContext context, StrategyParams baseParams) {
         Params params = (Params) baseParams;
@@ -1,5 +1,7 @@
 package com.antigravity.trading.strategy.v2.impl;
 
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
 import com.antigravity.trading.engine.model.MarketEvent;
 import com.antigravity.trading.engine.model.Signal;
 import com.antigravity.trading.engine.model.StrategyContext;
@@ -15,6 +17,10 @@ import java.util.Map;
 @Component
 public class PullbackStrategy implements TradingStrategy {
 
+    // Trend filter (MA60) + RSI pullback, ATR trailing stop
+    private static final IndicatorPlan PLAN = IndicatorPlan.of(IndicatorSet.SMA60, IndicatorSet.RSI14,
+            IndicatorSet.ATR14);
+
     @Data
     @EqualsAndHashCode(callSuper = true)
     public static class Params extends StrategyParams {
@@ -45,6 +51,11 @@ public class PullbackStrategy implements TradingStrategy {
         return Params.class;
     }
 
+    @Override
+    public IndicatorPlan requiredIndicators() {
+        return PLAN;
+    }
+
     @Override
     public Signal evaluate(MarketEvent event, StrategyContext context, StrategyParams baseParams) {
         Params params = (Params) baseParams;
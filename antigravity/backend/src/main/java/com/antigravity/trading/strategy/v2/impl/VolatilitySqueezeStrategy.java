@@ -1,22 +1,31 @@
 package com.antigravity.trading.strategy.v2.impl;
 
 import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
 import com.antigravity.trading.engine.model.MarketEvent;
 import com.antigravity.trading.engine.model.Signal;
 import com.antigravity.trading.engine.model.StrategyContext;
 import com.antigravity.trading.strategy.v2.StrategyParams;
 import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.util.RollingOrderStatistics;
 import com.antigravity.trading.util.TechnicalIndicators;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Component
 public class VolatilitySqueezeStrategy implements TradingStrategy {
 
+    private static final String ATR_WINDOW_KEY = "S3_atrWindow";
+    private static final int ATR_PERIOD = 14; // MarketEvent.atr period
+    private static final IndicatorPlan PLAN = IndicatorPlan.of(IndicatorSet.ATR14, IndicatorSet.DONCHIAN_HIGH20,
+            IndicatorSet.VOLUME_RATIO20);
+
     @Data
     @EqualsAndHashCode(callSuper = true)
     public static class Params extends StrategyParams {
@@ -48,53 +57,29 @@ public class VolatilitySqueezeStrategy implements TradingStrategy {
         return Params.class;
     }
 
+    @Override
+    public IndicatorPlan requiredIndicators() {
+        return PLAN;
+    }
+
     @Override
     public Signal evaluate(MarketEvent event, StrategyContext context, StrategyParams baseParams) {
         Params params = (Params) baseParams;
 
+        // ATR percentile window is updated on every bar, flat or not, so it never has gaps
+        AtrWindow atrWindow = atrWindow(params, context);
+        if (event.getAtr() != null)
+            atrWindow.update(event.getTimestamp(), event.getAtr());
+
         // 1. Entry Logic
         if (!context.isHasPosition()) {
             if (event.getAtr() == null)
                 return Signal.none();
 
-            // Check ATR Percentile
-            // Need History
-            List<CandleDto> history = context.getHistory();
-            if (history == null || history.size() < params.percentileWindow)
+            // Check ATR Percentile: rank of the current ATR among the last percentileWindow ATRs
+            if (!atrWindow.stats.isFull())
                 return Signal.none();
-
-            // Re-calc ATR history needed? Or assume pre-calculated and cached somewhere?
-            // Calculating ATR for 100 candles every step is expensive inside loop?
-            // Better if BacktestService passes pre-calculated indicator series or S3
-            // calculates once.
-            // For now, calculate on the fly (performance hit but correct logic).
-            // Actually, simplified approach: Compare current ATR to Min/Max of last N ATRs?
-            // "Percentile < 20%" logic requires distribution.
-            // Let's implement simpler: ATR < (Min(ATR 100) + (Max-Min)*0.2) ?
-
-            // Optimization: MarketEvent could provide "atrPercentile" if indicators engine
-            // supports it.
-            // But doing it here:
-            // Fetch last N candles
-            List<CandleDto> recent = history.subList(Math.max(0, history.size() - params.percentileWindow),
-                    history.size());
-            List<Double> atrs = TechnicalIndicators.calculateAtr(recent, 14); // 14-period ATR
-
-            if (atrs.isEmpty())
-                return Signal.none();
-            double currentAtr = atrs.get(atrs.size() - 1);
-
-            // Rank
-            int rank = 0;
-            int count = 0;
-            for (Double a : atrs) {
-                if (a != null) {
-                    if (a < currentAtr)
-                        rank++;
-                    count++;
-                }
-            }
-            double percentile = (double) rank / count * 100.0;
+            double percentile = atrWindow.stats.percentRank(event.getAtr());
             boolean isSqueeze = percentile <= params.atrPercentileThreshold;
 
             // Breakout Condition
@@ -155,4 +140,46 @@ public class VolatilitySqueezeStrategy implements TradingStrategy {
 
         return Signal.none();
     }
+
+    /**
+     * 컨텍스트에 보관된 ATR 윈도우. 처음 사용할 때 현재 캔들 이전의 history 로 윈도우를 채웁니다.
+     * (백테스트가 시계열 중간부터 시작해도 이전 구간의 ATR 분포를 그대로 사용)
+     * history 는 현재 캔들까지의 구간이므로 마지막 요소(현재 캔들)는 제외합니다.
+     */
+    private AtrWindow atrWindow(Params params, StrategyContext context) {
+        Object existing = context.getExtraData().get(ATR_WINDOW_KEY);
+        if (existing instanceof AtrWindow && ((AtrWindow) existing).stats.window() == params.percentileWindow)
+            return (AtrWindow) existing;
+
+        AtrWindow window = new AtrWindow(params.percentileWindow);
+        List<CandleDto> history = context.getHistory();
+        if (history != null && history.size() > 1) {
+            int end = history.size() - 1;
+            List<Double> atrs = TechnicalIndicators.calculateAtr(history.subList(0, end), ATR_PERIOD);
+            for (int i = Math.max(0, end - (params.percentileWindow - 1)); i < end; i++) {
+                if (atrs.get(i) != null)
+                    window.stats.push(atrs.get(i));
+            }
+        }
+        context.getExtraData().put(ATR_WINDOW_KEY, window);
+        return window;
+    }
+
+    private static final class AtrWindow {
+        private final RollingOrderStatistics stats;
+        private LocalDateTime lastTime;
+
+        private AtrWindow(int percentileWindow) {
+            this.stats = new RollingOrderStatistics(percentileWindow);
+        }
+
+        private void update(LocalDateTime time, double atr) {
+            // The same bar evaluated again (e.g. live re-evaluation) replaces its value
+            if (lastTime != null && time != null && !time.isAfter(lastTime))
+                stats.replaceLast(atr);
+            else
+                stats.push(atr);
+            lastTime = time;
+        }
+    }
 }
@@ -0,0 +1,533 @@
+package com.antigravity.trading.util;
+
+/**
+ * TechnicalIndicators 의 증분(스트리밍) 버전.
+ * 확정된 캔들을 update() 로 한 개씩 넣으면 O(1) 에 최신 값을 돌려주며, 과거 구간을 다시 계산하지 않습니다.
+ * 같은 입력 순서라면 배치 계산(primitive kernels)의 같은 인덱스 값과 일치합니다. (정의되지 않으면 NaN, 거래량 비율은 0.0)
+ *
+ * - preview(): 진행 중인(아직 확정되지 않은) 캔들이 지금 값으로 마감된다고 가정한 지표 값. 상태는 바뀌지 않으므로
+ *   틱마다 호출해도 되고, 캔들이 확정되면 마지막 값으로 update() 를 한 번 호출합니다.
+ * - snapshot() / restore(): 상태 복사본을 만들고 되돌립니다. 비용은 O(period) 입니다.
+ * - resume(): Wilder 평활(RSI, ATR) 은 전체 이력에 의존하므로, 저장해 둔 상태 값으로 이어서 계산합니다.
+ *   윈도우 지표(SMA, 최대/최소, 거래량 비율) 는 마지막 period 개 캔들을 다시 update() 하면 같은 상태가 됩니다.
+ *
+ * NaN 입력은 고려하지 않으며, 각 인스턴스는 한 스레드에서만 사용합니다.
+ */
+public final class IncrementalIndicators {
+
+    private IncrementalIndicators() {
+    }
+
+    /**
+     * 단순 이동평균
+     */
+    public static final class Sma {
+        private final int period;
+        private final double[] ring;
+        private int head;
+        private long count;
+        private double sum;
+
+        public Sma(int period) {
+            this.period = requirePeriod(period);
+            this.ring = new double[period];
+        }
+
+        public double update(double price) {
+            // Same running-sum order as the batch kernel, so values match bit for bit
+            if (count >= period)
+                sum += price - ring[head];
+            else
+                sum += price;
+            ring[head] = price;
+            head = (head + 1) % period;
+            count++;
+            return value();
+        }
+
+        public double preview(double price) {
+            if (count + 1 < period)
+                return Double.NaN;
+            double s = count >= period ? sum + (price - ring[head]) : sum + price;
+            return s / period;
+        }
+
+        public double value() {
+            return count >= period ? sum / period : Double.NaN;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public Sma snapshot() {
+            Sma copy = new Sma(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        public void restore(Sma snapshot) {
+            requireSamePeriod(period, snapshot.period);
+            System.arraycopy(snapshot.ring, 0, ring, 0, period);
+            head = snapshot.head;
+            count = snapshot.count;
+            sum = snapshot.sum;
+        }
+    }
+
+    /**
+     * 지수 이동평균 (alpha = 2 / (period + 1), 처음 period 개의 단순 평균으로 시작)
+     */
+    public static final class Ema {
+        private final int period;
+        private final double alpha;
+        private long count;
+        private double seedSum;
+        private double ema = Double.NaN;
+
+        public Ema(int period) {
+            this.period = requirePeriod(period);
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        public double update(double price) {
+            ema = preview(price);
+            if (count < period)
+                seedSum += price;
+            count++;
+            return ema;
+        }
+
+        public double preview(double price) {
+            if (count + 1 < period)
+                return Double.NaN;
+            if (count + 1 == period)
+                return (seedSum + price) / period;
+            return ema + alpha * (price - ema);
+        }
+
+        public double value() {
+            return ema;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public Ema snapshot() {
+            Ema copy = new Ema(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        public void restore(Ema snapshot) {
+            requireSamePeriod(period, snapshot.period);
+            count = snapshot.count;
+            seedSum = snapshot.seedSum;
+            ema = snapshot.ema;
+        }
+    }
+
+    /**
+     * Wilder RSI (처음 period 개 변화량의 단순 평균 후 Wilder 평활)
+     */
+    public static final class Rsi {
+        private final int period;
+        private long count;
+        private double prevPrice;
+        private double avgGain;
+        private double avgLoss;
+        private double rsi = Double.NaN;
+
+        public Rsi(int period) {
+            this.period = requirePeriod(period);
+        }
+
+        /**
+         * 저장된 상태에서 이어서 계산합니다. (prevPrice(), avgGain(), avgLoss() 와 count() 로 저장한 값)
+         */
+        public static Rsi resume(int period, long count, double prevPrice, double avgGain, double avgLoss) {
+            Rsi rsi = new Rsi(period);
+            rsi.count = count;
+            rsi.prevPrice = prevPrice;
+            rsi.avgGain = avgGain;
+            rsi.avgLoss = avgLoss;
+            rsi.rsi = count > period ? TechnicalIndicators.rsi(avgGain, avgLoss) : Double.NaN;
+            return rsi;
+        }
+
+        public double update(double price) {
+            if (count > 0) {
+                double change = price - prevPrice;
+                double gain = (change > 0) ? change : 0.0;
+                double loss = (change > 0) ? 0.0 : Math.abs(change);
+                if (count < period) {
+                    avgGain += gain;
+                    avgLoss += loss;
+                } else if (count == period) {
+                    avgGain = (avgGain + gain) / period;
+                    avgLoss = (avgLoss + loss) / period;
+                    rsi = TechnicalIndicators.rsi(avgGain, avgLoss);
+                } else {
+                    avgGain = (avgGain * (period - 1) + gain) / period;
+                    avgLoss = (avgLoss * (period - 1) + loss) / period;
+                    rsi = TechnicalIndicators.rsi(avgGain, avgLoss);
+                }
+            }
+            prevPrice = price;
+            count++;
+            return rsi;
+        }
+
+        public double preview(double price) {
+            if (count < period)
+                return Double.NaN;
+            double change = price - prevPrice;
+            double gain = (change > 0) ? change : 0.0;
+            double loss = (change > 0) ? 0.0 : Math.abs(change);
+            if (count == period)
+                return TechnicalIndicators.rsi((avgGain + gain) / period, (avgLoss + loss) / period);
+            return TechnicalIndicators.rsi((avgGain * (period - 1) + gain) / period,
+                    (avgLoss * (period - 1) + loss) / period);
+        }
+
+        public double value() {
+            return rsi;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double prevPrice() {
+            return prevPrice;
+        }
+
+        // Running sums while count <= period, Wilder averages afterwards
+        public double avgGain() {
+            return avgGain;
+        }
+
+        public double avgLoss() {
+            return avgLoss;
+        }
+
+        public Rsi snapshot() {
+            Rsi copy = new Rsi(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        public void restore(Rsi snapshot) {
+            requireSamePeriod(period, snapshot.period);
+            count = snapshot.count;
+            prevPrice = snapshot.prevPrice;
+            avgGain = snapshot.avgGain;
+            avgLoss = snapshot.avgLoss;
+            rsi = snapshot.rsi;
+        }
+    }
+
+    /**
+     * Wilder ATR (처음 period 개 True Range 의 단순 평균 후 Wilder 평활)
+     */
+    public static final class Atr {
+        private final int period;
+        private long count;
+        private double prevClose;
+        private double sumTr;
+        private double atr = Double.NaN;
+
+        public Atr(int period) {
+            this.period = requirePeriod(period);
+        }
+
+        /**
+         * 저장된 상태에서 이어서 계산합니다. (prevClose(), sumTr(), value() 와 count() 로 저장한 값)
+         */
+        public static Atr resume(int period, long count, double prevClose, double sumTr, double atr) {
+            Atr resumed = new Atr(period);
+            resumed.count = count;
+            resumed.prevClose = prevClose;
+            resumed.sumTr = sumTr;
+            resumed.atr = count >= period ? atr : Double.NaN;
+            return resumed;
+        }
+
+        public double update(double high, double low, double close) {
+            double tr = TechnicalIndicators.trueRange(high, low, count == 0 ? close : prevClose);
+            if (count < period) {
+                sumTr += tr;
+                if (count == period - 1)
+                    atr = sumTr / period;
+            } else {
+                atr = (atr * (period - 1) + tr) / period;
+            }
+            prevClose = close;
+            count++;
+            return atr;
+        }
+
+        public double preview(double high, double low, double close) {
+            if (count + 1 < period)
+                return Double.NaN;
+            double tr = TechnicalIndicators.trueRange(high, low, count == 0 ? close : prevClose);
+            if (count + 1 == period)
+                return (sumTr + tr) / period;
+            return (atr * (period - 1) + tr) / period;
+        }
+
+        public double value() {
+            return atr;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double prevClose() {
+            return prevClose;
+        }
+
+        // Only meaningful while seeding (count < period)
+        public double sumTr() {
+            return sumTr;
+        }
+
+        public Atr snapshot() {
+            Atr copy = new Atr(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        public void restore(Atr snapshot) {
+            requireSamePeriod(period, snapshot.period);
+            count = snapshot.count;
+            prevClose = snapshot.prevClose;
+            sumTr = snapshot.sumTr;
+            atr = snapshot.atr;
+        }
+    }
+
+    /**
+     * 최근 period 개의 최댓값 (Donchian 상단). 단조 감소 덱으로 분할 상환 O(1) 입니다.
+     */
+    public static final class RollingMax {
+        private final MonotonicDeque deque;
+
+        public RollingMax(int period) {
+            this.deque = new MonotonicDeque(requirePeriod(period), true);
+        }
+
+        private RollingMax(MonotonicDeque deque) {
+            this.deque = deque;
+        }
+
+        public double update(double value) {
+            deque.push(value);
+            return deque.value();
+        }
+
+        public double preview(double value) {
+            return deque.preview(value);
+        }
+
+        public double value() {
+            return deque.value();
+        }
+
+        public long count() {
+            return deque.count;
+        }
+
+        public RollingMax snapshot() {
+            return new RollingMax(deque.copy());
+        }
+
+        public void restore(RollingMax snapshot) {
+            deque.restore(snapshot.deque);
+        }
+    }
+
+    /**
+     * 최근 period 개의 최솟값 (Donchian 하단). 단조 증가 덱으로 분할 상환 O(1) 입니다.
+     */
+    public static final class RollingMin {
+        private final MonotonicDeque deque;
+
+        public RollingMin(int period) {
+            this.deque = new MonotonicDeque(requirePeriod(period), false);
+        }
+
+        private RollingMin(MonotonicDeque deque) {
+            this.deque = deque;
+        }
+
+        public double update(double value) {
+            deque.push(value);
+            return deque.value();
+        }
+
+        public double preview(double value) {
+            return deque.preview(value);
+        }
+
+        public double value() {
+            return deque.value();
+        }
+
+        public long count() {
+            return deque.count;
+        }
+
+        public RollingMin snapshot() {
+            return new RollingMin(deque.copy());
+        }
+
+        public void restore(RollingMin snapshot) {
+            deque.restore(snapshot.deque);
+        }
+    }
+
+    /**
+     * 거래량 비율 = 현재 거래량 / 직전 period 개 평균 거래량 (정의되지 않으면 0.0)
+     */
+    public static final class VolumeRatio {
+        private final int period;
+        private final long[] ring;
+        private int head;
+        private long count;
+        private long sum;
+        private double ratio;
+
+        public VolumeRatio(int period) {
+            this.period = requirePeriod(period);
+            this.ring = new long[period];
+        }
+
+        public double update(long volume) {
+            ratio = preview(volume);
+            if (count >= period)
+                sum -= ring[head];
+            sum += volume;
+            ring[head] = volume;
+            head = (head + 1) % period;
+            count++;
+            return ratio;
+        }
+
+        public double preview(long volume) {
+            if (count < period)
+                return 0.0;
+            double avg = (double) sum / period;
+            return avg > 0 ? volume / avg : 0.0;
+        }
+
+        public double value() {
+            return ratio;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public VolumeRatio snapshot() {
+            VolumeRatio copy = new VolumeRatio(period);
+            copy.restore(this);
+            return copy;
+        }
+
+        public void restore(VolumeRatio snapshot) {
+            requireSamePeriod(period, snapshot.period);
+            System.arraycopy(snapshot.ring, 0, ring, 0, period);
+            head = snapshot.head;
+            count = snapshot.count;
+            sum = snapshot.sum;
+            ratio = snapshot.ratio;
+        }
+    }
+
+    /**
+     * 슬라이딩 윈도우 최댓값(max = true) / 최솟값 덱.
+     * 앞쪽이 현재 윈도우의 극값이며, 새 값보다 극값이 될 수 없는 뒤쪽 원소는 버립니다.
+     */
+    private static final class MonotonicDeque {
+        private final int period;
+        private final boolean max;
+        // Ring of (sequence, value); at most period live entries
+        private final long[] seq;
+        private final double[] values;
+        private int front;
+        private int size;
+        private long count;
+
+        private MonotonicDeque(int period, boolean max) {
+            this.period = period;
+            this.max = max;
+            this.seq = new long[period];
+            this.values = new double[period];
+        }
+
+        private void push(double value) {
+            if (size > 0 && seq[front] <= count - period) {
+                front = (front + 1) % period;
+                size--;
+            }
+            while (size > 0 && !dominates(values[(front + size - 1) % period], value))
+                size--;
+            int slot = (front + size) % period;
+            seq[slot] = count;
+            values[slot] = value;
+            size++;
+            count++;
+        }
+
+        private double value() {
+            return count >= period ? values[front] : Double.NaN;
+        }
+
+        private double preview(double value) {
+            if (count + 1 < period)
+                return Double.NaN;
+            // The front may be the entry that the new bar pushes out; the next one is then the extreme
+            int k = 0;
+            if (size > 0 && seq[front] <= count - period)
+                k = 1;
+            if (k >= size)
+                return value;
+            double extreme = values[(front + k) % period];
+            return max ? Math.max(extreme, value) : Math.min(extreme, value);
+        }
+
+        // Strictly better than the newcomer, so it can still be the extreme after the newcomer arrives
+        private boolean dominates(double kept, double value) {
+            return max ? kept > value : kept < value;
+        }
+
+        private MonotonicDeque copy() {
+            MonotonicDeque copy = new MonotonicDeque(period, max);
+            copy.restore(this);
+            return copy;
+        }
+
+        private void restore(MonotonicDeque snapshot) {
+            requireSamePeriod(period, snapshot.period);
+            System.arraycopy(snapshot.seq, 0, seq, 0, period);
+            System.arraycopy(snapshot.values, 0, values, 0, period);
+            front = snapshot.front;
+            size = snapshot.size;
+            count = snapshot.count;
+        }
+    }
+
+    private static int requirePeriod(int period) {
+        if (period < 1)
+            throw new IllegalArgumentException("period must be >= 1");
+        return period;
+    }
+
+    private static void requireSamePeriod(int period, int other) {
+        if (period != other)
+            throw new IllegalArgumentException("Snapshot period mismatch: " + other + " != " + period);
+    }
+}
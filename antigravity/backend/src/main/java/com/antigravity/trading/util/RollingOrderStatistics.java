@@ -0,0 +1,231 @@
+package com.antigravity.trading.util;
+
+/**
+ * 고정 크기 슬라이딩 윈도우의 순서 통계 (순위, k 번째 값).
+ * 값 순서로 정렬된 treap(노드별 부분 트리 크기 보관) 과 입력 순서를 기억하는 링 버퍼로 구성되어
+ * 추가/만료/순위 조회가 모두 O(log w) 입니다. (매 캔들 윈도우를 다시 정렬하거나 선형 탐색하지 않음)
+ *
+ * 노드 배열은 생성 시 한 번만 할당하므로 갱신 중 객체를 만들지 않습니다.
+ * NaN 은 받지 않으며, 단일 스레드에서만 사용합니다.
+ */
+public final class RollingOrderStatistics {
+
+    private final int window;
+
+    // Insertion order, for expiring the oldest value
+    private final double[] ring;
+    private int head;
+    private int count;
+
+    // Treap nodes; index 0 is the null node (size 0)
+    private final double[] key;
+    private final int[] priority;
+    private final int[] left;
+    private final int[] right;
+    private final int[] size;
+    private final int[] free;
+    private int freeTop;
+    private int root;
+    private int seed = 0x9E3779B9;
+
+    private int splitLeft;
+    private int splitRight;
+
+    public RollingOrderStatistics(int window) {
+        if (window < 1)
+            throw new IllegalArgumentException("window must be >= 1");
+        this.window = window;
+        this.ring = new double[window];
+        this.key = new double[window + 1];
+        this.priority = new int[window + 1];
+        this.left = new int[window + 1];
+        this.right = new int[window + 1];
+        this.size = new int[window + 1];
+        this.free = new int[window];
+        clear();
+    }
+
+    public int window() {
+        return window;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isFull() {
+        return count == window;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        root = 0;
+        freeTop = 0;
+        for (int node = window; node >= 1; node--)
+            free[freeTop++] = node;
+    }
+
+    /**
+     * 값을 추가합니다. 윈도우가 가득 차 있으면 가장 오래된 값을 먼저 제거합니다.
+     */
+    public void push(double value) {
+        requireNumber(value);
+        if (count == window) {
+            remove(ring[head]);
+            ring[head] = value;
+            head = (head + 1) % window;
+        } else {
+            ring[(head + count) % window] = value;
+            count++;
+        }
+        insert(value);
+    }
+
+    /**
+     * 가장 최근에 추가한 값을 교체합니다. (같은 캔들이 다시 평가될 때)
+     */
+    public void replaceLast(double value) {
+        requireNumber(value);
+        if (count == 0) {
+            push(value);
+            return;
+        }
+        int last = (head + count - 1) % window;
+        remove(ring[last]);
+        ring[last] = value;
+        insert(value);
+    }
+
+    /**
+     * 윈도우에서 value 보다 작은 값의 개수
+     */
+    public int countLess(double value) {
+        int c = 0;
+        int t = root;
+        while (t != 0) {
+            if (key[t] < value) {
+                c += size[left[t]] + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return c;
+    }
+
+    /**
+     * value 보다 작은 값의 비율(%) = countLess / size x 100 (비어 있으면 NaN)
+     */
+    public double percentRank(double value) {
+        return count > 0 ? (double) countLess(value) / count * 100.0 : Double.NaN;
+    }
+
+    /**
+     * 오름차순 k 번째 값 (0 부터)
+     */
+    public double select(int k) {
+        if (k < 0 || k >= count)
+            throw new IllegalArgumentException("k out of range: " + k);
+        int t = root;
+        while (true) {
+            int leftSize = size[left[t]];
+            if (k < leftSize) {
+                t = left[t];
+            } else if (k == leftSize) {
+                return key[t];
+            } else {
+                k -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    private void insert(double value) {
+        int node = free[--freeTop];
+        key[node] = value;
+        priority[node] = nextPriority();
+        left[node] = 0;
+        right[node] = 0;
+        size[node] = 1;
+
+        split(root, value, false);
+        int less = splitLeft;
+        int rest = splitRight;
+        root = merge(merge(less, node), rest);
+    }
+
+    /**
+     * value 와 같은 노드 하나를 제거합니다. (같은 값끼리는 구분할 필요가 없음)
+     */
+    private void remove(double value) {
+        split(root, value, false);
+        int less = splitLeft;
+        split(splitRight, value, true);
+        int equal = splitLeft;
+        int greater = splitRight;
+        if (equal != 0) {
+            free[freeTop++] = equal;
+            equal = merge(left[equal], right[equal]);
+        }
+        root = merge(less, merge(equal, greater));
+    }
+
+    /**
+     * t 를 key < value (inclusive 이면 <=) 인 트리(splitLeft) 와 나머지(splitRight) 로 나눕니다.
+     */
+    private void split(int t, double value, boolean inclusive) {
+        if (t == 0) {
+            splitLeft = 0;
+            splitRight = 0;
+            return;
+        }
+        boolean goesLeft = inclusive ? key[t] <= value : key[t] < value;
+        if (goesLeft) {
+            split(right[t], value, inclusive);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], value, inclusive);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    /**
+     * a 의 모든 key 가 b 의 모든 key 이하일 때 두 트리를 합칩니다.
+     */
+    private int merge(int a, int b) {
+        if (a == 0)
+            return b;
+        if (b == 0)
+            return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        size[t] = size[left[t]] + size[right[t]] + 1;
+    }
+
+    private int nextPriority() {
+        // xorshift32
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static void requireNumber(double value) {
+        if (Double.isNaN(value))
+            throw new IllegalArgumentException("NaN is not allowed");
+    }
+}
@@ -0,0 +1,31 @@
+package com.antigravity.trading.util;
+
+/**
+ * Vector API(jdk.incubator.vector) 사용 가능 여부.
+ * JVM 을 --add-modules jdk.incubator.vector 로 실행했을 때만 VectorizedIndicators 를 사용하며,
+ * 그렇지 않으면 VectorizedIndicators 클래스를 로드하지 않고 스칼라 경로로 계산합니다.
+ * -Dantigravity.indicators.scalar=true 로 강제로 끌 수 있습니다. (비교/벤치마크용)
+ * VectorizedIndicators 는 인큐베이터 모듈로 컴파일해야 하므로 별도 소스셋(src/vector/java)에 있습니다.
+ */
+final class SimdSupport {
+
+    /** 이보다 짧은 시계열은 벡터 경로의 임시 배열 비용이 더 크므로 스칼라로 계산 */
+    static final int MIN_LENGTH = 64;
+
+    static final boolean ENABLED = detect();
+
+    private SimdSupport() {
+    }
+
+    private static boolean detect() {
+        if (Boolean.getBoolean("antigravity.indicators.scalar"))
+            return false;
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+            return false;
+        try {
+            return VectorizedIndicators.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.antigravity.trading.domain.dto.CandleDto;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -52,7 +53,8 @@ public class TechnicalIndicators {
     }
 
     public static List<Double> calculateAtr(List<CandleDto> candles, int period) {
-        if (candles == null || candles.size() <= period) {
+        // The first ATR (index period - 1) needs exactly period candles
+        if (candles == null || candles.size() < period) {
             return Collections.nCopies(candles == null ? 0 : candles.size(), null);
         }
 
@@ -94,46 +96,46 @@ public class TechnicalIndicators {
     }
 
     public static List<BigDecimal> calculateDonchianHigh(List<CandleDto> candles, int period) {
-        if (candles == null || candles.size() < period) {
-            return Collections.nCopies(candles == null ? 0 : candles.size(), null);
-        }
-
-        List<BigDecimal> results = new ArrayList<>(Collections.nCopies(candles.size(), null));
-
-        // Donchian High of LAST N periods (excluding current for signal usually? or
-        // including?)
-        // Standard Donchian: Max of Highs in [i-N, i-1] usually for entry (breakout of
-        // previous N days).
-        // If we include 'i', it's just 'Highest High'.
-        // Let's implement Max of [i-period+1, i] (Inclusive N periods)
-
-        for (int i = period - 1; i < candles.size(); i++) {
-            BigDecimal max = BigDecimal.ZERO;
-            for (int j = 0; j < period; j++) {
-                BigDecimal h = candles.get(i - j).getHigh();
-                if (h.compareTo(max) > 0)
-                    max = h;
-            }
-            results.set(i, max);
-        }
-        return results;
+        // Max of [i-period+1, i] (inclusive N periods)
+        return rollingExtreme(candles, period, true);
     }
 
     public static List<BigDecimal> calculateDonchianLow(List<CandleDto> candles, int period) {
+        return rollingExtreme(candles, period, false);
+    }
+
+    /**
+     * 고가(max) / 저가(min) 의 [i-period+1, i] 극값. 단조 덱으로 O(n) 이며 원본 BigDecimal 을 그대로 돌려줍니다.
+     */
+    private static List<BigDecimal> rollingExtreme(List<CandleDto> candles, int period, boolean max) {
         if (candles == null || candles.size() < period) {
             return Collections.nCopies(candles == null ? 0 : candles.size(), null);
         }
 
         List<BigDecimal> results = new ArrayList<>(Collections.nCopies(candles.size(), null));
-
-        for (int i = period - 1; i < candles.size(); i++) {
-            BigDecimal min = new BigDecimal("999999999");
-            for (int j = 0; j < period; j++) {
-                BigDecimal l = candles.get(i - j).getLow();
-                if (l.compareTo(min) < 0)
-                    min = l;
+        int[] deque = new int[period];
+        int front = 0;
+        int size = 0;
+        for (int i = 0; i < candles.size(); i++) {
+            if (size > 0 && deque[front] <= i - period) {
+                front = (front + 1) % period;
+                size--;
+            }
+            BigDecimal value = max ? candles.get(i).getHigh() : candles.get(i).getLow();
+            while (size > 0) {
+                BigDecimal back = max ? candles.get(deque[(front + size - 1) % period]).getHigh()
+                        : candles.get(deque[(front + size - 1) % period]).getLow();
+                int cmp = back.compareTo(value);
+                if (max ? cmp > 0 : cmp < 0)
+                    break;
+                size--;
+            }
+            deque[(front + size) % period] = i;
+            size++;
+            if (i >= period - 1) {
+                CandleDto c = candles.get(deque[front]);
+                results.set(i, max ? c.getHigh() : c.getLow());
             }
-            results.set(i, min);
         }
         return results;
     }
@@ -180,4 +182,255 @@ public class TechnicalIndicators {
         }
         return ratios;
     }
+
+    // ---------------------------------------------------------------------
+    // Primitive kernels (columnar backtest path)
+    // Same definitions as the List-based methods above; undefined slots are NaN
+    // instead of null so that no boxing happens on the hot path.
+    // The volume ratio switches to VectorizedIndicators when the Vector API module
+    // is available (SimdSupport); the results are identical.
+    // ---------------------------------------------------------------------
+
+    public static double[] calculateRsi(double[] prices, int period) {
+        int n = prices.length;
+        double[] rsiValues = nanArray(n);
+        if (n <= period)
+            return rsiValues;
+
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+        for (int i = 1; i <= period; i++) {
+            double change = prices[i] - prices[i - 1];
+            if (change > 0)
+                avgGain += change;
+            else
+                avgLoss += Math.abs(change);
+        }
+        avgGain /= period;
+        avgLoss /= period;
+        rsiValues[period] = rsi(avgGain, avgLoss);
+
+        for (int i = period + 1; i < n; i++) {
+            double change = prices[i] - prices[i - 1];
+            double gain = (change > 0) ? change : 0.0;
+            double loss = (change > 0) ? 0.0 : Math.abs(change);
+
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+            rsiValues[i] = rsi(avgGain, avgLoss);
+        }
+        return rsiValues;
+    }
+
+    public static double[] calculateAtr(double[] high, double[] low, double[] close, int period) {
+        int n = close.length;
+        double[] atrValues = nanArray(n);
+        if (n < period)
+            return atrValues;
+
+        double sumTr = 0.0;
+        for (int i = 0; i < period; i++) {
+            sumTr += trueRange(high, low, close, i);
+        }
+        double prevAtr = sumTr / period;
+        atrValues[period - 1] = prevAtr;
+
+        for (int i = period; i < n; i++) {
+            prevAtr = (prevAtr * (period - 1) + trueRange(high, low, close, i)) / period;
+            atrValues[i] = prevAtr;
+        }
+        return atrValues;
+    }
+
+    /**
+     * Wilder RSI 와 ATR 을 한 루프에서 함께 계산합니다. (calculateRsi / calculateAtr 와 비트 단위로 같은 결과)
+     * 두 Wilder 평활은 각각 직전 값에 의존하는 나눗셈 체인이라 따로 돌리면 나눗셈 지연 시간에 묶이지만,
+     * 한 루프에서는 서로 독립인 두 체인이 겹쳐 실행되고 종가/전일 종가도 한 번만 읽습니다.
+     *
+     * @return {rsi, atr} (시계열과 같은 길이, 정의되지 않은 구간은 NaN)
+     */
+    public static double[][] calculateRsiAtr(double[] high, double[] low, double[] close, int rsiPeriod,
+            int atrPeriod) {
+        if (rsiPeriod < 1 || atrPeriod < 1)
+            throw new IllegalArgumentException("period must be >= 1");
+        int n = close.length;
+        double[] rsiValues = nanArray(n);
+        double[] atrValues = nanArray(n);
+
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+        double atr = 0.0;
+        for (int i = 0; i < n; i++) {
+            double c = close[i];
+            double prevClose = (i == 0) ? c : close[i - 1];
+
+            if (i > 0) {
+                // Adding the 0.0 side keeps the seed sums identical to calculateRsi
+                double change = c - prevClose;
+                double gain = (change > 0) ? change : 0.0;
+                double loss = (change > 0) ? 0.0 : Math.abs(change);
+                if (i < rsiPeriod) {
+                    avgGain += gain;
+                    avgLoss += loss;
+                } else {
+                    if (i == rsiPeriod) {
+                        avgGain = (avgGain + gain) / rsiPeriod;
+                        avgLoss = (avgLoss + loss) / rsiPeriod;
+                    } else {
+                        avgGain = (avgGain * (rsiPeriod - 1) + gain) / rsiPeriod;
+                        avgLoss = (avgLoss * (rsiPeriod - 1) + loss) / rsiPeriod;
+                    }
+                    rsiValues[i] = rsi(avgGain, avgLoss);
+                }
+            }
+
+            double tr = trueRange(high[i], low[i], prevClose);
+            if (i < atrPeriod) {
+                atr += tr;
+                if (i == atrPeriod - 1) {
+                    atr /= atrPeriod;
+                    atrValues[i] = atr;
+                }
+            } else {
+                atr = (atr * (atrPeriod - 1) + tr) / atrPeriod;
+                atrValues[i] = atr;
+            }
+        }
+        return new double[][] { rsiValues, atrValues };
+    }
+
+    public static double[] calculateSma(double[] prices, int period) {
+        int n = prices.length;
+        double[] smaValues = nanArray(n);
+        if (n < period)
+            return smaValues;
+
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += prices[i];
+        }
+        smaValues[period - 1] = sum / period;
+        for (int i = period; i < n; i++) {
+            sum += prices[i] - prices[i - period];
+            smaValues[i] = sum / period;
+        }
+        return smaValues;
+    }
+
+    public static double[] calculateDonchianHigh(double[] highs, int period) {
+        return rollingMax(highs, period);
+    }
+
+    public static double[] calculateDonchianLow(double[] lows, int period) {
+        return rollingMin(lows, period);
+    }
+
+    /**
+     * 길이 window 구간 [i-window+1, i] 의 최댓값. (i &lt; window-1 이면 NaN, 구간에 NaN 이 있으면 NaN)
+     * 단조 감소 덱으로 원소마다 한 번씩만 넣고 빼므로 window 와 무관하게 O(n) 입니다.
+     * Donchian 상단, 박스 상단, 돌파 기준가 등 임의 기간의 고가 채널에 사용합니다.
+     */
+    public static double[] rollingMax(double[] values, int window) {
+        return rollingExtreme(values, window, true);
+    }
+
+    /**
+     * 길이 window 구간 [i-window+1, i] 의 최솟값. (rollingMax 와 같은 규칙)
+     */
+    public static double[] rollingMin(double[] values, int window) {
+        return rollingExtreme(values, window, false);
+    }
+
+    private static double[] rollingExtreme(double[] values, int window, boolean max) {
+        if (window < 1)
+            throw new IllegalArgumentException("window must be >= 1");
+        int n = values.length;
+        double[] results = nanArray(n);
+        if (n < window)
+            return results;
+
+        // Ring of indices whose values are strictly decreasing (max) / increasing (min) from the front
+        int[] deque = new int[window];
+        int front = 0;
+        int size = 0;
+        int lastNaN = -1;
+        for (int i = 0; i < n; i++) {
+            if (size > 0 && deque[front] <= i - window) {
+                front = (front + 1) % window;
+                size--;
+            }
+            double value = values[i];
+            if (Double.isNaN(value)) {
+                // Same as Math.max/min over the window: a NaN poisons every window that contains it
+                lastNaN = i;
+                size = 0;
+            } else {
+                while (size > 0) {
+                    double back = values[deque[(front + size - 1) % window]];
+                    if (max ? back > value : back < value)
+                        break;
+                    size--;
+                }
+                deque[(front + size) % window] = i;
+                size++;
+            }
+            if (i >= window - 1)
+                results[i] = lastNaN > i - window ? Double.NaN : values[deque[front]];
+        }
+        return results;
+    }
+
+    /**
+     * 거래량 비율 = 당일 거래량 / 직전 period 일 평균 거래량 (정의되지 않으면 0.0)
+     */
+    public static double[] calculateVolumeRatio(long[] volumes, int period) {
+        if (SimdSupport.ENABLED && volumes.length >= SimdSupport.MIN_LENGTH)
+            return VectorizedIndicators.calculateVolumeRatio(volumes, period);
+        return scalarVolumeRatio(volumes, period);
+    }
+
+    // Scalar path; VectorizedIndicators must stay bit-identical to it
+    static double[] scalarVolumeRatio(long[] volumes, int period) {
+        int n = volumes.length;
+        double[] ratios = new double[n];
+        if (n < period)
+            return ratios;
+
+        // Integer running sum: exact, so identical to re-summing the window each bar.
+        long sum = 0;
+        for (int j = 0; j < period; j++) {
+            sum += volumes[j];
+        }
+        for (int i = period; i < n; i++) {
+            double avg = (double) sum / period;
+            if (avg > 0)
+                ratios[i] = volumes[i] / avg;
+            sum += volumes[i] - volumes[i - period];
+        }
+        return ratios;
+    }
+
+    private static double trueRange(double[] high, double[] low, double[] close, int i) {
+        return trueRange(high[i], low[i], (i == 0) ? close[0] : close[i - 1]);
+    }
+
+    // Shared with IncrementalIndicators so that streaming values match the batch kernels
+
+    static double trueRange(double high, double low, double prevClose) {
+        double hl = high - low;
+        double hpc = Math.abs(high - prevClose);
+        double lpc = Math.abs(low - prevClose);
+        return Math.max(hl, Math.max(hpc, lpc));
+    }
+
+    static double rsi(double avgGain, double avgLoss) {
+        double rs = (avgLoss == 0) ? 100.0 : avgGain / avgLoss;
+        return 100.0 - (100.0 / (1.0 + rs));
+    }
+
+    private static double[] nanArray(int n) {
+        double[] values = new double[n];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
 }
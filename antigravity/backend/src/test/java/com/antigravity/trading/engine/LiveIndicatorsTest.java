@@ -0,0 +1,85 @@
+package com.antigravity.trading.engine;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.service.BacktestSimulator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveIndicatorsTest {
+
+    @Test
+    void onTick_EventAtBarCloseShouldMatchBacktestEvent() {
+        Random random = new Random(31L);
+        int n = 300;
+        CandleSeries.Builder builder = CandleSeries.builder("005930", n).priceScale(0);
+        double price = 50_000;
+        for (int i = 0; i < n; i++) {
+            double open = price;
+            double close = Math.max(100, open + random.nextInt(3001) - 1500);
+            double high = Math.max(open, close) + random.nextInt(800);
+            double low = Math.max(1, Math.min(open, close) - random.nextInt(800));
+            long volume = random.nextInt(10) == 0 ? 0 : random.nextInt(2_000_000);
+            builder.add(LocalDate.of(2020, 1, 1).plusDays(i).toEpochDay(), open, high, low, close, volume);
+            price = close;
+        }
+        CandleSeries series = builder.build();
+        IndicatorSet indicators = IndicatorSet.compute(series, IndicatorPlan.ALL);
+
+        LiveIndicators live = new LiveIndicators(series.getSymbol());
+        for (int i = 0; i < n; i++) {
+            // Intraday ticks visit open, high, low and close; the last one carries the day's total volume
+            LocalDateTime close = series.timestamp(i);
+            live.onTick(close.minusHours(6), series.open(i), series.volume(i) / 3);
+            live.onTick(close.minusHours(4), series.high(i), series.volume(i) / 2);
+            live.onTick(close.minusHours(2), series.low(i), -1);
+            MarketEvent actual = live.onTick(close, series.close(i), series.volume(i));
+
+            assertSameEvent(BacktestSimulator.buildEvent(series, indicators, i), actual, i);
+        }
+    }
+
+    @Test
+    void restore_ShouldUndoTicksOfTheProvisionalBar() {
+        LiveIndicators live = new LiveIndicators("005930");
+        LocalDateTime day = LocalDate.of(2024, 3, 4).atTime(9, 0);
+        for (int i = 0; i < 30; i++) {
+            live.onTick(day.plusDays(i), 10_000 + i * 10, 1_000 + i);
+        }
+        LiveIndicators.Snapshot snapshot = live.snapshot();
+        MarketEvent before = live.event(day.plusDays(29));
+
+        live.onTick(day.plusDays(29).plusHours(1), 20_000, 5_000);
+        live.onTick(day.plusDays(30), 5_000, 10);
+        live.restore(snapshot);
+
+        assertSameEvent(before, live.event(day.plusDays(29)), 29);
+    }
+
+    private static void assertSameEvent(MarketEvent expected, MarketEvent actual, int i) {
+        assertEquals(expected.getSymbol(), actual.getSymbol(), "symbol at " + i);
+        assertEquals(expected.getTimestamp(), actual.getTimestamp(), "timestamp at " + i);
+        assertEquals(expected.getCurrentPrice(), actual.getCurrentPrice(), "currentPrice at " + i);
+        assertEquals(expected.getOpen(), actual.getOpen(), "open at " + i);
+        assertEquals(expected.getHigh(), actual.getHigh(), "high at " + i);
+        assertEquals(expected.getLow(), actual.getLow(), "low at " + i);
+        assertEquals(expected.getClose(), actual.getClose(), "close at " + i);
+        assertEquals(expected.getVolume(), actual.getVolume(), "volume at " + i);
+        assertEquals(expected.getMa20(), actual.getMa20(), "ma20 at " + i);
+        assertEquals(expected.getMa60(), actual.getMa60(), "ma60 at " + i);
+        assertEquals(expected.getAvgVol20(), actual.getAvgVol20(), "avgVol20 at " + i);
+        assertEquals(expected.getVolumeRatio(), actual.getVolumeRatio(), "volumeRatio at " + i);
+        assertEquals(expected.getBreakoutPrice(), actual.getBreakoutPrice(), "breakoutPrice at " + i);
+        assertEquals(expected.getRsi(), actual.getRsi(), "rsi at " + i);
+        assertEquals(expected.getAtr(), actual.getAtr(), "atr at " + i);
+        assertEquals(expected.getDonchianHigh(), actual.getDonchianHigh(), "donchianHigh at " + i);
+        assertEquals(expected.getDonchianLow(), actual.getDonchianLow(), "donchianLow at " + i);
+    }
+}
@@ -0,0 +1,65 @@
+package com.antigravity.trading.engine.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleMatrixTest {
+
+    private static final long MON = LocalDate.of(2024, 3, 4).toEpochDay();
+
+    @Test
+    void calendar_ShouldBeTheSortedUnionOfEveryTradingDay() {
+        // A lists late, B is suspended mid-week and C trades once
+        CandleSeries a = series("A", MON + 2, MON + 3, MON + 4);
+        CandleSeries b = series("B", MON, MON + 1, MON + 4, MON + 7);
+        CandleSeries c = series("C", MON + 3);
+        CandleMatrix matrix = new CandleMatrix(LocalDateTime.of(2024, 3, 4, 0, 0),
+                LocalDateTime.of(2024, 3, 11, 23, 59), List.of(a, b, c),
+                List.of(indicators(a), indicators(b), indicators(c)));
+
+        assertArrayEquals(new long[] { MON, MON + 1, MON + 2, MON + 3, MON + 4, MON + 7 }, matrix.calendar());
+        assertEquals(8, matrix.candleCount());
+        assertEquals(3, matrix.symbolCount());
+        assertEquals(1, matrix.indexOf("B"));
+        assertEquals(-1, matrix.indexOf("D"));
+        assertSame(c, matrix.series(2));
+        assertEquals(List.of(a, b, c), matrix.allSeries());
+        assertEquals(8 * (48 + 56) + 6 * 8, matrix.estimatedBytes());
+    }
+
+    @Test
+    void unionOfDays_ShouldOnlyMergeTheGivenRanges() {
+        CandleSeries a = series("A", MON, MON + 1, MON + 2, MON + 3);
+        CandleSeries b = series("B", MON + 1, MON + 3, MON + 7, MON + 8);
+
+        // A from Tuesday, B up to (excluding) the second week
+        assertArrayEquals(new long[] { MON + 1, MON + 2, MON + 3 },
+                CandleMatrix.unionOfDays(List.of(a, b), new int[] { 1, 0 }, new int[] { 4, 2 }));
+        assertArrayEquals(new long[] { MON, MON + 1, MON + 2, MON + 3, MON + 7, MON + 8 },
+                CandleMatrix.unionOfDays(List.of(a, b), null, null));
+        assertArrayEquals(new long[0], CandleMatrix.unionOfDays(List.of(a, b), new int[] { 4, 4 }, null));
+    }
+
+    @Test
+    void constructor_ShouldRejectMismatchedIndicators() {
+        CandleSeries a = series("A", MON);
+        assertThrows(IllegalArgumentException.class, () -> new CandleMatrix(LocalDateTime.now(),
+                LocalDateTime.now(), List.of(a), List.of()));
+    }
+
+    private static CandleSeries series(String symbol, long... days) {
+        CandleSeries.Builder builder = CandleSeries.builder(symbol, days.length);
+        for (long day : days)
+            builder.add(day, 100, 110, 90, 105, 1000);
+        return builder.build();
+    }
+
+    private static IndicatorSet indicators(CandleSeries series) {
+        return IndicatorSet.compute(series);
+    }
+}
@@ -0,0 +1,79 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownsamplerTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @Test
+    void lttb_ShouldKeepEndpointsAndExtremes() {
+        Random random = new Random(3);
+        List<EquityPoint> points = new ArrayList<>();
+        double equity = 10_000_000;
+        for (int i = 0; i < 1000; i++) {
+            equity *= 1 + (random.nextDouble() - 0.5) * 0.01;
+            points.add(new EquityPoint(START.plusDays(i), equity));
+        }
+        // A one-day spike and a one-day crash well outside the noise
+        points.set(437, new EquityPoint(START.plusDays(437), 30_000_000));
+        points.set(712, new EquityPoint(START.plusDays(712), 1_000_000));
+
+        List<EquityPoint> sampled = Downsampler.lttb(points, 50);
+
+        assertEquals(50, sampled.size());
+        assertSame(points.get(0), sampled.get(0));
+        assertSame(points.get(999), sampled.get(49));
+        assertTrue(sampled.contains(points.get(437)));
+        assertTrue(sampled.contains(points.get(712)));
+        for (int k = 1; k < sampled.size(); k++) {
+            assertTrue(sampled.get(k).getDate().isAfter(sampled.get(k - 1).getDate()));
+        }
+    }
+
+    @Test
+    void lttb_ShouldReturnShortInputAsIs() {
+        List<EquityPoint> points = List.of(new EquityPoint(START, 1), new EquityPoint(START.plusDays(1), 2),
+                new EquityPoint(START.plusDays(2), 3));
+        assertSame(points, Downsampler.lttb(points, 3));
+        assertThrows(IllegalArgumentException.class, () -> Downsampler.lttb(points, 2));
+    }
+
+    @Test
+    void ohlcBuckets_ShouldMergeConsecutiveCandles() {
+        List<CandleDto> candles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            candles.add(candle(String.valueOf(20240101 + i), 100 + i, 110 + (i == 2 ? 50 : i), 90 - i, 105 + i,
+                    1000));
+        }
+
+        // 10 candles into at most 3 bars: buckets of 4, 4 and 2
+        List<CandleDto> merged = Downsampler.ohlcBuckets(candles, 3);
+
+        assertEquals(3, merged.size());
+        assertCandle(merged.get(0), "20240101", 100, 160, 87, 108, 4000);
+        assertCandle(merged.get(1), "20240105", 104, 117, 83, 112, 4000);
+        assertCandle(merged.get(2), "20240109", 108, 119, 81, 114, 2000);
+        assertSame(candles, Downsampler.ohlcBuckets(candles, 10));
+    }
+
+    private static CandleDto candle(String time, long open, long high, long low, long close, long volume) {
+        return CandleDto.builder().time(time).open(BigDecimal.valueOf(open)).high(BigDecimal.valueOf(high))
+                .low(BigDecimal.valueOf(low)).close(BigDecimal.valueOf(close)).volume(BigDecimal.valueOf(volume))
+                .build();
+    }
+
+    private static void assertCandle(CandleDto c, String time, long open, long high, long low, long close,
+            long volume) {
+        assertEquals(candle(time, open, high, low, close, volume), c);
+    }
+}
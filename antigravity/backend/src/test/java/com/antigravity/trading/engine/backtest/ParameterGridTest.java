@@ -0,0 +1,120 @@
+package com.antigravity.trading.engine.backtest;
+
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParameterGridTest {
+
+    private final DonchianStrategy strategy = new DonchianStrategy();
+
+    @Test
+    void expand_ShouldNestRangesWithLastAxisFastest() {
+        Map<String, ParameterGrid.ParamRange> ranges = new LinkedHashMap<>();
+        ranges.put("donchianPeriod", range(10.0, 30.0, 10.0));
+        ranges.put("volumeMultiplier", values(1.5, 2.0));
+
+        List<ParameterGrid.Candidate> candidates = ParameterGrid.expand(strategy, null, ranges, 100);
+
+        assertEquals(6, candidates.size());
+        int[] periods = { 10, 10, 20, 20, 30, 30 };
+        double[] multipliers = { 1.5, 2.0, 1.5, 2.0, 1.5, 2.0 };
+        for (int i = 0; i < candidates.size(); i++) {
+            DonchianStrategy.Params params = (DonchianStrategy.Params) candidates.get(i).getParams();
+            assertEquals(i, candidates.get(i).getIndex());
+            assertEquals(periods[i], params.getDonchianPeriod());
+            assertEquals(multipliers[i], params.getVolumeMultiplier());
+            assertEquals(14, params.getAtrPeriod()); // Unswept field keeps the default
+            assertEquals(2, candidates.get(i).getValues().size());
+        }
+    }
+
+    @Test
+    void values_ShouldRoundFloatingSteps() {
+        assertEquals(List.of(0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7), range(0.1, 0.7, 0.1).values());
+        assertEquals(List.of(1.0, 1.3, 1.6, 1.9), range(1.0, 2.0, 0.3).values());
+        assertEquals(7, range(0.1, 0.7, 0.1).size());
+        assertEquals(List.of(5.0), range(5.0, 5.0, 1.0).values());
+        assertEquals(List.of(5.0), range(5.0, null, null).values());
+    }
+
+    @Test
+    void values_ShouldRejectDescendingRange() {
+        assertThrows(IllegalArgumentException.class, () -> range(3.0, 1.0, 1.0).values());
+    }
+
+    @Test
+    void expand_ShouldRejectGridOverLimitBeforeExpanding() {
+        Map<String, ParameterGrid.ParamRange> ranges = new LinkedHashMap<>();
+        ranges.put("donchianPeriod", range(10.0, 30.0, 10.0));
+        ranges.put("volumeMultiplier", range(1.0, 2.0, 0.5));
+        assertEquals(9, ParameterGrid.expand(strategy, null, ranges, 9).size());
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, ranges, 8));
+
+        // A single axis of ~1e15 values must fail on its size, not by materializing it
+        Map<String, ParameterGrid.ParamRange> huge = new LinkedHashMap<>();
+        huge.put("atrStopMult", range(0.0, 1.0, 1e-15));
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, huge, 1000));
+
+        // Running product over many small axes
+        Map<String, ParameterGrid.ParamRange> wide = new LinkedHashMap<>();
+        for (String name : List.of("donchianPeriod", "volumeMultiplier", "atrPeriod", "atrStopMult", "atrTrailMult"))
+            wide.put(name, range(1.0, 10.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, wide, 10_000));
+    }
+
+    @Test
+    void expand_ShouldRejectUnknownAndEmptyParameters() {
+        Map<String, ParameterGrid.ParamRange> unknown = new LinkedHashMap<>();
+        unknown.put("noSuchField", range(1.0, 2.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, unknown, 100));
+
+        Map<String, ParameterGrid.ParamRange> empty = new LinkedHashMap<>();
+        empty.put("donchianPeriod", new ParameterGrid.ParamRange());
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, empty, 100));
+    }
+
+    @Test
+    void expand_ShouldRejectNonIntegralValuesForIntegerParameters() {
+        // donchianPeriod is an int: 10, 11.5, 13 would be truncated to 10, 11, 13 and 1.5 steps produce duplicates
+        Map<String, ParameterGrid.ParamRange> step = new LinkedHashMap<>();
+        step.put("donchianPeriod", range(10.0, 13.0, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, step, 100));
+
+        Map<String, ParameterGrid.ParamRange> from = new LinkedHashMap<>();
+        from.put("donchianPeriod", range(10.5, 20.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, from, 100));
+
+        Map<String, ParameterGrid.ParamRange> listed = new LinkedHashMap<>();
+        listed.put("donchianPeriod", values(10, 10.5));
+        assertThrows(IllegalArgumentException.class, () -> ParameterGrid.expand(strategy, null, listed, 100));
+
+        // Integral doubles, a non-integral end point and fractional steps on double fields are fine
+        Map<String, ParameterGrid.ParamRange> ok = new LinkedHashMap<>();
+        ok.put("donchianPeriod", range(10.0, 14.5, 2.0));
+        ok.put("volumeMultiplier", range(1.0, 2.0, 0.5));
+        List<ParameterGrid.Candidate> candidates = ParameterGrid.expand(strategy, null, ok, 100);
+        assertEquals(9, candidates.size());
+        assertEquals(14, ((DonchianStrategy.Params) candidates.get(8).getParams()).getDonchianPeriod());
+    }
+
+    private static ParameterGrid.ParamRange range(Double from, Double to, Double step) {
+        ParameterGrid.ParamRange range = new ParameterGrid.ParamRange();
+        range.setFrom(from);
+        range.setTo(to);
+        range.setStep(step);
+        return range;
+    }
+
+    private static ParameterGrid.ParamRange values(Object... values) {
+        ParameterGrid.ParamRange range = new ParameterGrid.ParamRange();
+        range.setValues(List.of(values));
+        return range;
+    }
+}
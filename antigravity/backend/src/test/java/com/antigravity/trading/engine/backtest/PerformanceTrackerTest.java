@@ -0,0 +1,71 @@
+package com.antigravity.trading.engine.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceTrackerTest {
+
+    @Test
+    void snapshot_ShouldMatchHandComputedMetrics() {
+        // Four periods per year, so the annualizer is 2
+        PerformanceTracker tracker = new PerformanceTracker(4);
+        tracker.onBar(100, false);
+        tracker.onFill(100);
+        tracker.onBar(110, true);
+        tracker.onBar(99, true);
+        tracker.onFill(110);
+        tracker.onClose(10);
+        tracker.onFill(50);
+        tracker.onFill(45);
+        tracker.onClose(-5);
+        tracker.onBar(108.9, false);
+
+        // Returns +10%, -10%, +10%: mean 1/30, sample std 0.2/sqrt(3), downside sqrt(0.01/3)
+        PerformanceTracker.Metrics m = tracker.snapshot();
+        assertEquals(4, m.getBars());
+        assertEquals(10.0, m.getMaxDrawdownPercent(), 1e-9); // 110 -> 99
+        assertEquals(40 / Math.sqrt(3), m.getAnnualizedVolatilityPercent(), 1e-9);
+        assertEquals(1 / Math.sqrt(3), m.getSharpe(), 1e-9);
+        assertEquals(2 / Math.sqrt(3), m.getSortino(), 1e-9);
+        assertEquals(2, m.getClosedTrades());
+        assertEquals(50.0, m.getWinRatePercent(), 1e-9);
+        assertEquals(2.0, m.getProfitFactor(), 1e-9);
+        assertEquals(50.0, m.getExposurePercent(), 1e-9);
+        // Traded 305 over an average equity of 104.475
+        assertEquals(305 / 104.475, m.getTurnover(), 1e-9);
+    }
+
+    @Test
+    void snapshot_ShouldTrackTheDeepestDrawdownFromTheRunningPeak() {
+        PerformanceTracker tracker = PerformanceTracker.daily();
+        double[] equity = { 100, 120, 90, 130, 104, 125, 140 };
+        for (double e : equity)
+            tracker.onBar(e, true);
+
+        // 120 -> 90 is 25%, deeper than 130 -> 104 (20%)
+        assertEquals(25.0, tracker.snapshot().getMaxDrawdownPercent(), 1e-9);
+        assertEquals(100.0, tracker.snapshot().getExposurePercent(), 1e-9);
+    }
+
+    @Test
+    void snapshot_ShouldLeaveUndefinedRatiosNull() {
+        PerformanceTracker tracker = PerformanceTracker.daily();
+        tracker.onBar(100, false);
+        tracker.onBar(101, false);
+        tracker.onClose(1);
+
+        // One return: no sample deviation and no downside; no losing trade
+        PerformanceTracker.Metrics m = tracker.snapshot();
+        assertNull(m.getAnnualizedVolatilityPercent());
+        assertNull(m.getSharpe());
+        assertNull(m.getSortino());
+        assertNull(m.getProfitFactor());
+        assertEquals(100.0, m.getWinRatePercent(), 1e-9);
+        assertEquals(0.0, m.getMaxDrawdownPercent());
+        assertEquals(0.0, m.getTurnover());
+
+        assertNull(PerformanceTracker.daily().snapshot().getWinRatePercent());
+        assertThrows(IllegalArgumentException.class, () -> new PerformanceTracker(0));
+    }
+}
@@ -0,0 +1,163 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.entity.BacktestRun;
+import com.antigravity.trading.repository.BacktestRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BacktestJobServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2023, 12, 31, 23, 59);
+    private static final long FIRST_DAY = START.toLocalDate().toEpochDay();
+
+    @Mock
+    private BacktestService backtestService;
+    @Mock
+    private BacktestRunRepository backtestRunRepository;
+    @Mock
+    private BacktestResultStore backtestResultStore;
+
+    // One worker and one queue slot
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    private final AtomicLong ids = new AtomicLong();
+    private BacktestJobService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new BacktestJobService(backtestService, backtestRunRepository, backtestResultStore, executor, 2);
+        when(backtestService.createRun(anyString(), any(), any(), anyString(), any(), anyString()))
+                .thenAnswer(inv -> BacktestRun.builder().id(ids.incrementAndGet())
+                        .status(inv.getArgument(5)).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_ShouldRejectWhenTheQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(backtestService.runBacktest(any(BacktestRun.class), anyString(), any(), any(), anyString(), any(), any()))
+                .thenAnswer(inv -> {
+                    running.countDown();
+                    release.await();
+                    return result();
+                });
+
+        BacktestJobService.JobStatus first = service.submit("005930", START, END, "S1", null);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        BacktestJobService.JobStatus second = service.submit("000660", START, END, "S1", null);
+        assertEquals(BacktestJobService.STATUS_QUEUED, second.getState());
+        assertEquals(BacktestJobService.STATUS_RUNNING, service.getStatus(first.getRunId()).getState());
+
+        assertThrows(RejectedExecutionException.class, () -> service.submit("035420", START, END, "S1", null));
+        // The rejected run is recorded and is no longer tracked in memory
+        verify(backtestRunRepository).save(argThat(run -> run.getId() == 3L
+                && BacktestJobService.STATUS_REJECTED.equals(run.getStatus()) && run.getEndedAt() != null));
+        when(backtestRunRepository.findById(3L)).thenReturn(Optional.of(BacktestRun.builder().id(3L)
+                .status(BacktestJobService.STATUS_REJECTED).build()));
+        assertEquals(BacktestJobService.STATUS_REJECTED, service.getStatus(3L).getState());
+
+        release.countDown();
+        awaitIdle();
+        assertEquals(BacktestJobService.STATUS_COMPLETED, service.getStatus(second.getRunId()).getState());
+    }
+
+    @Test
+    void getStatus_ShouldReportProgressResultAndFailure() throws Exception {
+        when(backtestService.runBacktest(any(BacktestRun.class), eq("005930"), any(), any(), anyString(), any(),
+                any())).thenAnswer(inv -> {
+                    BacktestSimulator.ProgressListener listener = inv.getArgument(6);
+                    for (int k = 1; k <= 250; k++)
+                        listener.onBar(k, 250, FIRST_DAY + k, 10_000_000.0 + k);
+                    return result();
+                });
+        when(backtestService.runBacktest(any(BacktestRun.class), eq("000660"), any(), any(), anyString(), any(),
+                any())).thenThrow(new IllegalArgumentException("No candles"));
+
+        Long done = service.submit("005930", START, END, "S1", null).getRunId();
+        Long failed = service.submit("000660", START, END, "S1", null).getRunId();
+        awaitIdle();
+
+        BacktestJobService.JobStatus status = service.getStatus(done);
+        assertEquals(BacktestJobService.STATUS_COMPLETED, status.getState());
+        assertEquals("005930", status.getSymbol());
+        assertEquals(250, status.getProcessedBars());
+        assertEquals(250, status.getTotalBars());
+        assertEquals(100.0, status.getPercent());
+        assertEquals(new BigDecimal("11000000"), status.getFinalBalance());
+        assertEquals(3, status.getTotalTrades());
+
+        BacktestJobService.JobStatus failure = service.getStatus(failed);
+        assertEquals(BacktestJobService.STATUS_FAILED, failure.getState());
+        assertEquals("No candles", failure.getError());
+        assertNull(failure.getFinalBalance());
+        assertThrows(IllegalStateException.class, () -> service.getTrades(failed, 0, 10));
+    }
+
+    @Test
+    void evict_ShouldDropTheOldestFinishedJobsBeyondTheRetainedCount() throws Exception {
+        when(backtestService.runBacktest(any(BacktestRun.class), anyString(), any(), any(), anyString(), any(), any()))
+                .thenAnswer(inv -> result());
+
+        // Sequential so that the finish order is the submit order
+        for (int k = 0; k < 4; k++) {
+            service.submit("005930", START, END, "S1", null);
+            awaitIdle();
+        }
+
+        // Retained: the last two jobs stay in memory; older ones fall back to the run record
+        assertEquals("005930", service.getStatus(3L).getSymbol());
+        assertEquals("005930", service.getStatus(4L).getSymbol());
+        when(backtestRunRepository.findById(1L)).thenReturn(Optional.of(BacktestRun.builder().id(1L)
+                .status(BacktestJobService.STATUS_COMPLETED).summaryJson("{}").build()));
+        BacktestJobService.JobStatus evicted = service.getStatus(1L);
+        assertEquals(BacktestJobService.STATUS_COMPLETED, evicted.getState());
+        assertNull(evicted.getSymbol());
+        assertEquals("{}", evicted.getSummaryJson());
+        when(backtestRunRepository.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(NoSuchElementException.class, () -> service.getStatus(2L));
+        assertThrows(NoSuchElementException.class, () -> service.subscribe(2L));
+        verify(backtestRunRepository, never()).findById(3L);
+    }
+
+    /**
+     * 대기열과 실행 중인 작업이 모두 끝날 때까지 대기
+     */
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()
+                || executor.getCompletedTaskCount() < executor.getTaskCount()) && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertEquals(executor.getTaskCount(), executor.getCompletedTaskCount());
+    }
+
+    private static BacktestService.BacktestResult result() {
+        return BacktestService.BacktestResult.builder().symbol("005930").finalBalance(new BigDecimal("11000000"))
+                .totalReturnPercent(BigDecimal.TEN).totalTrades(3).trades(List.of()).build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.antigravity.trading.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BacktestResultCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2023, 12, 31, 23, 59);
+
+    private final CandleDataVersions versions = new CandleDataVersions();
+    private final BacktestResultCache cache = new BacktestResultCache(versions, 128);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void get_ShouldRecomputeAfterTheSymbolDataChanges() {
+        BacktestService.BacktestResult first = get("005930");
+        assertSame(first, get("005930"));
+        BacktestService.BacktestResult other = get("000660");
+
+        versions.bump("005930");
+
+        BacktestService.BacktestResult second = get("005930");
+        assertNotSame(first, second);
+        assertSame(second, get("005930"));
+        assertSame(other, get("000660")); // Other symbols keep their entries
+        assertEquals(3, loads.get());
+
+        // The superseded entry is dropped when the new version is stored
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getEntries());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(3, stats.getHits());
+        assertEquals(3, stats.getMisses());
+    }
+
+    @Test
+    void get_ShouldNotStoreAResultWhoseDataChangedWhileComputing() {
+        BacktestService.BacktestResult stale = cache.get("005930", START, END, "S1", "{}", () -> {
+            versions.bump("005930"); // Candles saved while the backtest was running
+            return result("005930");
+        });
+
+        assertNotSame(stale, get("005930"));
+        assertEquals(1, cache.stats().getEntries()); // Only the recomputed result
+    }
+
+    @Test
+    void bump_ShouldMoveAgainAfterTheWritingTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        versions.bump("005930");
+        assertEquals(1, versions.current("005930"));
+
+        // A backtest reading before the commit caches its result under the in-transaction version
+        BacktestService.BacktestResult beforeCommit = get("005930");
+        assertSame(beforeCommit, get("005930"));
+
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations())
+            sync.afterCommit();
+        assertEquals(2, versions.current("005930"));
+        assertEquals(0, versions.current("000660"));
+
+        assertNotSame(beforeCommit, get("005930"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldBypassTheCacheWhenDisabled() {
+        BacktestResultCache disabled = new BacktestResultCache(versions, 0);
+        disabled.get("005930", START, END, "S1", "{}", () -> result("005930"));
+        disabled.get("005930", START, END, "S1", "{}", () -> result("005930"));
+        assertEquals(0, disabled.stats().getEntries());
+        assertEquals(0, disabled.stats().getMisses());
+    }
+
+    private BacktestService.BacktestResult get(String symbol) {
+        return cache.get(symbol, START, END, "S1", "{}", () -> {
+            loads.incrementAndGet();
+            return result(symbol);
+        });
+    }
+
+    private static BacktestService.BacktestResult result(String symbol) {
+        return BacktestService.BacktestResult.builder().symbol(symbol).build();
+    }
+}
@@ -1,57 +1,68 @@
 package com.antigravity.trading.service;
 
 import com.antigravity.trading.domain.entity.BacktestRun;
-import com.antigravity.trading.domain.entity.CandleHistory;
-import com.antigravity.trading.domain.entity.DecisionLog;
-import com.antigravity.trading.engine.StrategyEngine;
 import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
 import com.antigravity.trading.engine.model.MarketEvent;
 import com.antigravity.trading.engine.model.Signal;
-import com.antigravity.trading.engine.model.StrategyContext;
-import com.antigravity.trading.infrastructure.api.KisApiClient;
-import com.antigravity.trading.infrastructure.api.dto.KisChartResponse;
 import com.antigravity.trading.repository.BacktestRunRepository;
-import com.antigravity.trading.repository.CandleHistoryRepository;
-import com.antigravity.trading.repository.DecisionLogRepository;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.*;
 
 class BacktestServiceTest {
 
-    @Mock
-    private KisApiClient kisApiClient;
     @Mock
     private StrategyRegistry strategyRegistry;
     @Mock
-    private StrategyEngine strategyEngine;
+    private BacktestRunRepository backtestRunRepository;
+    @Mock
+    private DecisionLogWriter decisionLogWriter;
     @Mock
-    private ReasonCodeMapper reasonMapper;
+    private CandleSeriesLoader candleSeriesLoader;
     @Mock
-    private BacktestRunRepository backtestRunRepository;
+    private BacktestSimulator backtestSimulator;
     @Mock
-    private DecisionLogRepository decisionLogRepository;
+    private MonteCarloService monteCarloService;
     @Mock
-    private CandleHistoryRepository candleHistoryRepository;
+    private BacktestResultCache backtestResultCache;
+    @Mock
+    private IndicatorCache indicatorCache;
+    @Mock
+    private BacktestResultStore backtestResultStore;
 
     private BacktestService backtestService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        backtestService = new BacktestService(kisApiClient, strategyRegistry, reasonMapper,
-                backtestRunRepository, decisionLogRepository, candleHistoryRepository);
+        backtestService = new BacktestService(strategyRegistry, backtestRunRepository, decisionLogWriter,
+                candleSeriesLoader, backtestSimulator, monteCarloService, backtestResultCache, indicatorCache,
+                backtestResultStore);
     }
 
     @Test
@@ -61,46 +72,148 @@ class BacktestServiceTest {
         LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
         LocalDateTime end = LocalDateTime.of(2023, 1, 31, 23, 59);
 
-        // Mock DB Response - Empty to fallback to API
-        when(candleHistoryRepository.findBySymbolAndTimeBetween(anyString(), any(), any()))
-                .thenReturn(new ArrayList<>());
-
-        // Mock KIS Response (Need at least 21 candles for MA20 + 1)
-        // Create 30 candles with different dates within range
-        KisChartResponse response = new KisChartResponse();
-        List<KisChartResponse.Output2> outputs = new ArrayList<>();
+        // 30 daily candles within range (20230101 ~ 20230130)
+        CandleSeries.Builder builder = CandleSeries.builder(symbol, 30);
         for (int i = 1; i <= 30; i++) {
-            KisChartResponse.Output2 output = new KisChartResponse.Output2();
-            output.setStckBsopDate(String.format("202301%02d", i)); // 20230101 ~ 20230130
-            output.setStckClpr("10000");
-            output.setStckHgpr("11000");
-            output.setStckLwpr("9000");
-            output.setStckOprc("9500");
-            output.setAcmlVol("100000");
-            outputs.add(output);
+            builder.add(LocalDate.of(2023, 1, i).toEpochDay(), 9500, 11000, 9000, 10000, 100000);
         }
-        response.setOutput2(outputs);
+        CandleSeries series = builder.build();
+        when(candleSeriesLoader.load(symbol, start, end)).thenReturn(series);
 
-        when(kisApiClient.getDailyChart(any(), any(), any())).thenReturn(response);
         when(backtestRunRepository.save(any(BacktestRun.class))).thenAnswer(i -> {
             BacktestRun run = i.getArgument(0);
             run.setId(1L);
             return run;
         });
 
-        // Mock Strategy Registry to return our mock strategyEngine
-        when(strategyRegistry.getStrategy(anyString())).thenReturn(strategyEngine);
+        DonchianStrategy strategy = new DonchianStrategy();
+        when(strategyRegistry.getStrategy(anyString())).thenReturn(strategy);
+
+        // Cache miss: the loader runs the backtest
+        when(backtestResultCache.get(eq(symbol), eq(start), eq(end), anyString(), any(), any()))
+                .thenAnswer(i -> ((Supplier<?>) i.getArgument(5)).get());
+        when(indicatorCache.indicatorSet(same(series), any(IndicatorPlan.class)))
+                .thenAnswer(i -> IndicatorSet.compute(series, i.getArgument(1)));
 
-        // Mock Strategy Signal
-        when(strategyEngine.analyze(any(MarketEvent.class), any(StrategyContext.class)))
-                .thenReturn(Signal.builder().type(Signal.Type.BUY).reasonCode("TEST").reasonDetail("Fake Buy").build());
+        // Decision listener collects what the simulation reports
+        List<Signal> logged = new ArrayList<>();
+        BacktestSimulator.DecisionListener decisions = (event, signal, hasPosition) -> logged.add(signal);
+        when(decisionLogWriter.forBacktest(eq(1L), eq(symbol), any(IndicatorPlan.class))).thenReturn(decisions);
+
+        Signal buy = Signal.builder().type(Signal.Type.BUY).reasonCode("TEST").reasonDetail("Fake Buy").build();
+        when(backtestSimulator.simulate(same(series), any(IndicatorSet.class), same(strategy), any(), anyInt(),
+                anyInt(), anyBoolean(), any(), any())).thenAnswer(i -> {
+                    BacktestSimulator.DecisionListener listener = i.getArgument(8);
+                    MarketEvent event = BacktestSimulator.buildEvent(series, i.getArgument(1), 0);
+                    listener.onDecision(event, buy, false);
+                    return BacktestSimulator.SimulationResult.builder()
+                            .symbol(symbol)
+                            .finalBalance(BigDecimal.valueOf(10_000_000))
+                            .totalReturnPercent(BigDecimal.ZERO)
+                            .trades(new ArrayList<>())
+                            .rejectionStats(Collections.emptyMap())
+                            .from(0)
+                            .equityCurve(new double[series.size()])
+                            .build();
+                });
 
         // Act
-        backtestService.runBacktest(symbol, start, end);
+        BacktestService.BacktestResult result = backtestService.runBacktest(symbol, start, end);
 
-        // Assert
-        verify(strategyEngine, atLeastOnce()).analyze(any(), any());
-        verify(decisionLogRepository, atLeastOnce()).save(any(DecisionLog.class));
+        // Assert: only the strategy's indicators are computed, and the decision log records those
+        verify(indicatorCache).indicatorSet(same(series), same(strategy.requiredIndicators()));
+        verify(decisionLogWriter).forBacktest(1L, symbol, strategy.requiredIndicators());
+        verify(backtestSimulator).simulate(same(series), any(IndicatorSet.class), same(strategy), any(), eq(0),
+                eq(series.size()), eq(true), any(), same(decisions));
+        assertEquals(1, logged.size());
+        assertSame(buy, logged.get(0));
+        assertEquals(1L, result.getRunId());
+        assertEquals(series.size(), result.getEquityCurve().size());
+        verify(backtestResultStore).put(1L, result);
         verify(backtestRunRepository, times(2)).save(any(BacktestRun.class)); // Start and End
     }
+
+    @Test
+    void runBacktest_WithRealSimulatorShouldTradeAndLogEveryBar() {
+        // Real simulator and strategy over a random-walk series; only persistence and caches are mocked
+        BacktestService service = new BacktestService(strategyRegistry, backtestRunRepository, decisionLogWriter,
+                candleSeriesLoader, new BacktestSimulator(), monteCarloService, backtestResultCache, indicatorCache,
+                backtestResultStore);
+        String symbol = "005930";
+        LocalDateTime start = LocalDateTime.of(2022, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+
+        Random random = new Random(61L);
+        int n = 600;
+        CandleSeries.Builder builder = CandleSeries.builder(symbol, n);
+        double price = 50_000;
+        for (int i = 0; i < n; i++) {
+            // Volatility cycles and occasional volume spikes, so breakouts happen
+            double vol = 0.005 + 0.03 * Math.abs(Math.sin(i / 60.0));
+            double open = price;
+            price = Math.max(1_000, Math.round(price * (1 + random.nextGaussian() * vol)));
+            double high = Math.round(Math.max(open, price) * (1 + vol / 2));
+            double low = Math.round(Math.min(open, price) * (1 - vol / 2));
+            long volume = 100_000 + random.nextInt(500_000) * (random.nextInt(20) == 0 ? 5 : 1);
+            builder.add(LocalDate.of(2022, 1, 3).plusDays(i).toEpochDay(), open, high, low, price, volume);
+        }
+        CandleSeries series = builder.build();
+        when(candleSeriesLoader.load(symbol, start, end)).thenReturn(series);
+        when(backtestRunRepository.save(any(BacktestRun.class))).thenAnswer(i -> {
+            BacktestRun run = i.getArgument(0);
+            run.setId(1L);
+            return run;
+        });
+        DonchianStrategy strategy = new DonchianStrategy();
+        when(strategyRegistry.getStrategy(anyString())).thenReturn(strategy);
+        when(backtestResultCache.get(eq(symbol), eq(start), eq(end), anyString(), any(), any()))
+                .thenAnswer(i -> ((Supplier<?>) i.getArgument(5)).get());
+        when(indicatorCache.indicatorSet(same(series), any(IndicatorPlan.class)))
+                .thenAnswer(i -> IndicatorSet.compute(series, i.getArgument(1)));
+        List<Signal> logged = new ArrayList<>();
+        when(decisionLogWriter.forBacktest(eq(1L), eq(symbol), any(IndicatorPlan.class)))
+                .thenReturn((event, signal, hasPosition) -> logged.add(signal));
+
+        BacktestService.BacktestResult result = service.runBacktest(symbol, start, end);
+
+        BacktestSimulator.SimulationResult expected = new BacktestSimulator().simulate(series,
+                IndicatorSet.compute(series), strategy, strategy.getDefaultParams(), 0, n);
+        assertTrue(result.getTotalTrades() > 0, "strategy should trade on the test series");
+        assertEquals(expected.getTrades().size(), result.getTotalTrades());
+        assertEquals(expected.getFinalBalance(), result.getFinalBalance());
+        assertEquals(expected.getTotalReturnPercent(), result.getTotalReturnPercent());
+        assertEquals(n, logged.size()); // One decision per bar
+        assertEquals(n, result.getEquityCurve().size());
+        assertEquals(n, result.getCandles().size());
+        verify(backtestRunRepository, times(2)).save(any(BacktestRun.class));
+    }
+
+    @Test
+    void runBacktest_JobCacheHitShouldBeStoredUnderJobRunId() {
+        String symbol = "005930";
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 1, 31, 23, 59);
+        BacktestService.BacktestResult cached = BacktestService.BacktestResult.builder()
+                .runId(1L)
+                .symbol(symbol)
+                .finalBalance(BigDecimal.valueOf(10_500_000))
+                .totalTrades(3)
+                .build();
+        when(backtestResultCache.get(eq(symbol), eq(start), eq(end), anyString(), any(), any())).thenReturn(cached);
+
+        BacktestRun run = BacktestRun.builder().status("QUEUED").build();
+        run.setId(7L);
+
+        BacktestService.BacktestResult result = backtestService.runBacktest(run, symbol, start, end, "S1", null,
+                null);
+
+        assertEquals(7L, result.getRunId());
+        assertEquals(cached.getFinalBalance(), result.getFinalBalance());
+        assertEquals(3, result.getTotalTrades());
+        assertEquals(1L, cached.getRunId()); // Cached entry is left untouched
+        assertEquals("COMPLETED", run.getStatus());
+        verify(backtestResultStore).put(7L, result);
+        verify(backtestSimulator, never()).simulate(any(), any(), any(), any(), anyInt(), anyInt(), anyBoolean(),
+                any(), any());
+    }
 }
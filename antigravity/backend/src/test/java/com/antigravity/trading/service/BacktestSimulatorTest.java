@@ -0,0 +1,200 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import com.antigravity.trading.strategy.v2.impl.EnsembleStrategy;
+import com.antigravity.trading.strategy.v2.impl.OpeningRangeStrategy;
+import com.antigravity.trading.strategy.v2.impl.PullbackStrategy;
+import com.antigravity.trading.strategy.v2.impl.VolatilitySqueezeStrategy;
+import com.antigravity.trading.util.TechnicalIndicators;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BacktestSimulatorTest {
+
+    @Test
+    void buildEvent_MovingAveragesMatchBigDecimalSmaForKisPrices() {
+        assertMovingAveragesMatch(0, 11L);
+    }
+
+    @Test
+    void buildEvent_MovingAveragesMatchBigDecimalSmaForDbPrices() {
+        assertMovingAveragesMatch(CandleSeries.DB_PRICE_SCALE, 12L);
+    }
+
+    @Test
+    void buildEvent_PricesShouldKeepDbScale() {
+        // candle_history prices are numeric(19,4): 50000 was read as 50000.0000
+        CandleSeries.Builder builder = CandleSeries.builder("005930", 30).priceScale(CandleSeries.DB_PRICE_SCALE);
+        for (int i = 0; i < 30; i++) {
+            builder.add(LocalDate.of(2023, 1, 2).plusDays(i).toEpochDay(), 50_000 + i, 50_100 + i, 49_900 + i,
+                    50_050.5 + i, 1000);
+        }
+        CandleSeries series = builder.build();
+        IndicatorSet indicators = IndicatorSet.compute(series, IndicatorPlan.ALL);
+
+        MarketEvent event = BacktestSimulator.buildEvent(series, indicators, 29);
+        assertEquals(new BigDecimal("50029.0000"), event.getOpen());
+        assertEquals(new BigDecimal("50129.0000"), event.getHigh());
+        assertEquals(new BigDecimal("49929.0000"), event.getLow());
+        assertEquals(new BigDecimal("50079.5000"), event.getClose());
+        assertEquals(event.getClose(), event.getCurrentPrice());
+        assertEquals(new BigDecimal("50128.0000"), event.getDonchianHigh());
+        assertEquals(new BigDecimal("49909.0000"), event.getDonchianLow());
+        assertEquals(event.getDonchianHigh(), event.getBreakoutPrice());
+        assertEquals(new BigDecimal("50029.0000"), series.toCandleDto(29).getOpen());
+        assertEquals(new BigDecimal("50079.5000"), series.toCandleDto(29).getClose());
+        assertEquals(BigDecimal.valueOf(1000), series.toCandleDto(29).getVolume());
+
+        // The lazy view and a materialized copy expose the same values
+        assertEquals(event.toString(), event.toBuilder().build().toString());
+    }
+
+    @Test
+    void simulate_StrategyPlanShouldGiveSameDecisionsAsAllIndicators() {
+        CandleSeries series = randomWalk(new Random(13L), 3000);
+        IndicatorSet all = IndicatorSet.compute(series, IndicatorPlan.ALL);
+        BacktestSimulator simulator = new BacktestSimulator();
+        DonchianStrategy s1 = new DonchianStrategy();
+        PullbackStrategy s2 = new PullbackStrategy();
+        VolatilitySqueezeStrategy s3 = new VolatilitySqueezeStrategy();
+        TradingStrategy[] strategies = { s1, s2, s3, new EnsembleStrategy(s1, s2, s3), new OpeningRangeStrategy() };
+
+        int totalTrades = 0;
+        for (TradingStrategy strategy : strategies) {
+            IndicatorSet planned = IndicatorSet.compute(series, strategy.requiredIndicators());
+            List<String> expectedDecisions = new ArrayList<>();
+            List<String> actualDecisions = new ArrayList<>();
+            BacktestSimulator.SimulationResult expected = simulator.simulate(series, all, strategy,
+                    strategy.getDefaultParams(), 0, series.size(), false, null,
+                    (event, signal, hasPosition) -> expectedDecisions.add(decision(signal)));
+            BacktestSimulator.SimulationResult actual = simulator.simulate(series, planned, strategy,
+                    strategy.getDefaultParams(), 0, series.size(), false, null,
+                    (event, signal, hasPosition) -> actualDecisions.add(decision(signal)));
+
+            String id = strategy.getId();
+            totalTrades += expected.getTrades().size();
+            assertEquals(expectedDecisions, actualDecisions, id + " decisions");
+            assertEquals(trades(expected), trades(actual), id + " trades");
+            assertEquals(expected.getFinalBalance(), actual.getFinalBalance(), id + " final balance");
+            assertEquals(expected.getRejectionStats(), actual.getRejectionStats(), id + " rejections");
+        }
+        assertTrue(totalTrades > 0, "strategies should trade on the test series");
+    }
+
+    @Test
+    void simulate_TradeRecordsShouldKeepDbScale() {
+        CandleSeries kis = randomWalk(new Random(14L), 2000, 0);
+        CandleSeries db = randomWalk(new Random(14L), 2000, CandleSeries.DB_PRICE_SCALE);
+        BacktestSimulator simulator = new BacktestSimulator();
+        DonchianStrategy strategy = new DonchianStrategy();
+
+        BacktestSimulator.SimulationResult kisResult = simulator.simulate(kis, IndicatorSet.compute(kis), strategy,
+                strategy.getDefaultParams(), 0, kis.size());
+        BacktestSimulator.SimulationResult dbResult = simulator.simulate(db, IndicatorSet.compute(db), strategy,
+                strategy.getDefaultParams(), 0, db.size());
+
+        assertTrue(dbResult.getTrades().size() > 0, "strategy should trade on the test series");
+        assertEquals(kisResult.getTrades().size(), dbResult.getTrades().size());
+        for (int t = 0; t < dbResult.getTrades().size(); t++) {
+            BacktestService.TradeRecord expected = kisResult.getTrades().get(t);
+            BacktestService.TradeRecord actual = dbResult.getTrades().get(t);
+            assertEquals(expected.getPrice().setScale(CandleSeries.DB_PRICE_SCALE), actual.getPrice(), "price " + t);
+            assertEquals(expected.getQuantity(), actual.getQuantity(), "quantity " + t);
+            assertEquals(expected.getPnlPercent(), actual.getPnlPercent(), "pnl " + t);
+        }
+        // Cash picks up the price scale with the first fill, as BigDecimal balance - qty * price did
+        assertEquals(kisResult.getFinalBalance().setScale(CandleSeries.DB_PRICE_SCALE), dbResult.getFinalBalance());
+        assertEquals(kisResult.getTotalReturnPercent(), dbResult.getTotalReturnPercent());
+    }
+
+    @Test
+    void simulate_FinalBalanceWithoutTradesShouldKeepInitialScale() {
+        CandleSeries db = randomWalk(new Random(15L), 10, CandleSeries.DB_PRICE_SCALE);
+        DonchianStrategy strategy = new DonchianStrategy();
+
+        BacktestSimulator.SimulationResult result = new BacktestSimulator().simulate(db, IndicatorSet.compute(db),
+                strategy, strategy.getDefaultParams(), 0, db.size());
+
+        assertTrue(result.getTrades().isEmpty());
+        assertEquals(new BigDecimal("10000000"), result.getFinalBalance());
+    }
+
+    private static CandleSeries randomWalk(Random random, int n) {
+        return randomWalk(random, n, 0);
+    }
+
+    /**
+     * 변동성이 주기적으로 바뀌는 무작위 일봉 (원 단위, 가끔 거래량 급증)
+     */
+    private static CandleSeries randomWalk(Random random, int n, int priceScale) {
+        CandleSeries.Builder builder = CandleSeries.builder("005930", n).priceScale(priceScale);
+        double price = 10_000;
+        for (int i = 0; i < n; i++) {
+            double vol = 0.005 + 0.03 * Math.abs(Math.sin(i / 60.0));
+            double open = price;
+            price = Math.max(100, Math.round(price * (1 + random.nextGaussian() * vol)));
+            double high = Math.round(Math.max(open, price) * (1 + vol / 2));
+            double low = Math.round(Math.min(open, price) * (1 - vol / 2));
+            long volume = 1000 + random.nextInt(5000) * (random.nextInt(20) == 0 ? 5 : 1);
+            builder.add(LocalDate.of(2010, 1, 1).plusDays(i).toEpochDay(), open, high, low, price, volume);
+        }
+        return builder.build();
+    }
+
+    private static String decision(Signal signal) {
+        return signal.getType() + "/" + signal.getReasonCode() + "/" + signal.getReasonMessageKo() + "/"
+                + signal.getReasonDetail() + "/" + signal.getConfidence();
+    }
+
+    private static List<String> trades(BacktestSimulator.SimulationResult result) {
+        List<String> trades = new ArrayList<>();
+        for (BacktestService.TradeRecord t : result.getTrades()) {
+            trades.add(t.getTime() + " " + t.getType() + " " + t.getPrice() + " " + t.getQuantity() + " "
+                    + t.getReason() + " " + t.getPnlPercent());
+        }
+        return trades;
+    }
+
+    /**
+     * buildEvent 의 ma20/ma60 이 BigDecimal SMA (sum / period, HALF_UP) 와 값과 자릿수까지 같은지 확인합니다.
+     */
+    private void assertMovingAveragesMatch(int scale, long seed) {
+        Random random = new Random(seed);
+        int n = 500;
+        long unit = (long) Math.pow(10, scale);
+        List<BigDecimal> closes = new ArrayList<>(n);
+        CandleSeries.Builder builder = CandleSeries.builder("005930", n).priceScale(scale);
+        long price = 50_000 * unit;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(unit, price + (random.nextInt(2001) - 1000) * unit / 10 + random.nextInt((int) unit));
+            BigDecimal close = BigDecimal.valueOf(price, scale);
+            closes.add(close);
+            double c = close.doubleValue();
+            builder.add(LocalDate.of(2020, 1, 1).plusDays(i).toEpochDay(), c, c, c, c, 1000);
+        }
+        CandleSeries series = builder.build();
+        IndicatorSet indicators = IndicatorSet.compute(series, IndicatorPlan.ALL);
+
+        List<BigDecimal> ma20 = TechnicalIndicators.calculateSma(closes, 20);
+        List<BigDecimal> ma60 = TechnicalIndicators.calculateSma(closes, 60);
+        for (int i = 0; i < n; i++) {
+            MarketEvent event = BacktestSimulator.buildEvent(series, indicators, i);
+            assertEquals(ma20.get(i), event.getMa20(), "ma20 at " + i);
+            assertEquals(ma60.get(i), event.getMa60(), "ma60 at " + i);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.entity.CandleIndicatorState;
+import com.antigravity.trading.repository.CandleIndicatorStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CandleIndicatorUpdaterTest {
+
+    private static final String SYMBOL = "005930";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private CandleStreamReader candleStreamReader;
+    @Mock
+    private CandleIndicatorStateRepository candleIndicatorStateRepository;
+
+    private CandleIndicatorUpdater updater;
+
+    // In-memory candle_history and candle_indicator_state
+    private final List<Candle> candles = new ArrayList<>();
+    private final List<Object[]> written = new ArrayList<>();
+    private CandleIndicatorState savedState;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        updater = new CandleIndicatorUpdater(jdbcTemplate, candleStreamReader, candleIndicatorStateRepository);
+
+        when(candleIndicatorStateRepository.findById(SYMBOL)).thenAnswer(inv -> Optional.ofNullable(savedState));
+        when(candleIndicatorStateRepository.save(any())).thenAnswer(inv -> savedState = inv.getArgument(0));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenAnswer(inv -> {
+            written.addAll(inv.getArgument(1));
+            return new int[0];
+        });
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any())).thenAnswer(inv -> {
+            LocalDateTime upTo = ((Timestamp) inv.getArgument(3)).toLocalDateTime();
+            return candles.stream().filter(c -> !c.time.isAfter(upTo)).count();
+        });
+        when(candleStreamReader.readDailyAfter(eq(SYMBOL), any(), any())).thenAnswer(inv -> {
+            LocalDateTime after = inv.getArgument(1);
+            CandleStreamReader.CandleHandler handler = inv.getArgument(2);
+            List<Candle> rows = candles.stream().filter(c -> c.time.isAfter(after)).toList();
+            rows.forEach(c -> c.accept(handler));
+            return (long) rows.size();
+        });
+        when(candleStreamReader.readDailyTail(eq(SYMBOL), any(), anyInt(), any())).thenAnswer(inv -> {
+            LocalDateTime upTo = inv.getArgument(1);
+            int limit = inv.getArgument(2);
+            CandleStreamReader.CandleHandler handler = inv.getArgument(3);
+            List<Candle> rows = candles.stream().filter(c -> !c.time.isAfter(upTo)).toList();
+            rows = rows.subList(Math.max(0, rows.size() - limit), rows.size());
+            rows.forEach(c -> c.accept(handler));
+            return (long) rows.size();
+        });
+    }
+
+    @Test
+    void update_IncrementalShouldEqualFullRecompute() {
+        List<Candle> history = randomWalk(new Random(11), 300);
+
+        // Full recompute over all candles
+        candles.addAll(history);
+        assertEquals(300, updater.update(SYMBOL));
+        List<Object[]> full = new ArrayList<>(written);
+
+        // Same candles arriving in three batches (including a single-bar batch)
+        candles.clear();
+        written.clear();
+        savedState = null;
+        int[] batchEnds = { 130, 131, 300 };
+        int from = 0;
+        for (int end : batchEnds) {
+            candles.addAll(history.subList(from, end));
+            assertEquals(end - from, updater.update(SYMBOL));
+            from = end;
+        }
+
+        assertEquals(full.size(), written.size());
+        for (int i = 0; i < full.size(); i++) {
+            assertArrayEquals(full.get(i), written.get(i), "bar " + i);
+        }
+        assertEquals(300, savedState.getBarCount());
+        assertEquals(history.get(299).time, savedState.getLastTime());
+        assertEquals(0, updater.update(SYMBOL));
+    }
+
+    @Test
+    void update_ShouldRecomputeFromTheStartWhenEarlierCandlesChange() {
+        List<Candle> history = randomWalk(new Random(5), 120);
+        candles.addAll(history.subList(1, 100));
+        updater.update(SYMBOL);
+
+        // A backfilled candle before the last computed time invalidates the saved Wilder state
+        candles.add(0, history.get(0));
+        candles.addAll(history.subList(100, 120));
+        written.clear();
+        assertEquals(120, updater.update(SYMBOL));
+
+        List<Object[]> incremental = new ArrayList<>(written);
+        written.clear();
+        savedState = null;
+        updater.update(SYMBOL);
+        assertEquals(written.size(), incremental.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertArrayEquals(written.get(i), incremental.get(i), "bar " + i);
+        }
+        assertEquals(120, savedState.getBarCount());
+    }
+
+    /**
+     * 변동폭과 거래량이 바뀌는 랜덤 일봉 (주말 없이 하루 간격)
+     */
+    private static List<Candle> randomWalk(Random random, int bars) {
+        List<Candle> list = new ArrayList<>();
+        double close = 50_000;
+        LocalDateTime start = LocalDate.of(2023, 1, 2).atTime(15, 30);
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1_000, Math.round(open * (1 + (random.nextDouble() - 0.5) * 0.06)));
+            double high = Math.max(open, close) + random.nextInt(800);
+            double low = Math.min(open, close) - random.nextInt(800);
+            list.add(new Candle(start.plusDays(i), open, high, low, close, 100_000L + random.nextInt(900_000)));
+        }
+        return list;
+    }
+
+    private record Candle(LocalDateTime time, double open, double high, double low, double close, long volume) {
+        private void accept(CandleStreamReader.CandleHandler handler) {
+            handler.accept(SYMBOL, time, open, high, low, close, volume);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.infrastructure.api.KisApiClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CandleStreamReaderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 4, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 3, 8, 23, 59);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private KisApiClient kisApiClient;
+
+    private CandleStreamReader reader;
+
+    // Rows served by the fake cursor, and the row / column the mocked ResultSet is positioned on
+    private final List<Object[]> rows = new ArrayList<>();
+    private Object[] current;
+    private boolean lastWasNull;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        reader = new CandleStreamReader(jdbcTemplate);
+
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        doAnswer(inv -> {
+            PreparedStatementCreator creator = inv.getArgument(0);
+            RowCallbackHandler handler = inv.getArgument(1);
+            creator.createPreparedStatement(connection);
+            for (Object[] row : rows) {
+                current = row;
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        when(resultSet.getString(anyInt())).thenAnswer(inv -> (String) column(inv.getArgument(0)));
+        when(resultSet.getTimestamp(anyInt())).thenAnswer(inv -> (Timestamp) column(inv.getArgument(0)));
+        when(resultSet.getDouble(anyInt())).thenAnswer(inv -> {
+            Object value = column(inv.getArgument(0));
+            return value != null ? ((Number) value).doubleValue() : 0.0;
+        });
+        when(resultSet.getLong(anyInt())).thenAnswer(inv -> {
+            Object value = column(inv.getArgument(0));
+            return value != null ? ((Number) value).longValue() : 0L;
+        });
+        when(resultSet.wasNull()).thenAnswer(inv -> lastWasNull);
+    }
+
+    @Test
+    void load_ShouldStreamDailyRowsWithFetchSizeIntoTheSeries() throws Exception {
+        rows.add(row(LocalDate.of(2024, 3, 4), 70_000, 71_000, 69_500, 70_500, 1_000L));
+        rows.add(row(LocalDate.of(2024, 3, 5), 70_500, 72_000, 70_000, 71_800, null));
+        rows.add(row(LocalDate.of(2024, 3, 6), null, 72_500, 71_000, 72_100, 3_000L));
+        CandleDataVersions versions = new CandleDataVersions();
+        versions.bump("005930");
+
+        CandleSeries series = new CandleSeriesLoader(kisApiClient, reader, versions).load("005930", START, END);
+
+        // Forward-only cursor read in fetch-size chunks, bound to the symbol and range
+        verify(connection).prepareStatement(contains("WHERE symbol = ? AND time BETWEEN ? AND ? ORDER BY time"),
+                eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY));
+        verify(statement).setFetchSize(5_000);
+        verify(statement).setString(1, "005930");
+        verify(statement).setTimestamp(2, Timestamp.valueOf(START));
+        verify(statement).setTimestamp(3, Timestamp.valueOf(END));
+        verifyNoInteractions(kisApiClient);
+
+        assertEquals(3, series.size());
+        assertEquals(1L, series.getDataVersion());
+        assertEquals(CandleSeries.DB_PRICE_SCALE, series.getPriceScale());
+        assertEquals(LocalDate.of(2024, 3, 5), series.date(1));
+        assertEquals(71_800.0, series.close(1));
+        assertEquals(0L, series.volume(1)); // NULL volume
+        assertTrue(Double.isNaN(series.open(2))); // NULL price
+        assertEquals(72_500.0, series.high(2));
+    }
+
+    @Test
+    void readDaily_ShouldBindSymbolArrayAndReadSymbolColumn() throws Exception {
+        Array array = mock(Array.class);
+        when(connection.createArrayOf(eq("varchar"), any())).thenReturn(array);
+        rows.add(symbolRow("000660", LocalDate.of(2024, 3, 4), 150_000, 1_000L));
+        rows.add(symbolRow("005930", LocalDate.of(2024, 3, 4), 70_000, 2_000L));
+
+        List<String> seen = new ArrayList<>();
+        long count = reader.readDaily(List.of("000660", "005930"), START, END,
+                (symbol, time, o, h, l, c, v) -> seen.add(symbol + " " + time.toLocalDate() + " " + c + " " + v));
+
+        assertEquals(2, count);
+        assertEquals(List.of("000660 2024-03-04 150000.0 1000", "005930 2024-03-04 70000.0 2000"), seen);
+        verify(connection).createArrayOf("varchar", new String[] { "000660", "005930" });
+        verify(statement).setArray(1, array);
+        verify(statement).setTimestamp(2, Timestamp.valueOf(START));
+        verify(statement).setFetchSize(5_000);
+    }
+
+    @Test
+    void readDailyTail_ShouldBindTheLimit() throws Exception {
+        long count = reader.readDailyTail("005930", END, 60, (s, time, o, h, l, c, v) -> fail("no rows"));
+
+        assertEquals(0, count);
+        verify(connection).prepareStatement(contains("ORDER BY time DESC LIMIT ?"), anyInt(), anyInt());
+        verify(statement).setString(1, "005930");
+        verify(statement).setTimestamp(2, Timestamp.valueOf(END));
+        verify(statement).setInt(3, 60);
+    }
+
+    private Object column(int index) {
+        Object value = current[index - 1];
+        lastWasNull = value == null;
+        return value;
+    }
+
+    private static Object[] row(LocalDate date, Integer open, Integer high, Integer low, Integer close, Long volume) {
+        return new Object[] { Timestamp.valueOf(date.atTime(15, 30)), open, high, low, close, volume };
+    }
+
+    private static Object[] symbolRow(String symbol, LocalDate date, int close, long volume) {
+        return new Object[] { symbol, Timestamp.valueOf(date.atTime(15, 30)), close, close, close, close, volume };
+    }
+}
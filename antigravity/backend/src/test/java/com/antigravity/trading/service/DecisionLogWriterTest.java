@@ -0,0 +1,28 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecisionLogWriterTest {
+
+    @Test
+    void inputsJson_ShouldRecordOnlyIndicatorsOfThePlan() {
+        CandleSeries.Builder builder = CandleSeries.builder("005930", 30);
+        for (int i = 0; i < 30; i++) {
+            builder.add(LocalDate.of(2023, 1, 1).plusDays(i).toEpochDay(), 100 + i, 110 + i, 90 + i, 105 + i, 1000);
+        }
+        CandleSeries series = builder.build();
+        IndicatorPlan plan = IndicatorPlan.of(IndicatorSet.ATR14);
+        MarketEvent event = BacktestSimulator.buildEvent(series, IndicatorSet.compute(series, plan), 29);
+
+        assertEquals("{\"c\":134,\"v\":1000,\"atr\":20.0,\"pos\":true}",
+                DecisionLogWriter.inputsJson(event, true, plan.contains(IndicatorSet.VOLUME_RATIO20)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.antigravity.trading.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MonteCarloServiceTest {
+
+    // Several chunks of 4096 plus a partial one
+    private static final int ITERATIONS = 3 * 4096 + 17;
+
+    @Test
+    void run_SameSeedShouldGiveSameSummaryRegardlessOfParallelism() {
+        List<BacktestService.TradeRecord> trades = new ArrayList<>();
+        int[] exits = { 11_000, 9_500, 10_400, 8_800, 12_000, 9_900, 10_050 };
+        for (int k = 0; k < exits.length; k++) {
+            addRoundTrip(trades, k, 10_000, exits[k], 100 + 10 * k);
+        }
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            for (MonteCarloService.Method method : MonteCarloService.Method.values()) {
+                MonteCarloService.MonteCarloSummary a = new MonteCarloService(single).run(trades, ITERATIONS,
+                        method, 42L);
+                MonteCarloService.MonteCarloSummary b = new MonteCarloService(wide).run(trades, ITERATIONS,
+                        method, 42L);
+                assertArrayEquals(values(a), values(b), method.name());
+            }
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void run_BootstrapPercentilesShouldMatchHandComputedOutcomes() {
+        // Balance 10,000,000: +100,000 then -200,000 -> multipliers 1.01 and 9.9 / 10.1
+        List<BacktestService.TradeRecord> trades = new ArrayList<>();
+        addRoundTrip(trades, 0, 10_000, 11_000, 100);
+        addRoundTrip(trades, 1, 10_000, 8_000, 100);
+        double up = 1.01;
+        double down = 9.9 / 10.1;
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            MonteCarloService.MonteCarloSummary summary = new MonteCarloService(pool).run(trades, ITERATIONS,
+                    MonteCarloService.Method.BOOTSTRAP, 7L);
+
+            // Two draws: up-up (25%), one of each (50%), down-down (25%)
+            assertEquals(2, summary.getTrades());
+            assertEquals((up * down - 1) * 100, summary.getOriginalReturnPercent(), 1e-9);
+            assertEquals((1 - down) * 100, summary.getOriginalMaxDrawdownPercent(), 1e-9);
+            assertEquals((down * down - 1) * 100, summary.getReturnP5(), 1e-9);
+            assertEquals((up * down - 1) * 100, summary.getReturnP50(), 1e-9);
+            assertEquals((up * up - 1) * 100, summary.getReturnP95(), 1e-9);
+            // Drawdowns: 0 (up-up), 1 - down (up-down, down-up), 1 - down^2 (down-down)
+            assertEquals((1 - down) * 100, summary.getMaxDrawdownP50(), 1e-9);
+            assertEquals((1 - down * down) * 100, summary.getMaxDrawdownP99(), 1e-9);
+            assertEquals((1 - down * down) * 100, summary.getWorstMaxDrawdownPercent(), 1e-9);
+            assertEquals(0.75, summary.getProbabilityOfLoss(), 0.02);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void run_ShuffleShouldKeepTheFinalReturn() {
+        List<BacktestService.TradeRecord> trades = new ArrayList<>();
+        addRoundTrip(trades, 0, 10_000, 11_000, 100);
+        addRoundTrip(trades, 1, 10_000, 8_000, 100);
+        addRoundTrip(trades, 2, 10_000, 10_500, 100);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            MonteCarloService.MonteCarloSummary summary = new MonteCarloService(pool).run(trades, 1000,
+                    MonteCarloService.Method.SHUFFLE, 3L);
+
+            // A permutation only reorders the same multipliers
+            double original = summary.getOriginalReturnPercent();
+            assertEquals(original, summary.getReturnP5(), 1e-9);
+            assertEquals(original, summary.getReturnP95(), 1e-9);
+            assertEquals(original, summary.getMeanReturnPercent(), 1e-9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void percentile_ShouldInterpolateLinearly() {
+        double[] sorted = { 1, 2, 3, 4, 5 };
+        assertEquals(1.0, MonteCarloService.percentile(sorted, 0.0));
+        assertEquals(2.0, MonteCarloService.percentile(sorted, 0.25));
+        assertEquals(3.0, MonteCarloService.percentile(sorted, 0.5));
+        assertEquals(4.8, MonteCarloService.percentile(sorted, 0.95), 1e-12);
+        assertEquals(5.0, MonteCarloService.percentile(sorted, 1.0));
+        assertEquals(7.0, MonteCarloService.percentile(new double[] { 7 }, 0.95));
+    }
+
+    @Test
+    void run_ShouldRejectIterationsOutOfRange() {
+        MonteCarloService service = new MonteCarloService(ForkJoinPool.commonPool());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.run(List.of(), 0, MonteCarloService.Method.BOOTSTRAP, 1L));
+        assertThrows(IllegalArgumentException.class, () -> service.run(List.of(),
+                MonteCarloService.MAX_ITERATIONS + 1, MonteCarloService.Method.BOOTSTRAP, 1L));
+    }
+
+    private static void addRoundTrip(List<BacktestService.TradeRecord> trades, int day, long entry, long exit,
+            long quantity) {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 2, 15, 30).plusDays(2L * day);
+        trades.add(BacktestService.TradeRecord.builder().time(time).type("BUY").price(BigDecimal.valueOf(entry))
+                .quantity(BigDecimal.valueOf(quantity)).pnlPercent(BigDecimal.ZERO).build());
+        trades.add(BacktestService.TradeRecord.builder().time(time.plusDays(1)).type("SELL")
+                .price(BigDecimal.valueOf(exit)).quantity(BigDecimal.valueOf(quantity)).pnlPercent(BigDecimal.ZERO)
+                .build());
+    }
+
+    /**
+     * 소요 시간을 제외한 요약 값
+     */
+    private static double[] values(MonteCarloService.MonteCarloSummary s) {
+        return new double[] { s.getIterations(), s.getTrades(), s.getOriginalReturnPercent(),
+                s.getOriginalMaxDrawdownPercent(), s.getMeanReturnPercent(), s.getReturnP5(), s.getReturnP25(),
+                s.getReturnP50(), s.getReturnP75(), s.getReturnP95(), s.getMaxDrawdownP50(), s.getMaxDrawdownP95(),
+                s.getMaxDrawdownP99(), s.getWorstMaxDrawdownPercent(), s.getProbabilityOfLoss() };
+    }
+}
@@ -0,0 +1,155 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PortfolioSimulationTest {
+
+    private static final long FIRST_DAY = LocalDate.of(2024, 3, 4).toEpochDay();
+    private static final int DAYS = 3;
+    private static final Signal HOLD = Signal.builder().type(Signal.Type.HOLD).build();
+
+    // Flat prices so that every fill and the final liquidation are at the same close
+    private final List<CandleSeries> series = List.of(flat("A", 10_000), flat("B", 20_000), flat("C", 5_000));
+    private final List<IndicatorSet> indicators = series.stream().map(IndicatorSet::compute)
+            .collect(Collectors.toList());
+
+    // Scripted signals keyed by symbol and day offset
+    private final Map<String, Signal> script = new HashMap<>();
+    private final TradingStrategy strategy = mock(TradingStrategy.class);
+
+    @BeforeEach
+    void setUp() {
+        when(strategy.evaluate(any(), any(), any())).thenAnswer(inv -> {
+            MarketEvent event = inv.getArgument(0);
+            long day = event.getTimestamp().toLocalDate().toEpochDay() - FIRST_DAY;
+            return script.getOrDefault(event.getSymbol() + "@" + day, HOLD);
+        });
+    }
+
+    @Test
+    void run_EntriesShouldShareOneCashBalance() {
+        script.put("A@0", buy(0.9, 1.0));
+        script.put("B@0", buy(0.5, 1.0));
+        script.put("C@0", buy(0.1, 1.0));
+
+        // Half of equity per entry: A and B spend all the cash, so C gets nothing
+        PortfolioSimulation.Result result = simulate(0, 1, 2);
+
+        assertEquals(List.of("BUY A 500", "BUY B 250", "SELL A 500", "SELL B 250"), describe(result));
+        assertEquals(BacktestSimulator.INITIAL_BALANCE_KRW, result.getFinalCash());
+        assertEquals(3L * DAYS, result.getEvaluations());
+    }
+
+    @Test
+    void run_ExitsShouldFreeCashForSameDayEntries() {
+        script.put("A@0", buy(1.0, 1.0));
+        script.put("A@1", sell());
+        script.put("B@1", buy(1.0, 1.0));
+
+        // A takes all the cash on day 0; on day 1 its sale funds B's full-equity entry
+        PortfolioSimulation.Result result = simulate(0, 1, 1);
+
+        assertEquals(List.of("BUY A 1000", "SELL A 1000", "BUY B 500", "SELL B 500"), describe(result));
+        assertEquals(LocalDate.ofEpochDay(FIRST_DAY + 1), result.getTrades().get(2).getTime().toLocalDate());
+    }
+
+    @Test
+    void run_TradePricesShouldKeepTheSeriesPriceScale() {
+        script.put("A@0", buy(1.0, 1.0));
+        // candle_history prices are numeric(19,4)
+        CandleSeries a = flat("A", 10_000, 4);
+
+        PortfolioSimulation.Result result = PortfolioSimulation.builder().series(List.of(a))
+                .indicators(List.of(IndicatorSet.compute(a))).strategy(strategy).allocNumerator(1)
+                .allocDenominator(1).build().run();
+
+        assertEquals(new BigDecimal("10000.0000"), result.getTrades().get(0).getPrice());
+        assertEquals(new BigDecimal("10000.0000"), result.getTrades().get(1).getPrice());
+    }
+
+    @Test
+    void run_ShouldFillOnlyFreeSlotsByConfidence() {
+        script.put("A@0", buy(0.2, 1.0));
+        script.put("B@0", buy(0.9, 1.0));
+        script.put("C@0", buy(0.5, 1.0));
+        script.put("B@1", sell());
+        script.put("A@1", buy(0.2, 1.0));
+
+        // Two slots: B and C on day 0, A only once B has left on day 1
+        PortfolioSimulation.Result result = simulate(2, 1, 4);
+
+        assertEquals(List.of("BUY B 125", "BUY C 500", "SELL B 125", "BUY A 250", "SELL A 250", "SELL C 500"),
+                describe(result));
+    }
+
+    @Test
+    void run_ShouldScaleEntriesBySizeFactor() {
+        script.put("A@0", buy(1.0, 0.25));
+        script.put("B@0", buy(1.0, 3.0)); // Capped at 1
+        script.put("C@0", buy(1.0, 0.0)); // Unset means full size
+
+        PortfolioSimulation.Result result = simulate(0, 1, 10);
+
+        assertEquals(List.of("BUY A 25", "BUY B 50", "BUY C 200", "SELL A 25", "SELL B 50", "SELL C 200"),
+                describe(result));
+    }
+
+    private PortfolioSimulation.Result simulate(int maxOpen, long allocNumerator, long allocDenominator) {
+        return PortfolioSimulation.builder()
+                .series(series)
+                .indicators(indicators)
+                .strategy(strategy)
+                .maxOpen(maxOpen)
+                .allocNumerator(allocNumerator)
+                .allocDenominator(allocDenominator)
+                .build()
+                .run();
+    }
+
+    /**
+     * "유형 종목 수량" 형태의 체결 목록
+     */
+    private static List<String> describe(PortfolioSimulation.Result result) {
+        return result.getTrades().stream()
+                .map(t -> t.getType() + " " + t.getSymbol() + " " + t.getQuantity().toPlainString())
+                .collect(Collectors.toList());
+    }
+
+    private static Signal buy(double confidence, double sizeFactor) {
+        return Signal.builder().type(Signal.Type.BUY).confidence(confidence).sizeFactor(sizeFactor)
+                .reasonCode("TEST").build();
+    }
+
+    private static Signal sell() {
+        return Signal.builder().type(Signal.Type.SELL).reasonCode("TEST").build();
+    }
+
+    private static CandleSeries flat(String symbol, double price) {
+        return flat(symbol, price, 0);
+    }
+
+    private static CandleSeries flat(String symbol, double price, int priceScale) {
+        CandleSeries.Builder builder = CandleSeries.builder(symbol, DAYS).priceScale(priceScale);
+        for (int d = 0; d < DAYS; d++)
+            builder.add(FIRST_DAY + d, price, price, price, price, 1000);
+        return builder.build();
+    }
+}
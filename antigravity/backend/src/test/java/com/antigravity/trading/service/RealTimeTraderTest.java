@@ -0,0 +1,103 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.domain.entity.TargetStock;
+import com.antigravity.trading.engine.StrategyRegistry;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.infrastructure.api.KisApiClient;
+import com.antigravity.trading.repository.TargetStockRepository;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RealTimeTraderTest {
+
+    private static final String SYMBOL = "005930";
+
+    @Mock
+    private TargetStockRepository targetStockRepository;
+    @Mock
+    private KillSwitchService killSwitchService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private CandleStreamReader candleStreamReader;
+    @Mock
+    private StrategyRegistry strategyRegistry;
+    @Mock
+    private DecisionLogWriter decisionLogWriter;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private KisApiClient kisApiClient;
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private TradingStrategy strategy;
+
+    private RealTimeTrader trader;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        trader = new RealTimeTrader(targetStockRepository, killSwitchService, notificationService,
+                candleStreamReader, strategyRegistry, decisionLogWriter, orderService, kisApiClient,
+                applicationContext);
+        ReflectionTestUtils.setField(trader, "liveStrategyId", "S1");
+        when(targetStockRepository.findByIsActiveTrue())
+                .thenReturn(List.of(TargetStock.builder().symbol(SYMBOL).isActive(true).build()));
+        when(killSwitchService.isSystemActive()).thenReturn(true);
+        when(strategyRegistry.getStrategy("S1")).thenReturn(strategy);
+        when(strategy.getDefaultParams()).thenReturn(new DonchianStrategy().getDefaultParams());
+        trader.loadActiveTargets();
+    }
+
+    @Test
+    void onPriceUpdate_ShouldRecordLiveDecisionsWhenTheSignalChanges() {
+        when(decisionLogWriter.isEnabled()).thenReturn(true);
+        Signal hold = Signal.builder().type(Signal.Type.HOLD).reasonCode("WAIT").build();
+        Signal buy = Signal.builder().type(Signal.Type.BUY).reasonCode("BREAKOUT").build();
+        when(strategy.evaluate(any(), any(), any())).thenReturn(hold, hold, buy, buy, hold);
+
+        LocalDateTime open = LocalDate.of(2024, 3, 4).atTime(9, 0);
+        for (int k = 0; k < 5; k++) {
+            trader.onPriceUpdate(SYMBOL, open.plusMinutes(k), BigDecimal.valueOf(70_000 + k * 100), 1_000L * (k + 1));
+        }
+
+        // Repeated signals on later ticks are not recorded again
+        ArgumentCaptor<Signal> signals = ArgumentCaptor.forClass(Signal.class);
+        ArgumentCaptor<MarketEvent> events = ArgumentCaptor.forClass(MarketEvent.class);
+        verify(decisionLogWriter, times(3)).record(eq("live-" + SYMBOL + "-2024-03-04"), eq(SYMBOL),
+                events.capture(), signals.capture(), eq(false));
+        assertEquals(List.of(hold, buy, hold), signals.getAllValues());
+        assertEquals(new BigDecimal("70200"), events.getAllValues().get(1).getClose());
+        verify(strategy, times(5)).evaluate(any(), any(), any());
+    }
+
+    @Test
+    void onPriceUpdate_ShouldNotEvaluateWhenDecisionLoggingIsOff() {
+        when(decisionLogWriter.isEnabled()).thenReturn(false);
+
+        trader.onPriceUpdate(SYMBOL, LocalDate.of(2024, 3, 4).atTime(9, 0), BigDecimal.valueOf(70_000), 1_000L);
+
+        verify(strategy, never()).evaluate(any(), any(), any());
+        verify(decisionLogWriter, never()).record(anyString(), anyString(), any(), any(), anyBoolean());
+    }
+}
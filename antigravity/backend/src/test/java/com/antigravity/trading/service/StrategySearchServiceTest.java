@@ -0,0 +1,137 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.ParameterGrid;
+import com.antigravity.trading.engine.backtest.SeriesWindow;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StrategySearchServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate END = LocalDate.of(2023, 12, 31);
+
+    @Mock
+    private ParameterSweepService parameterSweepService;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final DonchianStrategy strategy = new DonchianStrategy();
+    private StrategySearchService service;
+
+    // Bars each scored candidate was simulated over
+    private final List<Integer> scoredBars = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new StrategySearchService(parameterSweepService, pool);
+
+        // One bar per calendar day over 2023
+        CandleSeries.Builder builder = CandleSeries.builder("005930", 365);
+        for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1))
+            builder.add(d.toEpochDay(), 100, 110, 90, 105, 1000);
+        CandleSeries series = builder.build();
+
+        when(parameterSweepService.requireStrategy("S1")).thenReturn(strategy);
+        when(parameterSweepService.prepareWindows(anyList(), any(), any(), any()))
+                .thenReturn(List.of(new SeriesWindow(series, null, 0, series.size())));
+        // A longer Donchian period scores higher on every rung
+        when(parameterSweepService.score(anyInt(), eq(strategy), any(), anyList())).thenAnswer(inv -> {
+            List<SeriesWindow> windows = inv.getArgument(3);
+            scoredBars.add(windows.get(0).length());
+            int period = ((DonchianStrategy.Params) inv.getArgument(2)).getDonchianPeriod();
+            return new ParameterSweepService.CandidateScore(inv.getArgument(0), period, period, period, 1, null,
+                    0.0);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void search_ShouldPromoteTopThirdToLongerPrefixesEachRung() {
+        StrategySearchService.SearchResult result = service.search(List.of("005930"), START.atStartOfDay(),
+                END.atTime(23, 59), List.of(space(10, 18)), 1, 3, 0);
+
+        // 9 candidates on January -> 3 on January .. March -> the lone survivor on the full year
+        List<StrategySearchService.RungSummary> rungs = result.getRungs();
+        assertEquals(3, rungs.size());
+        assertRung(rungs.get(0), LocalDate.of(2023, 2, 1), 9, 3, 18.0);
+        assertRung(rungs.get(1), LocalDate.of(2023, 4, 1), 3, 1, 18.0);
+        assertRung(rungs.get(2), END, 1, 1, 18.0);
+
+        List<Integer> expectedBars = new ArrayList<>(Collections.nCopies(9, 31));
+        expectedBars.addAll(Collections.nCopies(3, 90));
+        expectedBars.add(365);
+        List<Integer> bars = new ArrayList<>(scoredBars);
+        Collections.sort(bars);
+        assertEquals(expectedBars, bars);
+
+        assertEquals(9, result.getCandidates());
+        assertEquals(9 * 31 + 3 * 90 + 365, result.getSimulatedBars());
+        assertEquals(9 * 365, result.getBruteForceBars());
+        assertEquals(1, result.getResults().size());
+        assertEquals(18.0, result.getResults().get(0).getValues().get("donchianPeriod"));
+    }
+
+    @Test
+    void search_ShouldRankEveryFinalistWhenTheLastRungReachesTheEnd() {
+        // eta 2 from 6 months: 9 -> 5 on January .. June, then all 5 on the full year
+        StrategySearchService.SearchResult result = service.search(List.of("005930"), START.atStartOfDay(),
+                END.atTime(23, 59), List.of(space(10, 18)), 6, 2, 3);
+
+        assertEquals(2, result.getRungs().size());
+        assertRung(result.getRungs().get(0), LocalDate.of(2023, 7, 1), 9, 5, 18.0);
+        assertRung(result.getRungs().get(1), END, 5, 5, 18.0);
+        List<StrategySearchService.SearchRow> rows = result.getResults();
+        assertEquals(3, rows.size());
+        for (int r = 0; r < rows.size(); r++) {
+            assertEquals(r + 1, rows.get(r).getRank());
+            assertEquals(18.0 - r, rows.get(r).getValues().get("donchianPeriod"));
+        }
+    }
+
+    @Test
+    void search_ShouldRejectInvalidSchedule() {
+        assertThrows(IllegalArgumentException.class, () -> service.search(List.of("005930"),
+                START.atStartOfDay(), END.atTime(23, 59), List.of(space(10, 12)), 1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.search(List.of("005930"),
+                START.atStartOfDay(), END.atTime(23, 59), List.of(), 1, 3, 0));
+    }
+
+    private static void assertRung(StrategySearchService.RungSummary rung, LocalDate until, int candidates,
+            int survivors, double best) {
+        assertEquals(until, rung.getEvaluatedUntil());
+        assertEquals(candidates, rung.getCandidates());
+        assertEquals(survivors, rung.getSurvivors());
+        assertEquals(best, rung.getBestAvgReturnPercent());
+    }
+
+    private static StrategySearchService.SearchSpace space(int fromPeriod, int toPeriod) {
+        ParameterGrid.ParamRange period = new ParameterGrid.ParamRange();
+        period.setFrom((double) fromPeriod);
+        period.setTo((double) toPeriod);
+        period.setStep(1.0);
+        StrategySearchService.SearchSpace space = new StrategySearchService.SearchSpace();
+        space.setStrategyId("S1");
+        space.getRanges().put("donchianPeriod", period);
+        return space;
+    }
+}
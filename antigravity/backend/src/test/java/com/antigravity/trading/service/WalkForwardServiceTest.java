@@ -0,0 +1,142 @@
+package com.antigravity.trading.service;
+
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.EquityPoint;
+import com.antigravity.trading.engine.backtest.ParameterGrid;
+import com.antigravity.trading.engine.backtest.SeriesWindow;
+import com.antigravity.trading.strategy.v2.impl.DonchianStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WalkForwardServiceTest {
+
+    private static final String SYMBOL = "005930";
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate END = LocalDate.of(2023, 12, 31);
+    private static final double INITIAL = BacktestSimulator.INITIAL_BALANCE.doubleValue();
+
+    @Mock
+    private CandleSeriesLoader candleSeriesLoader;
+    @Mock
+    private BacktestSimulator backtestSimulator;
+    @Mock
+    private ParameterSweepService parameterSweepService;
+    @Mock
+    private IndicatorCache indicatorCache;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final DonchianStrategy strategy = new DonchianStrategy();
+    private WalkForwardService service;
+    private CandleSeries series;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new WalkForwardService(candleSeriesLoader, backtestSimulator, parameterSweepService, indicatorCache,
+                pool);
+
+        // One bar per calendar day over 2023
+        CandleSeries.Builder builder = CandleSeries.builder(SYMBOL, 365);
+        for (LocalDate d = START; !d.isAfter(END); d = d.plusDays(1))
+            builder.add(d.toEpochDay(), 100, 110, 90, 105, 1000);
+        series = builder.build();
+
+        when(candleSeriesLoader.load(eq(SYMBOL), any(), any())).thenReturn(series);
+        when(parameterSweepService.requireStrategy("S1")).thenReturn(strategy);
+        // The second candidate wins every in-sample window
+        when(parameterSweepService.evaluate(eq(strategy), anyList(), anyList())).thenReturn(List.of(
+                new ParameterSweepService.CandidateScore(0, 1.0, 1.0, 1.0, 1, null, 0.0),
+                new ParameterSweepService.CandidateScore(1, 4.0, 4.0, 4.0, 1, null, 0.0)));
+        // Each out-of-sample window gains 10% linearly over its bars
+        when(backtestSimulator.simulate(eq(series), any(), eq(strategy), any(), anyInt(), anyInt(), eq(true)))
+                .thenAnswer(inv -> {
+                    int from = inv.getArgument(4);
+                    int to = inv.getArgument(5);
+                    double[] equity = new double[to - from];
+                    for (int k = 0; k < equity.length; k++)
+                        equity[k] = INITIAL * (1.0 + 0.1 * (k + 1) / equity.length);
+                    return BacktestSimulator.SimulationResult.builder().symbol(SYMBOL).from(from)
+                            .equityCurve(equity).totalReturnPercent(BigDecimal.TEN).trades(List.of()).build();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void run_ShouldSliceRollingWindowsAndStitchOutOfSampleEquity() {
+        WalkForwardService.WalkForwardResult result = service.run(SYMBOL, START.atStartOfDay(),
+                END.atTime(23, 59), "S1", null, ranges(), 3, 1);
+
+        // IS 3 months, OOS 1 month advancing monthly: OOS windows are April .. December
+        List<WalkForwardService.WindowResult> windows = result.getWindows();
+        assertEquals(9, windows.size());
+        for (int w = 0; w < windows.size(); w++) {
+            WalkForwardService.WindowResult window = windows.get(w);
+            LocalDate oosStart = LocalDate.of(2023, 4 + w, 1);
+            assertEquals(oosStart.minusMonths(3), window.getInSampleStart());
+            assertEquals(oosStart.minusDays(1), window.getInSampleEnd());
+            assertEquals(oosStart, window.getOutOfSampleStart());
+            assertEquals(oosStart.plusMonths(1).minusDays(1), window.getOutOfSampleEnd());
+            assertEquals(4.0, window.getInSampleReturnPercent());
+            assertEquals(20, window.getBestValues().get("donchianPeriod"));
+        }
+
+        // In-sample windows end right before the OOS bars handed to the simulator
+        for (int w = 0; w < windows.size(); w++) {
+            LocalDate oosStart = LocalDate.of(2023, 4 + w, 1);
+            verify(backtestSimulator).simulate(eq(series), any(), eq(strategy), any(),
+                    eq(series.lowerBound(oosStart.toEpochDay())),
+                    eq(series.lowerBound(oosStart.plusMonths(1).toEpochDay())), eq(true));
+        }
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SeriesWindow>> inSample = ArgumentCaptor.forClass(List.class);
+        verify(parameterSweepService, times(9)).evaluate(eq(strategy), anyList(), inSample.capture());
+        List<Integer> isFroms = new ArrayList<>();
+        for (List<SeriesWindow> evaluated : inSample.getAllValues()) {
+            SeriesWindow window = evaluated.get(0);
+            LocalDate oosStart = series.date(window.getTo());
+            assertEquals(1, oosStart.getDayOfMonth());
+            assertEquals(series.lowerBound(oosStart.minusMonths(3).toEpochDay()), window.getFrom());
+            isFroms.add(window.getFrom());
+        }
+        assertEquals(9, isFroms.stream().distinct().count());
+
+        // Stitched curve: one point per OOS bar, each segment scaled by the capital carried over
+        List<EquityPoint> stitched = result.getStitchedEquity();
+        assertEquals(275, stitched.size()); // April 1 .. December 31
+        assertEquals(LocalDate.of(2023, 4, 1), stitched.get(0).getDate());
+        assertEquals(INITIAL * 1.1, stitched.get(29).getEquity(), 1e-6); // April 30
+        assertEquals(LocalDate.of(2023, 5, 1), stitched.get(30).getDate());
+        assertEquals(INITIAL * 1.1 * (1.0 + 0.1 / 31), stitched.get(30).getEquity(), 1e-6);
+        assertEquals(INITIAL * Math.pow(1.1, 9), stitched.get(274).getEquity(), 1e-3);
+        assertEquals((Math.pow(1.1, 9) - 1) * 100, result.getTotalOutOfSampleReturnPercent(), 1e-9);
+        assertEquals(10.0 / 4.0, result.getEfficiency(), 1e-12);
+    }
+
+    private static Map<String, ParameterGrid.ParamRange> ranges() {
+        ParameterGrid.ParamRange period = new ParameterGrid.ParamRange();
+        period.setValues(List.of(10, 20));
+        Map<String, ParameterGrid.ParamRange> ranges = new LinkedHashMap<>();
+        ranges.put("donchianPeriod", period);
+        return ranges;
+    }
+}
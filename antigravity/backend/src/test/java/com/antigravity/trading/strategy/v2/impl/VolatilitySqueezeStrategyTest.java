@@ -0,0 +1,156 @@
+package com.antigravity.trading.strategy.v2.impl;
+
+import com.antigravity.trading.domain.dto.CandleDto;
+import com.antigravity.trading.engine.backtest.CandleSeries;
+import com.antigravity.trading.engine.backtest.IndicatorPlan;
+import com.antigravity.trading.engine.backtest.IndicatorSet;
+import com.antigravity.trading.engine.model.MarketEvent;
+import com.antigravity.trading.engine.model.Signal;
+import com.antigravity.trading.engine.model.StrategyContext;
+import com.antigravity.trading.service.BacktestService;
+import com.antigravity.trading.service.BacktestSimulator;
+import com.antigravity.trading.strategy.v2.StrategyParams;
+import com.antigravity.trading.strategy.v2.TradingStrategy;
+import com.antigravity.trading.util.TechnicalIndicators;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VolatilitySqueezeStrategyTest {
+
+    private final BacktestSimulator simulator = new BacktestSimulator();
+
+    @Test
+    void tradesShouldMatchLinearScanPercentile() {
+        CandleSeries series = regimeSeries(1200, 3L);
+        IndicatorSet indicators = IndicatorSet.compute(series, IndicatorPlan.ALL);
+        int totalTrades = 0;
+
+        for (int percentileWindow : new int[] { 100, 40 }) {
+            VolatilitySqueezeStrategy.Params params = new VolatilitySqueezeStrategy.Params();
+            params.setPercentileWindow(percentileWindow);
+            params.setVolumeMultiplier(1.5);
+            for (int from : new int[] { 0, 600 }) {
+                List<BacktestService.TradeRecord> expected = simulator.simulate(series, indicators,
+                        new LinearScanSqueeze(), params, from, series.size()).getTrades();
+                List<BacktestService.TradeRecord> actual = simulator.simulate(series, indicators,
+                        new VolatilitySqueezeStrategy(), params, from, series.size()).getTrades();
+
+                assertEquals(expected.size(), actual.size(), "trades, window " + percentileWindow + " from " + from);
+                for (int t = 0; t < expected.size(); t++) {
+                    assertEquals(expected.get(t).getTime(), actual.get(t).getTime());
+                    assertEquals(expected.get(t).getType(), actual.get(t).getType());
+                    assertEquals(0, expected.get(t).getPrice().compareTo(actual.get(t).getPrice()));
+                    assertEquals(0, expected.get(t).getQuantity().compareTo(actual.get(t).getQuantity()));
+                }
+                totalTrades += actual.size();
+            }
+        }
+        assertTrue(totalTrades > 0, "series should produce squeeze breakouts");
+    }
+
+    /**
+     * 변동성이 주기적으로 수축/확장하고 가끔 거래량이 튀는 일봉
+     */
+    private static CandleSeries regimeSeries(int n, long seed) {
+        Random random = new Random(seed);
+        CandleSeries.Builder builder = CandleSeries.builder("005930", n);
+        double price = 10_000;
+        for (int i = 0; i < n; i++) {
+            double vol = 0.005 + 0.03 * Math.abs(Math.sin(i / 60.0));
+            double open = price;
+            price = Math.max(100, Math.round(price * (1 + random.nextGaussian() * vol)));
+            builder.add(18_000 + i, open, Math.round(Math.max(open, price) * (1 + vol / 2)),
+                    Math.round(Math.min(open, price) * (1 - vol / 2)), price,
+                    1000 + random.nextInt(5000) * (random.nextInt(20) == 0 ? 5 : 1));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 기준 구현: 매 캔들 history 전체로 ATR14 를 다시 계산하고, 현재 캔들까지의 최근 percentileWindow 개 ATR 을
+     * 선형 탐색해 순위를 구합니다. 그 밖의 진입/청산 규칙은 VolatilitySqueezeStrategy 와 같습니다.
+     */
+    private static final class LinearScanSqueeze implements TradingStrategy {
+        private final VolatilitySqueezeStrategy delegate = new VolatilitySqueezeStrategy();
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public StrategyParams getDefaultParams() {
+            return delegate.getDefaultParams();
+        }
+
+        @Override
+        public Class<? extends StrategyParams> getParamsClass() {
+            return delegate.getParamsClass();
+        }
+
+        @Override
+        public Signal evaluate(MarketEvent event, StrategyContext context, StrategyParams baseParams) {
+            VolatilitySqueezeStrategy.Params params = (VolatilitySqueezeStrategy.Params) baseParams;
+
+            if (!context.isHasPosition()) {
+                if (event.getAtr() == null)
+                    return Signal.none();
+
+                List<CandleDto> history = context.getHistory();
+                List<Double> atrs = TechnicalIndicators.calculateAtr(history.subList(0, history.size() - 1), 14);
+                List<Double> window = new ArrayList<>();
+                for (Double atr : atrs) {
+                    if (atr != null)
+                        window.add(atr);
+                }
+                window.add(event.getAtr());
+                if (window.size() < params.getPercentileWindow())
+                    return Signal.none();
+                window = window.subList(window.size() - params.getPercentileWindow(), window.size());
+
+                int rank = 0;
+                for (double atr : window) {
+                    if (atr < event.getAtr())
+                        rank++;
+                }
+                double percentile = (double) rank / window.size() * 100.0;
+                if (percentile <= params.getAtrPercentileThreshold())
+                    context.getExtraData().put("S3_Squeeze", true);
+
+                BigDecimal trigger = event.getDonchianHigh() != null ? event.getDonchianHigh() : event.getHigh();
+                boolean wasSqueeze = Boolean.TRUE.equals(context.getExtraData().get("S3_Squeeze"));
+                if (wasSqueeze && event.getClose().compareTo(trigger) > 0
+                        && event.getVolumeRatio() >= params.getVolumeMultiplier()) {
+                    context.getExtraData().put("S3_Squeeze", false);
+                    context.getExtraData().put("S3_highestHigh", event.getHigh().doubleValue());
+                    return Signal.builder().type(Signal.Type.BUY).reasonCode("SQUEEZE_BREAK").confidence(0.9)
+                            .sizeFactor(1.0).build();
+                }
+            } else {
+                double currentPrice = event.getClose().doubleValue();
+                double atr = event.getAtr() != null ? event.getAtr() : 0.0;
+                double highestHigh = (double) context.getExtraData().getOrDefault("S3_highestHigh", currentPrice);
+                if (currentPrice > highestHigh) {
+                    highestHigh = currentPrice;
+                    context.getExtraData().put("S3_highestHigh", highestHigh);
+                }
+                if (currentPrice < highestHigh - atr * params.getAtrTrailMult())
+                    return Signal.builder().type(Signal.Type.SELL).reasonCode("ATR_TRAIL_STOP").confidence(1.0)
+                            .sizeFactor(1.0).build();
+            }
+            return Signal.none();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.antigravity.trading.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalIndicatorsTest {
+
+    private static final int N = 400;
+    private static final int PERIOD = 14;
+    private static final int WINDOW = 20;
+
+    @Test
+    void update_ShouldMatchBatchKernelsAtEveryIndex() {
+        Bars bars = Bars.random(new Random(21L), N);
+        Batch batch = new Batch(bars);
+        Streams streams = new Streams();
+        for (int i = 0; i < N; i++) {
+            streams.assertPreview(bars, batch, i);
+            streams.assertUpdate(bars, batch, i);
+        }
+    }
+
+    @Test
+    void update_ShouldMatchBatchKernelsForFlatRuns() {
+        // Long runs of equal prices exercise ties in the monotonic deque and zero RSI losses
+        Bars bars = Bars.random(new Random(22L), N);
+        for (int i = 0; i < N; i++) {
+            if ((i / 30) % 2 == 1) {
+                bars.open[i] = bars.open[i - 1];
+                bars.high[i] = bars.high[i - 1];
+                bars.low[i] = bars.low[i - 1];
+                bars.close[i] = bars.close[i - 1];
+            }
+        }
+        Batch batch = new Batch(bars);
+        Streams streams = new Streams();
+        for (int i = 0; i < N; i++) {
+            streams.assertPreview(bars, batch, i);
+            streams.assertUpdate(bars, batch, i);
+        }
+    }
+
+    @Test
+    void update_ShouldMatchBatchKernelsOnShortSeries() {
+        // Series around the warm-up lengths: batch kernels see only these bars
+        for (int n : new int[] { 1, PERIOD - 1, PERIOD, PERIOD + 1, WINDOW - 1, WINDOW, WINDOW + 1 }) {
+            Bars bars = Bars.random(new Random(25L + n), n);
+            Batch batch = new Batch(bars);
+            Streams streams = new Streams();
+            for (int i = 0; i < n; i++) {
+                streams.assertPreview(bars, batch, i);
+                streams.assertUpdate(bars, batch, i);
+            }
+        }
+    }
+
+    @Test
+    void snapshotRestore_ShouldDiscardProvisionalUpdates() {
+        Random random = new Random(23L);
+        Bars bars = Bars.random(random, N);
+        Batch batch = new Batch(bars);
+        Streams streams = new Streams();
+        for (int i = 0; i < N; i++) {
+            if (i % 37 == 5) {
+                // Feed a few intraday revisions of bar i, then roll back to the confirmed state
+                Streams saved = streams.snapshot();
+                for (int k = 0; k < 3; k++) {
+                    double price = bars.close[i] + random.nextInt(2001) - 1000;
+                    streams.update(price + 500, price - 500, price, random.nextInt(1_000_000));
+                }
+                streams.restore(saved);
+            }
+            streams.assertPreview(bars, batch, i);
+            streams.assertUpdate(bars, batch, i);
+        }
+    }
+
+    @Test
+    void resume_ShouldContinueWilderSmoothingFromSavedState() {
+        Bars bars = Bars.random(new Random(24L), N);
+        double[] rsi = TechnicalIndicators.calculateRsi(bars.close, PERIOD);
+        double[] atr = TechnicalIndicators.calculateAtr(bars.high, bars.low, bars.close, PERIOD);
+
+        // Resume points inside the seed window, on its boundary and after it
+        for (int resumeAt : new int[] { 1, PERIOD - 1, PERIOD, PERIOD + 1, 100 }) {
+            IncrementalIndicators.Rsi rsiStream = new IncrementalIndicators.Rsi(PERIOD);
+            IncrementalIndicators.Atr atrStream = new IncrementalIndicators.Atr(PERIOD);
+            for (int i = 0; i < resumeAt; i++) {
+                rsiStream.update(bars.close[i]);
+                atrStream.update(bars.high[i], bars.low[i], bars.close[i]);
+            }
+            IncrementalIndicators.Rsi resumedRsi = IncrementalIndicators.Rsi.resume(PERIOD, rsiStream.count(),
+                    rsiStream.prevPrice(), rsiStream.avgGain(), rsiStream.avgLoss());
+            IncrementalIndicators.Atr resumedAtr = IncrementalIndicators.Atr.resume(PERIOD, atrStream.count(),
+                    atrStream.prevClose(), atrStream.sumTr(), atrStream.value());
+            assertEquals(rsi[resumeAt - 1], resumedRsi.value(), "resumed rsi at " + resumeAt);
+            assertEquals(atr[resumeAt - 1], resumedAtr.value(), "resumed atr at " + resumeAt);
+
+            for (int i = resumeAt; i < N; i++) {
+                assertEquals(rsi[i], resumedRsi.update(bars.close[i]), "rsi at " + i + " resumed at " + resumeAt);
+                assertEquals(atr[i], resumedAtr.update(bars.high[i], bars.low[i], bars.close[i]),
+                        "atr at " + i + " resumed at " + resumeAt);
+            }
+        }
+    }
+
+    /**
+     * 무작위 일봉 (원 단위 정수 가격)
+     */
+    private static final class Bars {
+        private final double[] open;
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final long[] volume;
+
+        private Bars(int n) {
+            open = new double[n];
+            high = new double[n];
+            low = new double[n];
+            close = new double[n];
+            volume = new long[n];
+        }
+
+        private static Bars random(Random random, int n) {
+            Bars bars = new Bars(n);
+            double price = 50_000;
+            for (int i = 0; i < n; i++) {
+                double o = price;
+                double c = Math.max(100, o + random.nextInt(3001) - 1500);
+                bars.open[i] = o;
+                bars.close[i] = c;
+                bars.high[i] = Math.max(o, c) + random.nextInt(800);
+                bars.low[i] = Math.max(1, Math.min(o, c) - random.nextInt(800));
+                // Occasional zero volume keeps the undefined-average branch covered
+                bars.volume[i] = random.nextInt(10) == 0 ? 0 : random.nextInt(2_000_000);
+                price = c;
+            }
+            return bars;
+        }
+    }
+
+    /**
+     * 배치 커널로 계산한 기대값
+     */
+    private static final class Batch {
+        private final double[] sma;
+        private final double[] rsi;
+        private final double[] atr;
+        private final double[] max;
+        private final double[] min;
+        private final double[] volumeRatio;
+
+        private Batch(Bars bars) {
+            sma = TechnicalIndicators.calculateSma(bars.close, WINDOW);
+            rsi = TechnicalIndicators.calculateRsi(bars.close, PERIOD);
+            atr = TechnicalIndicators.calculateAtr(bars.high, bars.low, bars.close, PERIOD);
+            max = TechnicalIndicators.rollingMax(bars.high, WINDOW);
+            min = TechnicalIndicators.rollingMin(bars.low, WINDOW);
+            volumeRatio = TechnicalIndicators.calculateVolumeRatio(bars.volume, WINDOW);
+        }
+    }
+
+    /**
+     * 검증 대상 증분 지표 묶음
+     */
+    private static final class Streams {
+        private final IncrementalIndicators.Sma sma = new IncrementalIndicators.Sma(WINDOW);
+        private final IncrementalIndicators.Rsi rsi = new IncrementalIndicators.Rsi(PERIOD);
+        private final IncrementalIndicators.Atr atr = new IncrementalIndicators.Atr(PERIOD);
+        private final IncrementalIndicators.RollingMax max = new IncrementalIndicators.RollingMax(WINDOW);
+        private final IncrementalIndicators.RollingMin min = new IncrementalIndicators.RollingMin(WINDOW);
+        private final IncrementalIndicators.VolumeRatio volumeRatio = new IncrementalIndicators.VolumeRatio(WINDOW);
+
+        private void update(double high, double low, double close, long volume) {
+            sma.update(close);
+            rsi.update(close);
+            atr.update(high, low, close);
+            max.update(high);
+            min.update(low);
+            volumeRatio.update(volume);
+        }
+
+        private void assertPreview(Bars bars, Batch batch, int i) {
+            assertEquals(batch.sma[i], sma.preview(bars.close[i]), "sma preview at " + i);
+            assertEquals(batch.rsi[i], rsi.preview(bars.close[i]), "rsi preview at " + i);
+            assertEquals(batch.atr[i], atr.preview(bars.high[i], bars.low[i], bars.close[i]), "atr preview at " + i);
+            assertEquals(batch.max[i], max.preview(bars.high[i]), "max preview at " + i);
+            assertEquals(batch.min[i], min.preview(bars.low[i]), "min preview at " + i);
+            assertEquals(batch.volumeRatio[i], volumeRatio.preview(bars.volume[i]), "volume ratio preview at " + i);
+        }
+
+        private void assertUpdate(Bars bars, Batch batch, int i) {
+            assertEquals(batch.sma[i], sma.update(bars.close[i]), "sma at " + i);
+            assertEquals(batch.rsi[i], rsi.update(bars.close[i]), "rsi at " + i);
+            assertEquals(batch.atr[i], atr.update(bars.high[i], bars.low[i], bars.close[i]), "atr at " + i);
+            assertEquals(batch.max[i], max.update(bars.high[i]), "max at " + i);
+            assertEquals(batch.min[i], min.update(bars.low[i]), "min at " + i);
+            assertEquals(batch.volumeRatio[i], volumeRatio.update(bars.volume[i]), "volume ratio at " + i);
+            assertEquals(batch.sma[i], sma.value(), "sma value at " + i);
+            assertEquals(batch.max[i], max.value(), "max value at " + i);
+            assertEquals(batch.min[i], min.value(), "min value at " + i);
+        }
+
+        private Streams snapshot() {
+            Streams copy = new Streams();
+            copy.restore(this);
+            return copy;
+        }
+
+        private void restore(Streams snapshot) {
+            sma.restore(snapshot.sma);
+            rsi.restore(snapshot.rsi);
+            atr.restore(snapshot.atr);
+            max.restore(snapshot.max);
+            min.restore(snapshot.min);
+            volumeRatio.restore(snapshot.volumeRatio);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.antigravity.trading.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollingOrderStatisticsTest {
+
+    @Test
+    void shouldMatchSortedListOracleWithDuplicates() {
+        for (int window : new int[] { 1, 2, 7, 100 }) {
+            // Few distinct values, so most ranks involve ties (ATR rounded to whole won repeats often)
+            assertMatchesOracle(window, 5, 20_000, 31L + window);
+            assertMatchesOracle(window, 1_000_000, 20_000, 47L + window);
+        }
+    }
+
+    @Test
+    void percentRankShouldCountStrictlySmallerValues() {
+        RollingOrderStatistics stats = new RollingOrderStatistics(4);
+        for (double v : new double[] { 3, 1, 3, 2 })
+            stats.push(v);
+        assertEquals(50.0, stats.percentRank(3));
+        assertEquals(0.0, stats.percentRank(1));
+        assertEquals(100.0, stats.percentRank(4));
+
+        stats.push(5); // Evicts the first 3
+        assertEquals(50.0, stats.percentRank(3));
+        assertEquals(75.0, stats.percentRank(5));
+
+        stats.replaceLast(0);
+        assertEquals(0.0, stats.select(0));
+        assertEquals(25.0, stats.percentRank(1));
+    }
+
+    @Test
+    void shouldRejectNaNAndReportEmptyWindow() {
+        RollingOrderStatistics stats = new RollingOrderStatistics(3);
+        assertTrue(Double.isNaN(stats.percentRank(1.0)));
+        assertThrows(IllegalArgumentException.class, () -> stats.push(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> stats.select(0));
+        assertThrows(IllegalArgumentException.class, () -> new RollingOrderStatistics(0));
+
+        stats.replaceLast(2.0); // Empty window: behaves like push
+        assertEquals(1, stats.size());
+        stats.clear();
+        assertEquals(0, stats.size());
+        stats.push(1.0);
+        assertEquals(1.0, stats.select(0));
+    }
+
+    /**
+     * push / replaceLast 를 무작위로 섞어 실행하면서 매 단계 정렬 리스트 oracle 과 비교합니다.
+     */
+    private static void assertMatchesOracle(int window, int distinct, int steps, long seed) {
+        Random random = new Random(seed);
+        RollingOrderStatistics stats = new RollingOrderStatistics(window);
+        Deque<Double> oracle = new ArrayDeque<>();
+
+        for (int step = 0; step < steps; step++) {
+            double value = random.nextInt(distinct) * 0.5;
+            if (!oracle.isEmpty() && random.nextInt(4) == 0) {
+                oracle.pollLast();
+                oracle.addLast(value);
+                stats.replaceLast(value);
+            } else {
+                if (oracle.size() == window)
+                    oracle.pollFirst();
+                oracle.addLast(value);
+                stats.push(value);
+            }
+            if (random.nextInt(2000) == 0) {
+                oracle.clear();
+                stats.clear();
+                continue;
+            }
+
+            List<Double> sorted = new ArrayList<>(oracle);
+            Collections.sort(sorted);
+            assertEquals(sorted.size(), stats.size(), "size at step " + step);
+            assertEquals(sorted.size() == window, stats.isFull());
+
+            double probe = random.nextBoolean() ? value : random.nextInt(distinct + 1) * 0.5 - 0.25;
+            int less = 0;
+            while (less < sorted.size() && sorted.get(less) < probe)
+                less++;
+            assertEquals(less, stats.countLess(probe), "countLess at step " + step);
+            assertEquals((double) less / sorted.size() * 100.0, stats.percentRank(probe));
+
+            int k = random.nextInt(sorted.size());
+            assertEquals(sorted.get(k), stats.select(k), "select(" + k + ") at step " + step);
+        }
+    }
+}
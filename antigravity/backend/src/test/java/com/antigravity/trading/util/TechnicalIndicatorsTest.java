@@ -0,0 +1,132 @@
+package com.antigravity.trading.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TechnicalIndicatorsTest {
+
+    @Test
+    void rollingExtreme_ShouldMatchBruteForceWindows() {
+        Random random = new Random(41L);
+        int n = 300;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = 10_000 + random.nextInt(2001) - 1000;
+        }
+        assertRollingExtremes(values, 1, 20, n);
+    }
+
+    @Test
+    void rollingExtreme_ShouldMatchBruteForceWithEqualValues() {
+        // Few distinct values and long flat runs, so ties with the deque back are frequent
+        Random random = new Random(42L);
+        int n = 300;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = (i / 25) % 3 == 0 ? 7.0 : random.nextInt(4);
+        }
+        assertRollingExtremes(values, 1, 20, n);
+    }
+
+    @Test
+    void rollingExtreme_ShouldPoisonWindowsContainingNaN() {
+        Random random = new Random(43L);
+        int n = 300;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt(1000);
+        }
+        // An isolated NaN, a run shorter than the window, a run longer than it, and a NaN at both ends
+        values[0] = Double.NaN;
+        values[40] = Double.NaN;
+        for (int i = 100; i < 110; i++) {
+            values[i] = Double.NaN;
+        }
+        for (int i = 150; i < 180; i++) {
+            values[i] = Double.NaN;
+        }
+        values[n - 1] = Double.NaN;
+        assertRollingExtremes(values, 1, 20, n);
+    }
+
+    @Test
+    void rollingExtreme_ShouldBeUndefinedWhenSeriesIsShorterThanWindow() {
+        double[] values = { 3, 1, 4, 1, 5 };
+        assertRollingExtremes(values, 1, 5, 6, 20);
+        for (double value : TechnicalIndicators.rollingMax(values, 6)) {
+            assertEquals(Double.NaN, value);
+        }
+    }
+
+    @Test
+    void calculateRsiAtr_ShouldMatchSeparateKernels() {
+        Random random = new Random(44L);
+        int[][] periods = { { 14, 14 }, { 5, 20 }, { 20, 5 }, { 1, 1 }, { 1, 3 } };
+        for (int[] p : periods) {
+            int rsiPeriod = p[0];
+            int atrPeriod = p[1];
+            // Empty, around both warm-ups (RSI needs period + 1 bars, ATR period bars) and a long series
+            int[] lengths = { 0, 1, rsiPeriod - 1, rsiPeriod, rsiPeriod + 1, atrPeriod - 1, atrPeriod, atrPeriod + 1,
+                    500 };
+            for (int n : lengths) {
+                double[] high = new double[n];
+                double[] low = new double[n];
+                double[] close = new double[n];
+                double price = 10_000;
+                for (int i = 0; i < n; i++) {
+                    // Repeated closes keep zero changes (no gain, no loss) in the mix
+                    if (random.nextInt(5) != 0)
+                        price = Math.max(100, price + random.nextInt(401) - 200);
+                    close[i] = price;
+                    high[i] = price + random.nextInt(150);
+                    low[i] = price - random.nextInt(150);
+                }
+                String label = "rsi " + rsiPeriod + ", atr " + atrPeriod + ", length " + n;
+
+                double[][] combined = TechnicalIndicators.calculateRsiAtr(high, low, close, rsiPeriod, atrPeriod);
+                assertArrayEquals(TechnicalIndicators.calculateRsi(close, rsiPeriod), combined[0], label);
+                assertArrayEquals(TechnicalIndicators.calculateAtr(high, low, close, atrPeriod), combined[1], label);
+            }
+        }
+    }
+
+    @Test
+    void calculateRsiAtr_ShouldRejectNonPositivePeriods() {
+        double[] values = { 1, 2, 3 };
+        assertThrows(IllegalArgumentException.class,
+                () -> TechnicalIndicators.calculateRsiAtr(values, values, values, 0, 14));
+        assertThrows(IllegalArgumentException.class,
+                () -> TechnicalIndicators.calculateRsiAtr(values, values, values, 14, 0));
+    }
+
+    /**
+     * rollingMax/rollingMin 이 구간을 매번 Math.max/min 으로 다시 훑은 값과 비트 단위로 같은지 확인합니다.
+     */
+    private static void assertRollingExtremes(double[] values, int... windows) {
+        for (int window : windows) {
+            double[] max = TechnicalIndicators.rollingMax(values, window);
+            double[] min = TechnicalIndicators.rollingMin(values, window);
+            assertEquals(values.length, max.length);
+            assertEquals(values.length, min.length);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(bruteForce(values, window, i, true), max[i], "max window " + window + " at " + i);
+                assertEquals(bruteForce(values, window, i, false), min[i], "min window " + window + " at " + i);
+            }
+        }
+    }
+
+    private static double bruteForce(double[] values, int window, int i, boolean max) {
+        if (i < window - 1)
+            return Double.NaN;
+        double extreme = values[i];
+        for (int j = i - window + 1; j < i; j++) {
+            extreme = max ? Math.max(extreme, values[j]) : Math.min(extreme, values[j]);
+        }
+        return extreme;
+    }
+}
@@ -0,0 +1,59 @@
+package com.antigravity.trading.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VectorizedIndicatorsTest {
+
+    private static final int[] PERIODS = { 1, 5, 20 };
+    // Around the period, the dispatch threshold and a non-multiple of any lane count
+    private static final int[] LENGTHS = { 0, 1, 4, 5, 19, 20, 21, 63, 64, 65, 1001 };
+
+    @Test
+    void calculateVolumeRatio_VectorPathShouldBeBitIdenticalToScalar() {
+        assumeTrue(SimdSupport.ENABLED, "Vector API module not loaded (./gradlew vectorTest)");
+        Random random = new Random(51L);
+        for (int period : PERIODS) {
+            for (int n : LENGTHS) {
+                long[] volumes = randomVolumes(random, n);
+                assertArrayEquals(TechnicalIndicators.scalarVolumeRatio(volumes, period),
+                        VectorizedIndicators.calculateVolumeRatio(volumes, period),
+                        "period " + period + ", length " + n);
+            }
+        }
+    }
+
+    @Test
+    void calculateVolumeRatio_DispatchShouldMatchScalar() {
+        Random random = new Random(52L);
+        for (int period : PERIODS) {
+            for (int n : LENGTHS) {
+                long[] volumes = randomVolumes(random, n);
+                assertArrayEquals(TechnicalIndicators.scalarVolumeRatio(volumes, period),
+                        TechnicalIndicators.calculateVolumeRatio(volumes, period),
+                        "period " + period + ", length " + n);
+            }
+        }
+    }
+
+    /**
+     * 0 거래량 구간(평균 0)과 2^53 을 넘는 큰 거래량(double 변환 반올림)을 섞은 시계열
+     */
+    private static long[] randomVolumes(Random random, int n) {
+        long[] volumes = new long[n];
+        for (int i = 0; i < n; i++) {
+            int kind = random.nextInt(10);
+            if (kind == 0 || (i / 40) % 5 == 4)
+                volumes[i] = 0;
+            else if (kind == 1)
+                volumes[i] = (1L << 53) + random.nextInt(1 << 20);
+            else
+                volumes[i] = random.nextInt(5_000_000);
+        }
+        return volumes;
+    }
+}
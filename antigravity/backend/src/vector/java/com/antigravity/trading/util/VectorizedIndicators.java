@@ -0,0 +1,65 @@
+package com.antigravity.trading.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * TechnicalIndicators primitive kernels 의 SIMD 버전 (jdk.incubator.vector).
+ * 캔들 간 독립인 계산만 벡터로 처리하고, 누적합처럼 직전 값에 의존하는 부분은 스칼라 경로와 같은 순서로 계산하므로
+ * 결과는 비트 단위로 같습니다.
+ *
+ * RSI/ATR/SMA 는 Wilder 평활/누적합의 의존 사슬(나눗셈/덧셈 지연)이 시간을 결정하고, 스칼라 루프가 이미
+ * 독립 계산(변화량, True Range)을 그 지연에 겹쳐 실행하므로 벡터 전처리를 더해도 빨라지지 않아 스칼라로 둡니다.
+ * 거래량 비율은 캔들마다 독립 나눗셈이 두 번이라 벡터화 이득이 큽니다.
+ *
+ * SimdSupport.ENABLED 일 때만 로드됩니다.
+ */
+final class VectorizedIndicators {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // Same bit size as DOUBLES, so both have the same lane count
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private VectorizedIndicators() {
+    }
+
+    static int lanes() {
+        return DOUBLES.length();
+    }
+
+    static double[] calculateVolumeRatio(long[] volumes, int period) {
+        int n = volumes.length;
+        double[] ratios = new double[n];
+        if (n < period)
+            return ratios;
+
+        // Integer running sum stays sequential (exact); the ratios are independent
+        double[] avgs = new double[n];
+        long sum = 0;
+        for (int j = 0; j < period; j++) {
+            sum += volumes[j];
+        }
+        for (int i = period; i < n; i++) {
+            avgs[i] = (double) sum / period;
+            sum += volumes[i] - volumes[i - period];
+        }
+
+        DoubleVector zero = DoubleVector.zero(DOUBLES);
+        int i = period;
+        for (int upper = period + DOUBLES.loopBound(n - period); i < upper; i += DOUBLES.length()) {
+            DoubleVector volume = (DoubleVector) LongVector.fromArray(LONGS, volumes, i)
+                    .convert(VectorOperators.L2D, 0);
+            DoubleVector avg = DoubleVector.fromArray(DOUBLES, avgs, i);
+            VectorMask<Double> defined = avg.compare(VectorOperators.GT, 0.0);
+            zero.blend(volume.div(avg), defined).intoArray(ratios, i);
+        }
+        for (; i < n; i++) {
+            if (avgs[i] > 0)
+                ratios[i] = volumes[i] / avgs[i];
+        }
+        return ratios;
+    }
+}